@@ -8,7 +8,6 @@ import java.util.stream.Collectors;
 import inBloom.ERcycle.EngageResult;
 import inBloom.graph.Edge;
 import inBloom.graph.Vertex;
-import inBloom.helper.TermParser;
 import inBloom.stories.little_red_hen.RedHenHappeningCycle;
 import jason.util.Pair;
 
@@ -32,7 +31,7 @@ public class DetectUnresolvedHappenings extends ProblemDetectionState {
 		// Check if happening appears in plot graph, and if yes motivates a character to intend/do something
 		for (Vertex charRoot : er.getPlotGraph().getRoots()) {
 			for (Vertex v : er.getPlotGraph().getCharSubgraph(charRoot)) {
-				String vPercept = TermParser.removeAnnots(v.getLabel());
+				String vPercept = v.getWithoutAnnotation();
 				if ( (happenningPercepts.contains(vPercept)) && (!er.getPlotGraph().getOutEdges(v).stream().anyMatch(x -> x.getType().equals(Edge.Type.MOTIVATION)))) {
 					// Detected happening with no outgoing motivation edges --> it's unresolved!
 					unresolveds.add(new Pair<String, String>(vPercept, charRoot.getLabel()));
@@ -19,8 +19,8 @@ public class MakeExtraverted implements ProblemFixCommand {
 		this.protagonist = er.getAgent("protagonist");
 		this.protagonistOldE = protagonist.personality.E;
 
-		// select an other character at random to also make extraverted 
-		Random rand = new Random();
+		// select an other character at random to also make extraverted, seeded runs stay reproducible
+		Random rand = er.getLastModel().getRandom();
 		List<LauncherAgent> charList =  er.getLastAgents().stream().filter(ag -> ag.name.compareTo("protagonist") != 0)
 			    												   .collect(Collectors.toList());
 		this.otherChar = charList.get(rand.nextInt(charList.size()));
@@ -22,13 +22,10 @@ import jason.infra.centralised.RunCentralisedMAS;
 import jason.runtime.MASConsoleGUI;
 
 import inBloom.LauncherAgent;
-import inBloom.PlotEnvironment;
 import inBloom.PlotLauncher;
 import inBloom.PlotModel;
 import inBloom.graph.GraphAnalyzer;
 import inBloom.graph.PlotDirectedSparseGraph;
-import inBloom.graph.PlotGraphController;
-import inBloom.helper.EnvironmentListener;
 import inBloom.helper.MoodMapper;
 import inBloom.helper.Tellability;
 
@@ -36,7 +33,7 @@ import inBloom.helper.Tellability;
  * Class which facilitates running a cycle of multiple simulations.
  * @author Sven Wilke
  */
-public abstract class PlotCycle implements Runnable, EnvironmentListener {
+public abstract class PlotCycle implements Runnable {
 	/** Set true to display full plot graphs next to the analyzed one, during ER, for debugging purposes. */
 	protected static final boolean SHOW_FULL_GRAPH = false;
 
@@ -60,7 +57,6 @@ public abstract class PlotCycle implements Runnable, EnvironmentListener {
 
 	protected static int currentCycle = 0;
 
-	private boolean isRunning = true;
 
 	/**
 	 * Creates a new cycle object with specified agents.
@@ -96,7 +92,7 @@ public abstract class PlotCycle implements Runnable, EnvironmentListener {
 			{
 			  	public void actionPerformed(ActionEvent e)
 			  	{
-			  		PlotCycle.this.isPaused = !PlotCycle.this.isPaused;
+			  		PlotCycle.this.togglePause();
 			  		((JButton)e.getSource()).setText(PlotCycle.this.isPaused ? "Continue" : "Pause");
 			  	}
 			});
@@ -111,7 +107,7 @@ public abstract class PlotCycle implements Runnable, EnvironmentListener {
             		btDebug.setText("Debug Next Cycle");
             		PlotCycle.this.cycle_args = new String[0];
             		PlotLauncher.getRunner().setDebug(false);
-            		PlotCycle.this.isRunning=false;
+            		PlotLauncher.getRunner().signalCompletion();
             	}
             }
         });
@@ -173,36 +169,16 @@ public abstract class PlotCycle implements Runnable, EnvironmentListener {
 		}
 
 		MASConsoleGUI.get().setPause(false);
-		boolean hasAddedListener = false;
-		long startTime = System.currentTimeMillis();
-		while(this.isRunning) {
-			try {
-				// This is needed in the loop, because the plot environment is null before starting
-				if(!hasAddedListener) {
-					if(runner.getEnvironmentInfraTier() != null) {
-						if(runner.getEnvironmentInfraTier().getUserEnvironment() != null) {
-							runner.getUserEnvironment().addListener(this);
-							hasAddedListener = true;
-						}
-					}
-				}
-				// Handle the timeout if it was set
-				if(TIMEOUT > -1 && System.currentTimeMillis() - startTime >= TIMEOUT && PlotEnvironment.getPlotTimeNow() >= TIMEOUT) {
-					this.log("[PlotCycle] SEVERE: timeout for engagement step triggered, analyzing incomplete story and moving on");
-					this.isRunning = false;
-				}
-				Thread.sleep(150);
-			} catch (InterruptedException e) {
-			}
-		}
-		while(this.isPaused) {
-			try {
-				Thread.sleep(150);
-			} catch(InterruptedException e) {
+		try {
+			if(!runner.awaitCompletion(TIMEOUT)) {
+				this.log("[PlotCycle] SEVERE: timeout for engagement step triggered, analyzing incomplete story and moving on");
 			}
+			this.waitWhilePaused();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
 		}
 
-		GraphAnalyzer analyzer = new GraphAnalyzer(PlotGraphController.getPlotListener().getGraph(), null);
+		GraphAnalyzer analyzer = new GraphAnalyzer(runner.getUserEnvironment().getPlotRecorder().getGraph(), null, runner);
 		PlotDirectedSparseGraph analyzedGraph = new PlotDirectedSparseGraph();			// analysis results will be cloned into this graph
 		Tellability tel = analyzer.runSynchronously(analyzedGraph);
 		analyzedGraph.setName("ER Cycle, engagement step " + currentCycle);
@@ -212,13 +188,13 @@ public abstract class PlotCycle implements Runnable, EnvironmentListener {
 		EngageResult er = this.createEngageResult(rr, runner, analyzedGraph, tel, moodData);
 
 		if (PlotCycle.SHOW_FULL_GRAPH) {
-			PlotDirectedSparseGraph displayGraph = PlotGraphController.getPlotListener().getGraph().clone();
+			// the next simulation records into a new graph, so the full graph of this one can be kept without copying
+			PlotDirectedSparseGraph displayGraph = runner.getUserEnvironment().getPlotRecorder().getGraph();
 			displayGraph.setName("ER Cycle (full), step " + currentCycle);
 			er.setAuxiliaryGraph(displayGraph);
 		}
 
 		runner.reset();
-		this.isRunning = true;
 		return er;
 	}
 
@@ -262,9 +238,18 @@ public abstract class PlotCycle implements Runnable, EnvironmentListener {
 		return l;
 	}
 
-	@Override
-	public void onPauseRepeat() {
-		this.isRunning = false;
+	/**
+	 * Toggles whether the next cycle should wait before starting, and wakes up a waiting cycle.
+	 */
+	private synchronized void togglePause() {
+		this.isPaused = !this.isPaused;
+		this.notifyAll();
+	}
+
+	private synchronized void waitWhilePaused() throws InterruptedException {
+		while(this.isPaused) {
+			this.wait();
+		}
 	}
 
 	/**
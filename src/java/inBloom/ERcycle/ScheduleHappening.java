@@ -70,6 +70,8 @@ public class ScheduleHappening implements ProblemFixCommand {
 		
 		// use meta-programming to create an instance of the happening class this needs to schedule
 		this.happening = happeningClass.getDeclaredConstructor(Predicate.class, String.class).newInstance(startFunc, character);
+		this.happening.setEarliestStep(startStep);
+		this.happening.setDependencies();
 	}
 	
 	@Override
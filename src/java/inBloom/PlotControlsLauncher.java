@@ -201,7 +201,10 @@ public class PlotControlsLauncher extends RunCentralisedMAS implements AnalysisR
 		btAnalyze.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent evt) {
 				if(MASConsoleGUI.get().isPause()) {
-					GraphAnalyzer analyzer = new GraphAnalyzer(PlotGraphController.getPlotListener().getGraph(), PlotControlsLauncher.this);
+					PlotEnvironment<?> env = (PlotEnvironment<?>) PlotControlsLauncher.this.getEnvironmentInfraTier().getUserEnvironment();
+					GraphAnalyzer analyzer = new GraphAnalyzer(PlotGraphController.getPlotListener().getGraph(), PlotControlsLauncher.this,
+															   env.getPlotController(), env.getModel().moodMapper,
+															   env.getRepeatingSequenceMap());
 					analyzer.start();	// Analyzer thread starts, results are returned once it finishes, via callback on reiceiveAnalysisResult
 				}
 			}
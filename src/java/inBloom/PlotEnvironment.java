@@ -1,5 +1,7 @@
 package inBloom;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -7,8 +9,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -30,11 +37,13 @@ import jason.util.Pair;
 
 import inBloom.graph.Edge;
 import inBloom.graph.PlotGraphController;
+import inBloom.graph.PlotRecorder;
 import inBloom.graph.Vertex;
 import inBloom.graph.Vertex.Type;
 import inBloom.helper.EnvironmentListener;
 import inBloom.helper.PerceptAnnotation;
-import inBloom.helper.PlotpatternAnalyzer;
+import inBloom.helper.PerceptStore;
+import inBloom.helper.RepetitionDetector;
 import inBloom.helper.TermParser;
 import inBloom.jason.PlotAwareAg;
 import inBloom.jason.PlotAwareCentralisedAgArch;
@@ -64,6 +73,12 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 	public static Integer MAX_STEP_NUM = -1;
 	/** time in ms that {@link TimeSteppedEnvironment} affords agents to propose an action, before each step times out */
 	public static String STEP_TIMEOUT = "300";
+	/** if true, a step ends as soon as every agent has either scheduled an action or finished an idle reasoning cycle,
+	 *  {@link #STEP_TIMEOUT} then only serves as safety net */
+	public static boolean ADAPTIVE_STEPPING = false;
+	/** seed used for reproducible simulations, see {@link #getRandom()}; null for nondeterministic execution. If set,
+	 *  agents perform their reasoning cycles one after another in a fixed order and vertex ids are deterministic. */
+	public static Long RANDOM_SEED = null;
 	/** string used to represent that an agent took no action, used in agentActions map */
 	private static final String INACTION_STRING = "--";
 
@@ -97,22 +112,37 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
      */
     private List<EnvironmentListener> listeners = new LinkedList<>();
 
+    /** Records the plot events of this simulation, so that simulations running in the same JVM don't share a graph. */
+    private PlotRecorder plotRecorder = null;
+
+    /** Launcher that runs this simulation, so that simulations running in the same JVM don't control each other. */
+    private PlotLauncher<?, ?> launcher = null;
+
+    /** Source of randomness for environment, model and happenings, seeded with {@link #RANDOM_SEED} if it is set. */
+    protected Random random = new Random();
+
+    /**
+     * Completed with the current step once the simulation is auto-paused, e.g. due to narrative equilibrium,
+     * {@link #MAX_STEP_NUM} or because all characters died. Re-armed when execution continues.
+     */
+    private CompletableFuture<Integer> completion = new CompletableFuture<>();
+
     protected ModType model;
 
     /**
-     * Stores a mapping from agentName to a (String actionName, Integer count) tuple, which stores how many
-     * consecutive times the agent has been executing the action 'actionName'.
+     * Stores a mapping from agentName to a detector that tracks which sequence of actions the agent has been
+     * repeating most often lately.
      * This is used to pause simulation execution if all agents just repeat their actions for a while.
      */
-    protected HashMap<String, List<String>> agentActions;  // agentName -> [action1, action2, ...]
+    protected HashMap<String, RepetitionDetector> agentActions;  // agentName -> detector over [action1, action2, ...]
     /**
      * Stores a mapping from agentNames to a list of new events, that happened in model but agent hasn't perceived yet:<br>
-     * 	&nbsp; {agentName -> List(events:String)}<br>
-     * These events will be transformed into perceptions (type:Literal) during a subsequent run of
-     * <i>updateEventPercepts/1</i>, and delivered to the agent during <i>getPercepts/1</i>. They will be than marked
-     * for deletion from the agent's percepts.
+     * 	&nbsp; {agentName -> List(events:Literal)}<br>
+     * These events will be added to the agent's perceptions during a subsequent run of <i>updateEventPercepts/1</i>,
+     * and delivered to the agent during <i>getPercepts/1</i>. They will be than marked for deletion from the agent's
+     * percepts.
      */
-    private HashMap<String,List<String>> currentEventsMap = new HashMap<>();
+    private HashMap<String,List<Literal>> currentEventsMap = new HashMap<>();
     /**
      * Stores a mapping from agentNames to a list of old events, that have already been perceived by the agent:<br>
      * 	&nbsp; {agentName -> List(events:Literal)}<br>
@@ -120,6 +150,13 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
      * <i>updateEventPercepts/1</i>.
      */
     private HashMap<String, List<Literal>> perceivedEventsMap = new HashMap<>();
+    /**
+     * Stores the percepts of each agent indexed by functor/arity, along with the changes since the agent last
+     * perceived. Replaces the percept lists of {@link jason.environment.Environment}: {agentName -> percepts}
+     */
+    private Map<String, PerceptStore> perceptStores = new ConcurrentHashMap<>();
+    /** Lock that {@link TimeSteppedEnvironment} holds while executing actions, so perception waits for them to finish */
+    private Object perceptionLock = this;
 
     /**
      * Whenever an action is scheduled, this map stores the related intention.
@@ -140,10 +177,18 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
      * Counts plot steps, synchronously to {@link TimeSteppedEnvironment#step} but designating the step of the
      * first plotted intention as step 1. Should be preferred as step counter for all inBloom purposes.
      */
-    protected int step = 0;
+    protected volatile int step = 0;
 
     private boolean initialized = false;
 
+    /**
+     * Used for {@link #ADAPTIVE_STEPPING}, maps the names of agents that finished an idle reasoning cycle to the step
+     * in which this happened: {agentName -> step}
+     */
+    private Map<String, Integer> idleAgents = new ConcurrentHashMap<>();
+    /** Makes sure the step barrier is released at most once per step, either by Jason or by an idle report. */
+    private AtomicBoolean stepBarrierReleased = new AtomicBoolean(false);
+
 	/**
 	 * If environment execution was paused due to narrative equilibrium, this notes down for each agent the length of
 	 * the repeated sequence, as well as how often it was repeated.
@@ -170,9 +215,21 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
     		PlotEnvironment.STEP_TIMEOUT = String.valueOf(3 * Integer.parseInt(PlotEnvironment.STEP_TIMEOUT));
     	}
 
+    	if (RANDOM_SEED != null) {
+    		this.random = new Random(RANDOM_SEED);
+    	}
+
     	String[] env_args = {STEP_TIMEOUT};
     	super.init(env_args);
 
+    	try {
+    		Field requestsField = TimeSteppedEnvironment.class.getDeclaredField("requests");
+    		requestsField.setAccessible(true);
+    		this.perceptionLock = requestsField.get(this);
+    	} catch (ReflectiveOperationException e) {
+    		logger.warning("Could not synchronize perception with action execution: " + e.getMessage());
+    	}
+
     	// Make sure actions are executed even if reasoning cycle comes up with several actions in one environment step
     	this.setOverActionsPolicy(OverActionsPolicy.queue);
     }
@@ -220,6 +277,75 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
     	this.listeners.remove(l);
     }
 
+    /**
+     * Sets the recorder that all plot events of this simulation are routed to.
+     * @param plotRecorder
+     */
+    public void setPlotRecorder(PlotRecorder plotRecorder) {
+    	this.plotRecorder = plotRecorder;
+    }
+
+    /**
+     * @return the recorder of this simulation if it is displayed by a controller, null if it is recorded without GUI
+     */
+    public PlotGraphController getPlotController() {
+    	PlotRecorder recorder = this.getPlotRecorder();
+    	if (recorder instanceof PlotGraphController) {
+    		return (PlotGraphController) recorder;
+    	}
+    	return null;
+    }
+
+    /**
+     * Sets the launcher that runs this simulation, which is paused and creates agents on behalf of this environment.
+     * @param launcher
+     */
+    public void setLauncher(PlotLauncher<?, ?> launcher) {
+    	this.launcher = launcher;
+    }
+
+    /**
+     * Returns the launcher that runs this simulation. Falls back to {@link PlotLauncher#getRunner()} if the
+     * environment was set up without one.
+     * @return launcher of this simulation
+     */
+    public PlotLauncher<?, ?> getLauncher() {
+    	if (this.launcher == null) {
+    		return PlotLauncher.getRunner();
+    	}
+    	return this.launcher;
+    }
+
+    /**
+     * Returns the recorder of this simulation, which agents, their architectures and the environment use to add plot
+     * events. Falls back to {@link PlotGraphController#getPlotListener()} if the environment was set up without one.
+     * @return recorder of this simulation
+     */
+    public PlotRecorder getPlotRecorder() {
+    	if (this.plotRecorder == null) {
+    		return PlotGraphController.getPlotListener();
+    	}
+    	return this.plotRecorder;
+    }
+
+    /**
+     * Returns the random number generator that environment, model and happenings should use, so that simulations are
+     * reproducible when {@link #RANDOM_SEED} is set.
+     * @return random number generator of this simulation
+     */
+    public Random getRandom() {
+    	return this.random;
+    }
+
+    /**
+     * Returns a future that is completed with the current step, as soon as the simulation auto-pauses.
+     * Allows callers to await the end of a simulation instead of polling for it.
+     * @return future of the step at which the simulation ended
+     */
+    public CompletableFuture<Integer> getCompletion() {
+    	return this.completion;
+    }
+
 	/**
 	 * This method is called by the Jason framework in order to determine, which result an agent's action has, and
 	 * to compute potentially effects on the model.<br>
@@ -246,10 +372,11 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 		}
 		this.actionIntentionMap.get(agentName).remove(action);
 
-		PlotGraphController.getPlotListener().addEvent(agentName, action.toString() + annotation, Type.ACTION, this.getStep());
+		this.getPlotRecorder().addEvent(agentName, action.toString() + annotation, Type.ACTION, this.getStep());
 
     	// let the domain specific subclass handle the actual action execution
     	// ATTENTION: this is were domain-specific action handling code goes
+		this.getModel().startAction(agentName, action.toString());
 		ActionReport actionReport = this.doExecuteAction(agentName, action);
 
 		// Create percepts of action-results for all present agents
@@ -268,7 +395,7 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
     				// if action failed, acting character feels disappointment
     				actionReport.getAnnotation(currentChar.name).addAnnotation(Emotion.ANNOTATION_FUNCTOR, "disappointment");
     			}
-    			this.addEventPercept(currentChar.name, action.toString(), actionReport.getAnnotation(currentChar.name));
+    			this.addEventPercept(currentChar.name, ASSyntax.createLiteral(action.getFunctor(), action.getTermsArray()), actionReport.getAnnotation(currentChar.name));
     		} else {
     			// reporting results for other present agents --> insert acting agent as first term
     			int arity = action.getArity();
@@ -282,8 +409,8 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 	    			}
     			}
 
-    			Structure percept = ASSyntax.createStructure(action.getFunctor(), terms);
-    			this.addEventPercept(currentChar.name, percept.toString(), actionReport.getAnnotation(currentChar.name));
+    			Literal percept = ASSyntax.createLiteral(action.getFunctor(), terms);
+    			this.addEventPercept(currentChar.name, percept, actionReport.getAnnotation(currentChar.name));
     		}
     	}
 
@@ -307,10 +434,10 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 	 * @see inBloom.stories.little_red_hen.FarmEnvironment
 	 */
 	protected ActionReport doExecuteAction(String agentName, Structure action) {
-		PlotLauncher.runner.pauseExecution();
+		this.getLauncher().pauseExecution();
 		logger.severe("SEVERE: doExecuteAction method is not implemented in PlotEnvironment, it's subclass responsibility to implement it");
 		logger.severe("Stopping simulation execution...");
-		PlotLauncher.runner.finish();
+		this.getLauncher().finish();
 
 		return null;
 	}
@@ -341,13 +468,13 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
         	logger.info("Creating new agent: " + name);
 
         	// enables plot graph to track new agent's actions
-        	PlotGraphController.getPlotListener().addCharacter(name);
+        	this.getPlotRecorder().addCharacter(name);
 
         	// create Agent
         	agName = this.getRuntimeServices().createAgent(name, aslFile, PlotAwareAg.class.getName(), null, null, null, null);
 
         	// set the agents personality
-        	AffectiveAgent ag = ((PlotLauncher<?,?>) PlotLauncher.getRunner()).getPlotAgent(agName);
+        	AffectiveAgent ag = this.getLauncher().getPlotAgent(agName);
         	ag.initializePersonality(personality);
 	    } catch (Exception e) {
 	    	e.printStackTrace();
@@ -376,20 +503,18 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 		this.agentActions.remove(agName);
 
 		// indicate removal in plot graph
-		PlotGraphController.getPlotListener().addEvent(agName, "died", Vertex.Type.EVENT, this.getStep());
+		this.getPlotRecorder().addEvent(agName, "died", Vertex.Type.EVENT, this.getStep());
 
 		// remove character from story-world model
 		this.model.removeCharacter(agName);
+		this.perceptStores.remove(agName);
 
 		if (this.model.getCharacters().isEmpty()) {
 
 			logger.info("No agents left.");
 
-    		PlotLauncher.runner.pauseExecution();
-    		for(EnvironmentListener l : this.listeners) {
-    			l.onPauseRepeat();
-    		}
-    		MAX_STEP_NUM = this.getStep();
+			this.pause();
+			MAX_STEP_NUM = this.getStep();
     	}
 	}
 
@@ -408,16 +533,17 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
      * {@linkplain PlotAwareCentralisedAgArch} class.
      */
     private RuntimeServicesInfraTier getRuntimeServices() {
-        return new PlotAwareCentralisedRuntimeServices(PlotLauncher.getRunner());
+        return new PlotAwareCentralisedRuntimeServices(this.getLauncher());
     }
 
 	@Override
 	protected synchronized void stepStarted(int step) {
+		this.stepBarrierReleased.set(false);
 		if (this.model != null) {
 			if (this.step > 0) {
 				this.step++;
 
-				if(!PlotLauncher.getRunner().isDebug()) {
+				if(!this.getLauncher().isDebug()) {
 					logger.info("Step " + this.step + " started for environment");
 				}
 
@@ -440,11 +566,11 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 	@Override
 	protected void stepFinished(int step, long elapsedTime, boolean byTimeout) {
 		// if environment is initialized && agents are done setting up && one of the agents didn't choose an action
-		if (this.model != null && byTimeout && step > 5 ) {
+		if (this.model != null && (byTimeout || ADAPTIVE_STEPPING) && step > 5 ) {
 			for (Character chara : this.model.getCharacters()) {
 				Object action = this.getActionInSchedule(chara.getName());
 				if(action == null) {
-					this.agentActions.get(chara.getName()).add(INACTION_STRING);
+					this.agentActions.get(chara.getName()).append(INACTION_STRING);
 				}
 			}
 		}
@@ -479,12 +605,33 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 
 	/**
 	 * Updates the perception list with the current state of the model, and returns a list of up to date percepts.
+	 * @return all percepts of the agent, or null if they didn't change since the agent last perceived
 	 * @see jason.environment.TimeSteppedEnvironment#getPercepts(java.lang.String)
 	 */
 	@Override
 	public Collection<Literal> getPercepts(String agName) {
 		this.updateEventPercepts(agName);
-		return super.getPercepts(agName);
+		synchronized (this.perceptionLock) {
+			return this.getPerceptStore(agName).takeAll();
+		}
+	}
+
+	/**
+	 * Updates the perception list with the current state of the model, and returns the percepts that were added and
+	 * removed since the agent last perceived. Used by {@link PlotAwareAg agents} that update their belief base
+	 * incrementally, instead of comparing it against all their percepts.
+	 * @param agName
+	 * @return the changed percepts, or null if nothing changed
+	 */
+	public PerceptStore.Delta getPerceptDelta(String agName) {
+		this.updateEventPercepts(agName);
+		synchronized (this.perceptionLock) {
+			return this.getPerceptStore(agName).takeDelta();
+		}
+	}
+
+	private PerceptStore getPerceptStore(String agName) {
+		return this.perceptStores.computeIfAbsent(agName, name -> new PerceptStore());
 	}
 
     /**
@@ -500,24 +647,17 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 	 * Adds percepts of events that happened during last cycle to agent's perception list.
 	 */
 	private void addNewUniqueEvents(String agentName) {
-    	List<String> eventList = this.getListCurrentEvents(agentName);
+    	List<Literal> eventList = this.getListCurrentEvents(agentName);
 		synchronized(eventList) {											// make sure to block writing, while iterating here
-	    	for(String event : eventList) {
-	    		try {
-	    			Literal percept = ASSyntax.parseLiteral(event);
-					this.addPercept(agentName, percept);
-
-					//get list of events to be removed next cycle
-					List<Literal> remList = this.getListRemEvents(agentName);
+	    	for(Literal percept : eventList) {
+				this.addPercept(agentName, percept);
 
-					// add percept to this list and put new list back into storing map
-					remList.add(percept);
-					this.perceivedEventsMap.put(agentName, remList);
+				//get list of events to be removed next cycle
+				List<Literal> remList = this.getListRemEvents(agentName);
 
-				} catch (ParseException e) {
-					logger.severe("Couldn't parse event: " + event.toString() + " in PlotEnvironment#addNewUniqueEvents.");
-					logger.severe(e.getMessage());
-				}
+				// add percept to this list and put new list back into storing map
+				remList.add(percept);
+				this.perceivedEventsMap.put(agentName, remList);
 	    	}
 		}
     	this.currentEventsMap.remove(agentName);
@@ -541,9 +681,9 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 	/**
 	 * Returns the list of events that need to be added to agents perception list this reasoning step.
 	 */
-	protected List<String> getListCurrentEvents(String agentName) {
+	protected List<Literal> getListCurrentEvents(String agentName) {
 		// the lists need to be synchronized, so that agents adding events and environment reading events do not lead to concurrency conditions
-		return this.currentEventsMap.getOrDefault(agentName, Collections.synchronizedList(new ArrayList<String>()));
+		return this.currentEventsMap.getOrDefault(agentName, Collections.synchronizedList(new ArrayList<Literal>()));
 	}
 
 	/**
@@ -565,25 +705,43 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 
 	/**
 	 * Adds 'percept' to the list of events that need to be added to agentName's perception list this reasoning step.
+	 * The percept is parsed once here, prefer {@link #addEventPercept(String, Literal)} where the literal is at hand.
 	 */
 	public void addEventPercept(String agentName, String percept) {
-		List<String> eventList = this.getListCurrentEvents(agentName);
-		eventList.add(percept);
-		this.currentEventsMap.put(agentName, eventList);
+		this.addEventPercept(agentName, percept, new PerceptAnnotation());
 	}
 
 	/**
 	 * Adds 'percept' to the list of events that need to be added to agentName's perception list this reasoning step.
 	 */
 	public void addEventPercept(String agentName, String percept, PerceptAnnotation annot) {
-		List<String> eventList = this.getListCurrentEvents(agentName);
-
-		String event = percept + annot.toString();
+		try {
+			this.addEventPercept(agentName, ASSyntax.parseLiteral(percept), annot);
+		} catch (ParseException e) {
+			logger.severe("Couldn't parse event: " + percept + annot.toString() + " in PlotEnvironment#addEventPercept.");
+			logger.severe(e.getMessage());
+		}
+	}
 
-		eventList.add(event);
+	/**
+	 * Adds 'percept' to the list of events that need to be added to agentName's perception list this reasoning step.
+	 * The literal is delivered to the agent as is, so it shouldn't be reused for other agents.
+	 */
+	public void addEventPercept(String agentName, Literal percept) {
+		List<Literal> eventList = this.getListCurrentEvents(agentName);
+		eventList.add(percept);
 		this.currentEventsMap.put(agentName, eventList);
 	}
 
+	/**
+	 * Adds 'percept', annotated with annot, to the list of events that need to be added to agentName's perception
+	 * list this reasoning step. The literal is delivered to the agent as is, so it shouldn't be reused for other agents.
+	 */
+	public void addEventPercept(String agentName, Literal percept, PerceptAnnotation annot) {
+		percept.addAnnots(annot.toTerms());
+		this.addEventPercept(agentName, percept);
+	}
+
 	/**
 	 * Adds a perception for all agents. Avoid using this, as normally perceptions should be contained to the location
 	 * at which the state is relevant. Agents at other locations should not perceive a state change.
@@ -593,9 +751,21 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 	@Deprecated
 	@Override
     public void addPercept(Literal... perceptions) {
-    	super.addPercept(perceptions);
+		for (String agName : this.perceptStores.keySet()) {
+			this.addPercept(agName, perceptions);
+		}
     }
 
+	@Override
+	public void addPercept(String agName, Literal... perceptions) {
+		if (perceptions != null && agName != null) {
+			PerceptStore store = this.getPerceptStore(agName);
+			for (Literal p : perceptions) {
+				store.add(p);
+			}
+		}
+	}
+
     /**
      * Adds a state perception (i.e. a perception that is permanent and not removed after one reasoning cycle, see
      * {@link #addEventPercept(String, String)}) for all agents present at loc.
@@ -610,11 +780,11 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
     		p.addAnnots(annot.toTerms());
     	}
 
-    	loc.getCharacters().forEach(chara -> super.addPercept(chara.name, perceptions));
+    	loc.getCharacters().forEach(chara -> this.addPercept(chara.name, perceptions));
     }
 
 	/**
-	 * Removes all percepts from the common perception list that unifies with <i>per</i>.
+	 * Removes all percepts of all agents that unify with <i>per</i>.
 	 * Avoid using this, as normally perceptions should be contained to the location at which the state is relevant.
 	 * Agents at other locations should not perceive a state change.
 	 * @see jason.environment.Environment#emovePerceptsByUnif(Literal per)
@@ -622,9 +792,26 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 	@Deprecated
 	@Override
     public int removePerceptsByUnif(Literal per) {
-    	return super.removePerceptsByUnif(per);
+		int sum = 0;
+		for (String agName : this.perceptStores.keySet()) {
+			sum += this.removePerceptsByUnif(agName, per);
+		}
+		return sum;
     }
 
+	/**
+	 * Removes all percepts of agName that unify with <i>per</i>. Only percepts with the same functor and arity as
+	 * <i>per</i> are tested.
+	 * @see jason.environment.Environment#removePerceptsByUnif(String, Literal)
+	 */
+	@Override
+	public int removePerceptsByUnif(String agName, Literal per) {
+		if (per != null && agName != null) {
+			return this.getPerceptStore(agName).removeByUnif(per);
+		}
+		return 0;
+	}
+
     /**
      * Removes all percepts that unify with <i>per</i> for the agents present at loc.
      * Example: removePerceptsByUnif(locA, Literal.parseLiteral("position(_)")) will remove
@@ -636,14 +823,14 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
     public int removePerceptsByUnif(Location loc, Literal per) {
     	int sum = 0;
     	for (Character chara : loc.getCharacters()) {
-    		sum += super.removePerceptsByUnif(chara.name, per);
+    		sum += this.removePerceptsByUnif(chara.name, per);
 		}
 
     	return sum;
     }
 
     /**
-     * Removes a perception from the common perception list.
+     * Removes a perception from the perception lists of all agents.
      * Avoid using this, as normally perceptions should be contained to the location at which the state is relevant.
 	 * Agents at other locations should not perceive a state change.
 	 * @see jason.environment.Environment#emovePercept(Literal per)
@@ -651,9 +838,49 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 	@Deprecated
 	@Override
     public boolean removePercept(Literal per) {
-    	return super.removePercept(per);
+		boolean res = false;
+		for (String agName : this.perceptStores.keySet()) {
+			res = this.removePercept(agName, per) | res;
+		}
+		return res;
     }
 
+	@Override
+	public boolean removePercept(String agName, Literal per) {
+		if (per != null && agName != null) {
+			return this.getPerceptStore(agName).remove(per);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsPercept(String agName, Literal per) {
+		if (per != null && agName != null) {
+			return this.getPerceptStore(agName).contains(per);
+		}
+		return false;
+	}
+
+	@Override
+	public List<Literal> consultPercepts(String agName) {
+		return this.getPerceptStore(agName).getAll();
+	}
+
+	@Override
+	public void clearPercepts(String agName) {
+		if (agName != null) {
+			this.getPerceptStore(agName).clear();
+		}
+	}
+
+	@Override
+	public void clearAllPercepts() {
+		super.clearAllPercepts();
+		for (PerceptStore store : this.perceptStores.values()) {
+			store.clear();
+		}
+	}
+
     /**
      * Removes a perception from the perception list of all agents present at loc.
      * @param loc location where state change is perceivable
@@ -663,12 +890,92 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
     public boolean removePercept(Location loc, Literal per) {
     	boolean res = true;
     	for (Character chara : loc.getCharacters()) {
-    		res = res & super.removePercept(chara.getName(), per);
+    		res = res & this.removePercept(chara.getName(), per);
     	}
     	return res;
     }
 
 
+    /********************** Methods for adaptive stepping *****************************/
+
+    /**
+     * Called by an agent architecture after a reasoning cycle that left the agent with nothing to do, i.e. without
+     * events, intentions or messages. In {@link #ADAPTIVE_STEPPING adaptive stepping} mode, the current step ends
+     * as soon as all agents are either idle or have scheduled an action.
+     * @param agName name of the idle agent
+     * @param step step during which the idle reasoning cycle started
+     */
+    public void reportIdle(String agName, int step) {
+    	if (!ADAPTIVE_STEPPING || !this.initialized) {
+    		return;
+    	}
+
+    	this.idleAgents.put(agName, step);
+    	if (this.allAgentsDone(ag -> this.getActionInSchedule(ag) != null) && this.stepBarrierReleased.compareAndSet(false, true)) {
+    		this.releaseStepBarrier();
+    	}
+    }
+
+    /**
+     * Called by an agent architecture after a reasoning cycle in which the agent had something to do, revokes a
+     * previous idle report of the agent.
+     * @param agName name of the active agent
+     */
+    public void reportActive(String agName) {
+    	if (ADAPTIVE_STEPPING) {
+    		this.idleAgents.remove(agName);
+    	}
+    }
+
+    @Override
+    protected boolean testEndCycle(Set<String> finishedAgs) {
+    	if (!ADAPTIVE_STEPPING) {
+    		return super.testEndCycle(finishedAgs);
+    	}
+
+    	if (super.testEndCycle(finishedAgs) || this.allAgentsDone(finishedAgs::contains)) {
+    		// Jason releases the barrier in this case, make sure an idle report doesn't do it a second time
+    		return this.stepBarrierReleased.compareAndSet(false, true);
+    	}
+    	return false;
+    }
+
+    private boolean allAgentsDone(Predicate<String> hasScheduledAction) {
+    	if (this.model == null) {
+    		return false;
+    	}
+
+    	Integer currentStep = this.step;
+    	for (Character chara : this.model.getCharacters()) {
+    		String agName = chara.getName();
+    		if (!hasScheduledAction.test(agName) && !currentStep.equals(this.idleAgents.get(agName))) {
+    			return false;
+    		}
+    	}
+    	return true;
+    }
+
+    /**
+     * Ends the current step before its timeout. {@link TimeSteppedEnvironment} does not expose this, so the timeout
+     * thread is signaled the same way Jason does it when all agents scheduled an action.
+     */
+    private void releaseStepBarrier() {
+    	try {
+    		Field threadField = TimeSteppedEnvironment.class.getDeclaredField("timeoutThread");
+    		threadField.setAccessible(true);
+    		Object timeoutThread = threadField.get(this);
+    		if (timeoutThread != null) {
+    			Method allAgFinished = timeoutThread.getClass().getDeclaredMethod("allAgFinished");
+    			allAgFinished.setAccessible(true);
+    			allAgFinished.invoke(timeoutThread);
+    		}
+    	} catch (ReflectiveOperationException e) {
+    		logger.warning("Could not end step early, falling back to step timeout: " + e.getMessage());
+    		ADAPTIVE_STEPPING = false;
+    	}
+    }
+
+
     /********************** Methods for pausing and continuing the environment *****************************/
 	/* necessary, because Jason's pause mode sets the GUI waiting, which means no logging output is possible
 	 * However, we want to be logging while processing graphs in pause mode, so we reroute logging output to
@@ -679,6 +986,9 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
      * Wakes up the environment when Launcher exits pause mode.
      */
     synchronized void wake() {
+    	if (this.completion.isDone()) {
+    		this.completion = new CompletableFuture<>();
+    	}
     	this.repeatingSequenceMap.clear();
 	    this.resetAllAgentActionCounts();
 
@@ -712,11 +1022,11 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
     }
 
     private void registerAgentForActionCount(String agName) {
-    	this.agentActions.put(agName, new LinkedList<String>());
+    	this.agentActions.put(agName, new RepetitionDetector());
     }
 
 	protected void checkPause() {
-		if (this.initialized & !PlotLauncher.getRunner().isDebug()) {
+		if (this.initialized & !this.getLauncher().isDebug()) {
 			// same action was repeated MAX_REPEATE_NUM number of times by all agents, or all agents died
 	    	if (this.narrativeExquilibrium()) {
 	    		// reset counter
@@ -735,10 +1045,11 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 	}
 
 	private void pause() {
-		PlotLauncher.runner.pauseExecution();
+		this.getLauncher().pauseExecution();
 		for(EnvironmentListener l : this.listeners) {
 			l.onPauseRepeat();
 		}
+		this.completion.complete(this.getStep());
 	}
 
 	/**
@@ -746,7 +1057,7 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
 	 * @param action
 	 */
 	private void updateActionCount(String agentName, Structure action) {
-		this.agentActions.get(agentName).add(action.toString());
+		this.agentActions.get(agentName).append(action.toString());
 	}
 
     /**
@@ -764,20 +1075,17 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
     	for (String agent : this.agentActions.keySet()) {
     		agentsRepeating.put(agent, false);
 
-    		List<String> actions = this.agentActions.get(agent);
-    		HashMap<String,Integer> patRepeats = PlotpatternAnalyzer.countTrailingPatterns(actions);
-    		logger.fine(agent + "'s action patterns: " + patRepeats.toString());
+    		RepetitionDetector actions = this.agentActions.get(agent);
+    		logger.fine(agent + "'s action pattern: " + actions.getPattern() + " repeated " + actions.getRepetitions() + " times");
 
-    		if (patRepeats.values().stream().mapToInt(x -> x).max().orElse(0) >= MAX_REPEATE_NUM) {
+    		if (actions.getRepetitions() >= MAX_REPEATE_NUM) {
     			agentsRepeating.put(agent, true);
 
     			// note down which sequence caused the pause for this agent, so we can remove the repitition from the graph later
-    			Entry<String,Integer> maxEntry = patRepeats.entrySet().stream().max((entry1, entry2) -> entry1.getValue().compareTo(entry2.getValue()))
-    																		   .get();
-    			if (maxEntry.getKey().equals(INACTION_STRING)) {
+    			if (actions.getPatternLength() == 1 && actions.getPattern().get(0).equals(INACTION_STRING)) {
     				this.repeatingSequenceMap.put(agent, new Pair<>(0, 0));
     			} else {
-    				this.repeatingSequenceMap.put(agent, new Pair<>(maxEntry.getKey().split(" ").length, maxEntry.getValue()));
+    				this.repeatingSequenceMap.put(agent, new Pair<>(actions.getPatternLength(), actions.getRepetitions()));
     			}
     		}
     	}
@@ -792,7 +1100,7 @@ public abstract class PlotEnvironment<ModType extends PlotModel<?>> extends Time
     }
 
     public void resetAllAgentActionCounts() {
-    	for (List<String> actions : this.agentActions.values()) {
+    	for (RepetitionDetector actions : this.agentActions.values()) {
 			actions.clear();
     	}
     }
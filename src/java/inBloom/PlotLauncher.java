@@ -7,6 +7,10 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,6 +26,10 @@ import jason.infra.centralised.RConf;
 import jason.mas2j.AgentParameters;
 
 import inBloom.graph.PlotGraphController;
+import inBloom.graph.PlotGraphRecorder;
+import inBloom.graph.PlotRecorder;
+import inBloom.graph.Vertex;
+import inBloom.jason.LockStepExecutionControl;
 import inBloom.jason.PlotAwareAg;
 import inBloom.jason.PlotAwareCentralisedAgArch;
 import inBloom.storyworld.HappeningDirector;
@@ -61,6 +69,12 @@ public class PlotLauncher<EnvType extends PlotEnvironment<ModType>, ModType exte
 
 	protected static Map<String, PlanLibrary> planLibraryCache =  new HashMap<>();
 
+	/** Completed with the step at which the current simulation ended, see {@link PlotEnvironment#getCompletion()}. */
+	protected CompletableFuture<Integer> completion = new CompletableFuture<>();
+
+	/** Records the current simulation, owned by this launcher so that simulations in the same JVM don't share it. */
+	protected PlotRecorder plotRecorder = null;
+
     /**
      * Convenience function that casts the runner-singleton to a more appropriate type
      * @return
@@ -96,6 +110,57 @@ public class PlotLauncher<EnvType extends PlotEnvironment<ModType>, ModType exte
     	this.stopAgs();
     	runner = null;
     	this.ags.clear();
+    	this.completion = new CompletableFuture<>();
+    }
+
+    /**
+     * Returns a future that is completed once the simulation started by this launcher ended, either because the
+     * environment auto-paused it or because {@link #signalCompletion()} was called.
+     * @return future of the step at which the simulation ended
+     */
+    public CompletableFuture<Integer> getCompletion() {
+    	return this.completion;
+    }
+
+    /**
+     * Marks the current simulation as ended, e.g. when it is stopped by a user or failed to start, and wakes up
+     * all callers waiting for its completion.
+     */
+    public void signalCompletion() {
+    	int step = -1;
+    	if (this.env != null && this.getUserEnvironment() != null) {
+    		step = this.getUserEnvironment().getStep();
+    	}
+    	this.completion.complete(step);
+    }
+
+    /**
+     * Blocks until the simulation ended, see {@link #getCompletion()}, or until it ran for longer than timeout.
+     * Time spent in pause mode does not count towards the timeout, see {@link PlotEnvironment#getPlotTimeNow()}.
+     * @param timeout time in ms, -1 to wait without timeout
+     * @return true if the simulation ended, false if the timeout was reached first
+     * @throws InterruptedException
+     */
+    public boolean awaitCompletion(long timeout) throws InterruptedException {
+    	long remaining = timeout;
+    	while (true) {
+    		try {
+    			if (timeout < 0) {
+    				this.completion.get();
+    			} else {
+    				this.completion.get(remaining, TimeUnit.MILLISECONDS);
+    			}
+    			return true;
+    		} catch (ExecutionException e) {
+    			return true;
+    		} catch (TimeoutException e) {
+    			long plotTime = PlotEnvironment.getPlotTimeNow();
+    			if (plotTime >= timeout) {
+    				return false;
+    			}
+    			remaining = timeout - plotTime;
+    		}
+    	}
     }
 
     /**
@@ -214,7 +279,12 @@ public class PlotLauncher<EnvType extends PlotEnvironment<ModType>, ModType exte
 		    writer.println("MAS launcher {");
 		    writer.println("	environment: " + this.ENV_CLASS.getName());
 		    if(!debugMode) {
-		    	writer.println("	executionControl: jason.control.ExecutionControl");
+		    	if(PlotEnvironment.RANDOM_SEED == null) {
+		    		writer.println("	executionControl: jason.control.ExecutionControl");
+		    	} else {
+		    		// reproducible runs need agents to perform their reasoning cycles in a fixed order
+		    		writer.println("	executionControl: " + LockStepExecutionControl.class.getName());
+		    	}
 		    }
 		    writer.println("");
 		    writer.println("	agents:");
@@ -271,8 +341,11 @@ public class PlotLauncher<EnvType extends PlotEnvironment<ModType>, ModType exte
 		EnvType env = this.getUserEnvironment();
 		model.setEnvironment(env);
 		env.setModel(model);
+		env.setLauncher(this);
+		env.setPlotRecorder(this.plotRecorder);
 
 		env.initialize(agentList);
+		env.getCompletion().thenAccept(this.completion::complete);
 	}
 
 	protected void initializePlotModel(List<LauncherAgent> agentList) {
@@ -314,7 +387,14 @@ public class PlotLauncher<EnvType extends PlotEnvironment<ModType>, ModType exte
         }
 
 
-		PlotGraphController.instantiatePlotListener(agents);
+		Vertex.seedIds(PlotEnvironment.RANDOM_SEED);
+		if (this.showGui) {
+			// the displayed graph stays reachable as plot listener for the GUI
+			PlotGraphController.instantiatePlotListener(agents);
+			this.plotRecorder = PlotGraphController.getPlotListener();
+		} else {
+			this.plotRecorder = new PlotGraphRecorder(agents);
+		}
 
 		this.createMas2j(agents, agentFileName, debugMode);
 		this.init(defArgs);
@@ -341,7 +421,7 @@ public class PlotLauncher<EnvType extends PlotEnvironment<ModType>, ModType exte
 	}
 
 	public PlotAwareAg getPlotAgent(String agName) {
-		return this.AG_CLASS.cast(PlotLauncher.getRunner().getAg(agName).getTS().getAg());
+		return this.AG_CLASS.cast(this.getAg(agName).getTS().getAg());
 		}
 
 	@SuppressWarnings("unchecked")
@@ -5,6 +5,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import com.google.common.collect.HashBasedTable;
@@ -22,6 +24,7 @@ import inBloom.storyworld.HappeningDirector;
 import inBloom.storyworld.Location;
 import inBloom.storyworld.ModelState;
 import inBloom.storyworld.ScheduledHappeningDirector;
+import inBloom.storyworld.TrackedState;
 
 
 /**
@@ -56,6 +59,10 @@ public abstract class PlotModel<EnvType extends PlotEnvironment<?>> {
 	 *  <b>mapping:</b>  (field, instance of field) --> old field value */
 	private Table<Field, Object, Object> fieldValueStore;
 
+	/** The action/happening that is currently executed in this thread, noted as cause by {@link TrackedState} fields when they are written. <br>
+	 *  <b>mapping:</b> (charName, action/happening) */
+	private ThreadLocal<Pair<String, String>> currentCause = new ThreadLocal<>();
+
 	/** Saves for each model-state, if a character's action / a happening resulted in it's change --> allows causality detection. <br>
 	 *  <b>mapping:</b> fieldName --> (charName, action/happening) */
 	private Map<String, Pair<String, String>> causalityMap;
@@ -66,7 +73,7 @@ public abstract class PlotModel<EnvType extends PlotEnvironment<?>> {
 		this.locations = new HashMap<>();
 
 		//set up a map that tracks the values of all subclass fields, in order to detect change
-		this.causalityMap = new HashMap<>();
+		this.causalityMap = new ConcurrentHashMap<>();
 		this.fieldValueStore = HashBasedTable.create();
 
 		this.setUpFieldTracking(this);
@@ -83,6 +90,12 @@ public abstract class PlotModel<EnvType extends PlotEnvironment<?>> {
         hapDir.setModel(this);
 	}
 
+	/**
+	 * Sets up causality detection for all fields of obj that are annotated as {@linkplain ModelState}. Fields of type
+	 * {@linkplain TrackedState} report their changes themselves, all other fields are compared against their stored
+	 * values after each action and happening.
+	 * @param obj
+	 */
 	public void setUpFieldTracking(Object obj) {
         try {
 			for (Field f: obj.getClass().getDeclaredFields()) {
@@ -90,21 +103,46 @@ public abstract class PlotModel<EnvType extends PlotEnvironment<?>> {
 	        		continue;
 	        	}
 	        	f.setAccessible(true);
-	        	if (null != f.get(obj)) {
-	        		this.fieldValueStore.put(f, obj, f.get(obj));
-	        	} else {
-	        		// For some reason Tables do not support putting null values, so we have to put our custom null.
-	        		// This means that setting the f (from null to a value) will be detectable as state change.
-	        		this.fieldValueStore.put(f, obj, ModelState.DEFAULT_STATES.NOVAL);
+	        	if (TrackedState.class.isAssignableFrom(f.getType())) {
+	        		continue;
+	        	}
+	        	synchronized (this.fieldValueStore) {
+		        	if (null != f.get(obj)) {
+		        		this.fieldValueStore.put(f, obj, f.get(obj));
+		        	} else {
+		        		// For some reason Tables do not support putting null values, so we have to put our custom null.
+		        		// This means that setting the f (from null to a value) will be detectable as state change.
+		        		this.fieldValueStore.put(f, obj, ModelState.DEFAULT_STATES.NOVAL);
+		        	}
 	        	}
 	        }
         } catch (Exception e) {
         	logger.severe("SEVERE: PlotModel is not able to access instance field to set up tracking for story world state changes");
         	e.printStackTrace();
         }
+        this.bindTrackedStates(obj);
+	}
+
+	private void bindTrackedStates(Object obj) {
+		try {
+			for (Field f: obj.getClass().getDeclaredFields()) {
+				if (f.isAnnotationPresent(ModelState.class) && TrackedState.class.isAssignableFrom(f.getType())) {
+					f.setAccessible(true);
+					if (null != f.get(obj)) {
+						((TrackedState<?>) f.get(obj)).track(this, f.getName());
+					}
+				}
+			}
+		} catch (Exception e) {
+			logger.severe("SEVERE: PlotModel is not able to access instance field to set up tracking for story world state changes");
+			e.printStackTrace();
+		}
 	}
 
 	public void initialize(List<LauncherAgent> agentList) {
+		// fields of subclasses are only assigned after our constructor set up tracking, so their states are bound now
+		this.bindTrackedStates(this);
+
 		// Important to initialize locations first, so that characters can be initialized in right place
 		for (Location loc: this.getLocations()) {
 			loc.initialize(this);
@@ -197,6 +235,7 @@ public abstract class PlotModel<EnvType extends PlotEnvironment<?>> {
 			h.identifyCause(this.causalityMap);
 			// only execute h if its patient is still alive (otherwise getPatient returns null)
 			if(this.getCharacter(h.getPatient()) != null) {
+				this.currentCause.set(new Pair<>(h.patient, h.percept));
 				h.execute(this);
 				this.environment.addEventPercept(h.getPatient(), h.getEventPercept());
 
@@ -225,59 +264,109 @@ public abstract class PlotModel<EnvType extends PlotEnvironment<?>> {
 			logger.fine("mapping " + name + "'s mood: " + mood.toString() + " at reasoning cycle: " + reasoningCycleNum.toString());
 	}
 
+	/**
+	 * Notes the action that is about to be executed by causer, so that {@linkplain TrackedState} fields written during its
+	 * execution can enter it as cause of their change. Needs to be followed by
+	 * {@linkplain #noteStateChanges(String, String)} after the action was executed.
+	 *
+	 * @param causer Name of agent responsible for action
+	 * @param action Term representing the action that should be noted as cause for state changes
+	 */
+	public void startAction(String causer, String action) {
+		this.currentCause.set(new Pair<>(causer, action));
+	}
+
+	/**
+	 * Called by {@linkplain TrackedState} fields when their value changed. Notes the action or happening that is currently
+	 * executed as cause of the change, and lets the happening director know that happenings depending on it need to be
+	 * tested. Changes outside of actions and happenings, e.g. during setup, have no cause.
+	 * @param property name of the changed field
+	 */
+	public void noteStateChange(String property) {
+		Pair<String, String> cause = this.currentCause.get();
+		if (cause != null) {
+			this.causalityMap.put(property, cause);
+			logger.fine("Storyworld changed due to " + cause.getFirst() + "'s " + cause.getSecond() + " (property: " + property + ")");
+		}
+		if (this.happeningDirector != null) {
+			this.happeningDirector.noteStateChange(property);
+		}
+	}
+
 	/**
 	 * Checks whether the state of the storyworld, represented by the values of all the fields of the model instance
 	 * (and it's components) that are tracked due to an {@linkplain ModelState} annotation, changed due to an action
-	 * executed by causer. This needs to be checked after each agent action.
+	 * executed by causer. This needs to be checked after each agent action. Changes of {@linkplain TrackedState} fields
+	 * were already noted when they were written, so only untracked fields need to be compared.
 	 *
 	 * @param causer Name of agent responsible for action (i.e. in whose plot graph cause will be present)
 	 * @param action Term representing the action that should be noted as cause for state change
 	 */
-	public synchronized void noteStateChanges(String causer, String action) {
-		try {
-			for (Cell<Field, Object, Object> cell : this.fieldValueStore.cellSet()) {
-	        	Object oldV = cell.getValue();
-	        	Object currentV = cell.getRowKey().get(cell.getColumnKey());
-
-	        	if(currentV != null && !currentV.equals(oldV)) {
-	        		// take note that the value of field f changed because of agentName's action
-	        		this.causalityMap.put(cell.getRowKey().getName(), new Pair<>(causer, action));
-
-	        		// update new field value in our dict
-	        		// TODO: Does this change the set we iterate over?!
-	        		this.fieldValueStore.put(cell.getRowKey(), cell.getColumnKey(), currentV);
+	public void noteStateChanges(String causer, String action) {
+		this.currentCause.remove();
+		if (this.fieldValueStore.isEmpty()) {
+			return;
+		}
 
-	        		logger.fine("Storyworld changed due to " + causer + "'s action: " + action + " (property: " + cell.getRowKey().getName() + ")");
-	        	}
-	        }
-		} catch (Exception e) {
-        	logger.severe("SEVERE: PlotModel is not able to access instance fields to compare story world states");
-        	e.printStackTrace();
+		synchronized (this.fieldValueStore) {
+			try {
+				for (Cell<Field, Object, Object> cell : this.fieldValueStore.cellSet()) {
+					Object oldV = cell.getValue();
+					Object currentV = cell.getRowKey().get(cell.getColumnKey());
+
+					if(currentV != null && !currentV.equals(oldV)) {
+						// take note that the value of field f changed because of agentName's action
+						this.causalityMap.put(cell.getRowKey().getName(), new Pair<>(causer, action));
+
+						// update new field value in our dict
+						// TODO: Does this change the set we iterate over?!
+						this.fieldValueStore.put(cell.getRowKey(), cell.getColumnKey(), currentV);
+						if (this.happeningDirector != null) {
+							this.happeningDirector.noteStateChange(cell.getRowKey().getName());
+						}
+
+						logger.fine("Storyworld changed due to " + causer + "'s action: " + action + " (property: " + cell.getRowKey().getName() + ")");
+					}
+				}
+			} catch (Exception e) {
+				logger.severe("SEVERE: PlotModel is not able to access instance fields to compare story world states");
+				e.printStackTrace();
+			}
 		}
 	}
 
 	/**
 	 * Checks whether the state of the storyworld, represented by the values of all the fields of the model instance,
 	 * changed due to a happening. If this is the case it resets any actions that have been noted as causally responsible
-	 * for the state.
+	 * for the state. Changes of {@linkplain TrackedState} fields were already noted when they were written.
 	 */
-	public synchronized void noteStateChanges(Happening<?> hap) {
-		try {
-			for (Cell<Field, Object, Object> cell : this.fieldValueStore.cellSet()) {
-	        	Object oldV = cell.getValue();
-	        	Object currentV = cell.getRowKey().get(cell.getColumnKey());
-	        	if(currentV != null && !currentV.equals(oldV)) {
-	        		// take note that the value of field f changed because of this happening (as perceived by its patient)
-	        		this.causalityMap.put(cell.getRowKey().getName(), new Pair<>(hap.patient, hap.percept));
-
-	        		// update new field value in our dict
-	        		this.fieldValueStore.put(cell.getRowKey(), cell.getColumnKey(), currentV);
-	        		logger.fine("Storyworld changed due to happening (property: " + cell.getRowKey().getName() + ")");
-	        	}
-	        }
-		} catch (Exception e) {
-        	logger.severe("SEVERE: PlotModel is not able to access instance fields to compare story world states");
-        	e.printStackTrace();
+	public void noteStateChanges(Happening<?> hap) {
+		this.currentCause.remove();
+		if (this.fieldValueStore.isEmpty()) {
+			return;
+		}
+
+		synchronized (this.fieldValueStore) {
+			try {
+				for (Cell<Field, Object, Object> cell : this.fieldValueStore.cellSet()) {
+					Object oldV = cell.getValue();
+					Object currentV = cell.getRowKey().get(cell.getColumnKey());
+					if(currentV != null && !currentV.equals(oldV)) {
+						// take note that the value of field f changed because of this happening (as perceived by its patient)
+						this.causalityMap.put(cell.getRowKey().getName(), new Pair<>(hap.patient, hap.percept));
+
+						// update new field value in our dict
+						this.fieldValueStore.put(cell.getRowKey(), cell.getColumnKey(), currentV);
+						if (this.happeningDirector != null) {
+							this.happeningDirector.noteStateChange(cell.getRowKey().getName());
+						}
+						logger.fine("Storyworld changed due to happening (property: " + cell.getRowKey().getName() + ")");
+					}
+				}
+			} catch (Exception e) {
+				logger.severe("SEVERE: PlotModel is not able to access instance fields to compare story world states");
+				e.printStackTrace();
+			}
 		}
 	}
 
@@ -296,4 +385,13 @@ public abstract class PlotModel<EnvType extends PlotEnvironment<?>> {
 	public int getStep() {
 		return this.environment.getStep();
 	}
+
+	/**
+	 * Returns the random number generator of the simulation, should be used by models and happenings instead of
+	 * creating their own, so that seeded simulations are reproducible.
+	 * @see PlotEnvironment#RANDOM_SEED
+	 */
+	public Random getRandom() {
+		return this.environment.getRandom();
+	}
 }
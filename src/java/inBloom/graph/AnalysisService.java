@@ -0,0 +1,77 @@
+package inBloom.graph;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import jason.util.Pair;
+
+import inBloom.helper.MoodMapper;
+import inBloom.helper.Tellability;
+
+/**
+ * Computes the tellability of finished simulations on its own thread pool, so that the thread which ran a
+ * simulation can go on with the next one while the last plot is still analyzed. Analyses are independent of the
+ * {@link PlotGraphController} singleton and the current runner, they only use the graph and mood data they are given.
+ * <p>
+ * The number of plots that are waiting for or under analysis is bounded: if the service is saturated,
+ * {@link #submit(PlotDirectedSparseGraph, MoodMapper, Map)} blocks until a slot becomes free, which keeps simulations from
+ * piling up raw graphs in memory faster than they can be analyzed.
+ */
+public class AnalysisService {
+	protected static Logger logger = Logger.getLogger(AnalysisService.class.getName());
+
+	private ExecutorService executor;
+	private Semaphore slots;
+
+	/**
+	 * @param threads number of analyses that run at the same time
+	 * @param queueCapacity number of submitted plots that can wait for a free thread
+	 */
+	public AnalysisService(int threads, int queueCapacity) {
+		AtomicInteger count = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+			Thread analyzer = new Thread(r, "Tellability-Analysis-" + count.incrementAndGet());
+			analyzer.setDaemon(true);
+			return analyzer;
+		});
+		this.slots = new Semaphore(Math.max(1, threads) + Math.max(0, queueCapacity));
+	}
+
+	/**
+	 * Queues the analysis of a plot, blocking while the service is saturated.
+	 * @param rawGraph plot graph produced by a simulation, must not be modified afterwards
+	 * @param moodData mood data recorded during the simulation
+	 * @param repeatingSequences repeating action sequences that paused the simulation, must not be modified afterwards
+	 * @return future of the analysis results, which still need to be combined by {@link Tellability#compute()}
+	 * @throws InterruptedException if interrupted while waiting for a free slot
+	 */
+	public CompletableFuture<Tellability> submit(PlotDirectedSparseGraph rawGraph, MoodMapper moodData,
+												 Map<String, Pair<Integer, Integer>> repeatingSequences) throws InterruptedException {
+		this.slots.acquire();
+		try {
+			return CompletableFuture.supplyAsync(() -> {
+				try {
+					return GraphAnalyzer.analyze(rawGraph, moodData, repeatingSequences, null).getFirst();
+				} finally {
+					this.slots.release();
+				}
+			}, this.executor);
+		} catch (RuntimeException e) {
+			// not accepted, e.g. because the service was shut down
+			this.slots.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Stops the analysis threads. Analyses that were already submitted are finished first.
+	 */
+	public void shutdown() {
+		this.executor.shutdown();
+	}
+}
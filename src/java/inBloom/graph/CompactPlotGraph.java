@@ -0,0 +1,167 @@
+package inBloom.graph;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the plot vertices of a {@link PlotDirectedSparseGraph} and the edges between them, stored as
+ * compressed adjacency arrays. Vertices are identified by their position in
+ * {@link PlotDirectedSparseGraph#getOrderedVertexList()}, so analyses that only need the structure of a plot, like the
+ * subgraph isomorphism in {@link inBloom.graph.isomorphism.State}, can work on int ids instead of going through the
+ * hash maps of the JUNG graph. Roots, axis labels and the edges incident to them are left out. Changes to the source
+ * graph after the snapshot was taken are not reflected. <br>
+ * The edges leaving vertex {@code v} are the edge indices from {@link #getOutStart(int) getOutStart(v)} (inclusive) to
+ * {@link #getOutEnd(int) getOutEnd(v)} (exclusive), the same holds for incoming edges.
+ */
+public class CompactPlotGraph {
+
+	private static final Edge.Type[] EDGE_TYPES = Edge.Type.values();
+
+	private final PlotDirectedSparseGraph graph;
+	private final Vertex[] vertices;
+	private final Map<Vertex, Integer> vertexIds;
+	private final String[] agents;
+
+	private final int[] outOffsets;
+	private final int[] outTargets;
+	private final byte[] outTypes;
+
+	private final int[] inOffsets;
+	private final int[] inSources;
+	private final byte[] inTypes;
+
+	public CompactPlotGraph(PlotDirectedSparseGraph graph) {
+		this.graph = graph;
+
+		List<Vertex> ordered = graph.getOrderedVertexList();
+		int n = ordered.size();
+		this.vertices = ordered.toArray(new Vertex[n]);
+		this.vertexIds = new IdentityHashMap<>(2 * n);
+		this.agents = new String[n];
+		for (int i = 0; i < n; i++) {
+			this.vertexIds.put(this.vertices[i], i);
+			this.agents[i] = graph.getAgent(this.vertices[i]);
+		}
+
+		// count edges between plot vertices, per source and per target
+		this.outOffsets = new int[n + 1];
+		this.inOffsets = new int[n + 1];
+		List<int[]> edges = new ArrayList<>(graph.getEdgeCount());
+		for (Edge e : graph.getEdges()) {
+			Integer from = this.vertexIds.get(graph.getSource(e));
+			Integer to = this.vertexIds.get(graph.getDest(e));
+			if (from == null || to == null) {
+				continue;
+			}
+			edges.add(new int[] {from, to, e.getType().ordinal()});
+			this.outOffsets[from + 1]++;
+			this.inOffsets[to + 1]++;
+		}
+		for (int i = 0; i < n; i++) {
+			this.outOffsets[i + 1] += this.outOffsets[i];
+			this.inOffsets[i + 1] += this.inOffsets[i];
+		}
+
+		this.outTargets = new int[edges.size()];
+		this.outTypes = new byte[edges.size()];
+		this.inSources = new int[edges.size()];
+		this.inTypes = new byte[edges.size()];
+		int[] outPos = this.outOffsets.clone();
+		int[] inPos = this.inOffsets.clone();
+		for (int[] edge : edges) {
+			int out = outPos[edge[0]]++;
+			this.outTargets[out] = edge[1];
+			this.outTypes[out] = (byte) edge[2];
+
+			int in = inPos[edge[1]]++;
+			this.inSources[in] = edge[0];
+			this.inTypes[in] = (byte) edge[2];
+		}
+	}
+
+	/**
+	 * @return the graph this snapshot was taken of
+	 */
+	public PlotDirectedSparseGraph getGraph() {
+		return this.graph;
+	}
+
+	/**
+	 * @return number of plot vertices, i.e. excluding roots and axis labels
+	 */
+	public int getVertexCount() {
+		return this.vertices.length;
+	}
+
+	public Vertex getVertex(int vertexId) {
+		if (vertexId < 0 || vertexId >= this.vertices.length) {
+			return null;
+		}
+		return this.vertices[vertexId];
+	}
+
+	/**
+	 * @param vertex
+	 * @return id of the vertex, or -1 if it is not a plot vertex of this snapshot
+	 */
+	public int getVertexId(Vertex vertex) {
+		Integer id = this.vertexIds.get(vertex);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * @see PlotDirectedSparseGraph#getAgent(Vertex)
+	 */
+	public String getAgent(int vertexId) {
+		return this.agents[vertexId];
+	}
+
+	public int getOutStart(int vertexId) {
+		return this.outOffsets[vertexId];
+	}
+
+	public int getOutEnd(int vertexId) {
+		return this.outOffsets[vertexId + 1];
+	}
+
+	public int getOutTarget(int edge) {
+		return this.outTargets[edge];
+	}
+
+	public Edge.Type getOutType(int edge) {
+		return EDGE_TYPES[this.outTypes[edge]];
+	}
+
+	public int getInStart(int vertexId) {
+		return this.inOffsets[vertexId];
+	}
+
+	public int getInEnd(int vertexId) {
+		return this.inOffsets[vertexId + 1];
+	}
+
+	public int getInSource(int edge) {
+		return this.inSources[edge];
+	}
+
+	public Edge.Type getInType(int edge) {
+		return EDGE_TYPES[this.inTypes[edge]];
+	}
+
+	/**
+	 * @param from id of source vertex
+	 * @param to id of destination vertex
+	 * @return types of all edges leading from one vertex to the other
+	 */
+	public List<Edge.Type> getEdgeTypes(int from, int to) {
+		List<Edge.Type> types = new ArrayList<>(2);
+		for (int e = this.getOutStart(from); e < this.getOutEnd(from); e++) {
+			if (this.outTargets[e] == to) {
+				types.add(this.getOutType(e));
+			}
+		}
+		return types;
+	}
+}
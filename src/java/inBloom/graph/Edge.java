@@ -31,7 +31,6 @@ public class Edge implements Cloneable {
 	}
 
 	public Edge(Type type) {
-		this.id = UUID.randomUUID().toString();
 		this.type = type;
 	}
 
@@ -43,11 +42,18 @@ public class Edge implements Cloneable {
 		return this.offset;
 	}
 
-	public String getId() {
+	/**
+	 * Returns a UUID string that identifies this edge, it is only created when it is requested for the first time.
+	 * @return id of this edge
+	 */
+	public synchronized String getId() {
+		if (this.id == null) {
+			this.id = UUID.randomUUID().toString();
+		}
 		return this.id;
 	}
 
-	public void setId(String id) {
+	public synchronized void setId(String id) {
 		this.id = id;
 	}
 
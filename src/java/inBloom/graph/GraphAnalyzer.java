@@ -2,15 +2,19 @@ package inBloom.graph;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import jason.util.Pair;
 
 import inBloom.PlotLauncher;
+import inBloom.graph.isomorphism.FunctionalUnit;
 import inBloom.graph.visitor.EdgeGenerationPPVisitor;
 import inBloom.graph.visitor.EdgeLayoutVisitor;
+import inBloom.graph.visitor.PlotGraphVisitor;
 import inBloom.graph.visitor.VertexMergingPPVisitor;
 import inBloom.graph.visitor.VisualizationFilterPPVisitor;
+import inBloom.helper.MoodMapper;
 import inBloom.helper.Tellability;
 
 public class GraphAnalyzer extends Thread {
@@ -18,10 +22,38 @@ public class GraphAnalyzer extends Thread {
 
 	private PlotDirectedSparseGraph graph;
 	private AnalysisResultListener listener;
+	private PlotGraphController graphController;
+	private MoodMapper moodData;
+	private Map<String, Pair<Integer, Integer>> repeatingSequences;
 
-	public GraphAnalyzer(PlotDirectedSparseGraph graphToAnalyze, AnalysisResultListener listener) {
+	/**
+	 * Creates an analyzer that uses the plot controller, mood data and repeating sequences of the runner that
+	 * produced the graph.
+	 * @param runner launcher of the simulation that produced the graph, needs to be initialized
+	 */
+	public GraphAnalyzer(PlotDirectedSparseGraph graphToAnalyze, AnalysisResultListener listener, PlotLauncher<?, ?> runner) {
+		this(graphToAnalyze, listener, runner.getUserEnvironment().getPlotController(), runner.getUserModel().moodMapper,
+			 runner.getUserEnvironment().getRepeatingSequenceMap());
+	}
+
+	/**
+	 * Creates an analyzer that does not depend on the static runner and plot listener, which allows analyzing
+	 * the results of a simulation after its MAS has been torn down.
+	 * @param graphToAnalyze plot graph produced by a simulation
+	 * @param listener receives results when analysis is run asynchronously, can be null
+	 * @param graphController controller that intermediate graphs and detected units are added to, null if the
+	 *                        simulation was recorded without GUI
+	 * @param moodData mood data recorded during the simulation
+	 * @param repeatingSequences repeating action sequences that paused the simulation, per agent
+	 */
+	public GraphAnalyzer(PlotDirectedSparseGraph graphToAnalyze, AnalysisResultListener listener,
+						 PlotGraphController graphController, MoodMapper moodData,
+						 Map<String, Pair<Integer, Integer>> repeatingSequences) {
 		this.graph = graphToAnalyze;
 		this.listener = listener;
+		this.graphController = graphController;
+		this.moodData = moodData;
+		this.repeatingSequences = repeatingSequences;
 	}
 
 	/**
@@ -36,7 +68,8 @@ public class GraphAnalyzer extends Thread {
 
 	/**
 	 * Executes the analysis synchronously while execution on caller is interrupted, and returns Tellability-instance
-	 * as return value, while the analyzed graph is cloned into the provided parameter.<br>
+	 * as return value, while the analyzed graph is cloned into the provided parameter. If the analyzed graph is not
+	 * displayed by a graph controller, its vertices and edges are moved into the parameter instead.<br>
 	 * This is effectively a legacy mode for methods that relied on Tellability#analyze(PlotDirectedSparseGraph analyzedGraphContainer)
 	 * @param analyzedGraphContainer empty graph, into which the analyzed graph is cloned
 	 * @return
@@ -45,7 +78,11 @@ public class GraphAnalyzer extends Thread {
 		Pair<Tellability, PlotDirectedSparseGraph> results = this.analyze();
 
 		if(analyzedGraphContainer != null) {
-			results.getSecond().cloneInto(analyzedGraphContainer);
+			if (this.graphController == null) {
+				results.getSecond().moveInto(analyzedGraphContainer);
+			} else {
+				results.getSecond().cloneInto(analyzedGraphContainer);
+			}
 		}
 		return results.getFirst();
     }
@@ -61,26 +98,75 @@ public class GraphAnalyzer extends Thread {
 	 * @return a pair containing the result analysis stored in a tellability instance, and the post-processes graph
 	 */
 	private Pair<Tellability, PlotDirectedSparseGraph> analyze() {
+		PlotGraphController controller = this.graphController;
+		Pair<Tellability, PlotDirectedSparseGraph> results = analyze(this.graph, this.moodData, this.repeatingSequences, controller);
+		if (controller == null) {
+			// headless simulation, callers might still display the analyzed graph later
+			PlotDirectedSparseGraph g3 = new EdgeLayoutVisitor(9).inPlace().apply(results.getSecond());
+			g3.setName("Filtered Plot Graph");
+			results = new Pair<>(results.getFirst(), g3);
+		}
+		return results;
+	}
+
+	/**
+	 * Runs the analysis pipeline on a raw plot graph. Only uses the state passed in, so it can be run on any thread,
+	 * see {@link AnalysisService}. The raw graph is not modified. Without a controller, intermediate graphs are not kept,
+	 * so all steps after the first one modify the graph of the previous step instead of copying it.
+	 * @param graph raw plot graph produced by a simulation
+	 * @param moods mood data recorded during the simulation
+	 * @param repeatingSequences for each agent, length and number of repetitions of the action sequence that paused
+	 *                           the simulation, see {@link inBloom.PlotEnvironment#getRepeatingSequenceMap()}
+	 * @param controller controller that intermediate graphs and detected units are added to, null to only compute results
+	 * @return a pair containing the result analysis stored in a tellability instance, and the post-processes graph
+	 */
+	public static Pair<Tellability, PlotDirectedSparseGraph> analyze(PlotDirectedSparseGraph graph, MoodMapper moods,
+			Map<String, Pair<Integer, Integer>> repeatingSequences, PlotGraphController controller) {
 		logger.info("Starting Graph Analysis");
 		Instant start = Instant.now();
-		PlotDirectedSparseGraph g1 = new VertexMergingPPVisitor().apply(this.graph);
+		PlotDirectedSparseGraph g1 = new VertexMergingPPVisitor().apply(graph);
 		g1.setName("Merged Plot Graph");
-		PlotGraphController.getPlotListener().addGraph(g1);
+		if (controller != null) {
+			controller.addGraph(g1);
+		}
 
-		PlotDirectedSparseGraph g2 = new EdgeGenerationPPVisitor().apply(g1);
+		PlotGraphVisitor edgeGeneration = new EdgeGenerationPPVisitor();
+		if (controller == null) {
+			edgeGeneration.inPlace();
+		}
+		PlotDirectedSparseGraph g2 = edgeGeneration.apply(g1);
 		g2.setName("Analysed Graph");
-		PlotGraphController.getPlotListener().addGraph(g2);
+		if (controller != null) {
+			controller.addGraph(g2);
+		}
 
-		PlotDirectedSparseGraph g3 = new VisualizationFilterPPVisitor().apply(g2);
+		VisualizationFilterPPVisitor visualizationFilter = new VisualizationFilterPPVisitor(repeatingSequences);
+		if (controller == null) {
+			visualizationFilter.inPlace();
+		}
+		PlotDirectedSparseGraph g3 = visualizationFilter.apply(g2);
 
 		logger.info("Starting tellability computation");
-		Tellability analysisResult = new Tellability(g3, PlotLauncher.getRunner().getUserModel().moodMapper);
+		Tellability analysisResult = new Tellability(g3, moods);
 		logger.info( "Analyze time in ms:" + Duration.between(start, Instant.now()).toMillis());
 
-		g3 = new EdgeLayoutVisitor(9).apply(g3);
+		if (controller == null) {
+			// layout is only needed for display
+			return new Pair<>(analysisResult, g3);
+		}
+
+		if (visualizationFilter.getNarrativeEquilibriumStep() != null) {
+			MoodGraph.getMoodListener().narrEquiStep = visualizationFilter.getNarrativeEquilibriumStep();
+		}
+
+		for (FunctionalUnit unit : analysisResult.plotUnitTypes) {
+			controller.addDetectedPlotUnitType(unit);
+		}
+
+		g3 = new EdgeLayoutVisitor(9).inPlace().apply(g3);
 		g3.setName("Filtered Plot Graph");
-		PlotGraphController.getPlotListener().addGraph(g3);
-		PlotGraphController.getPlotListener().setSelectedGraph(g3);
+		controller.addGraph(g3);
+		controller.setSelectedGraph(g3);
 
 		return new Pair<>(analysisResult, g3);
 	}
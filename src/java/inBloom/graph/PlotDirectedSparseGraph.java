@@ -3,8 +3,10 @@ package inBloom.graph;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -49,18 +51,31 @@ public class PlotDirectedSparseGraph extends DirectedSparseMultigraph<Vertex, Ed
 	private String name;
 
 	/**
-	 * An array containing all vertices of this graph sorted by step in a reproducible way (if multiple vertices
-	 * per step are present, order inside step is not guaranteed). Used to identify vertices by id in
-	 * {@link inBloom.graph.isomorphism.State}.
-	 * This is generated whenever a change to the vertices was made and the list was accessed.
+	 * A list containing all plot vertices of this graph sorted by step in a reproducible way, see
+	 * {@link VertexOrderComparator}. Used to identify vertices by id in {@link inBloom.graph.isomorphism.State}.
+	 * Vertices added by {@link #addEvent(String, String, int, Type, Edge.Type)} are inserted at their position, the list
+	 * is only sorted anew when it was accessed after a change that can affect the order of vertices.
 	 */
-	private Vertex[] vertexArray;
+	private ArrayList<Vertex> orderedVertices = new ArrayList<>();
 
 	/**
-	 * A flag which is set to true whenever the graph changed. Used to identify whether or not orderedVertexList needs
-	 * to be regenerated.
+	 * Maps each vertex in orderedVertices to its position, i.e. its id.
 	 */
-	private boolean isDirty = true;
+	private Map<Vertex, Integer> vertexIds = new IdentityHashMap<>();
+
+	/**
+	 * Read-only copy of orderedVertices handed out by {@link #getOrderedVertexList()}, created on first access after
+	 * orderedVertices changed.
+	 */
+	private List<Vertex> orderedVertexList = null;
+
+	/**
+	 * A flag which is set to true whenever the graph changed in a way that can affect vertex order. Used to identify
+	 * whether or not orderedVertices needs to be regenerated. Volatile, because graphs that are no longer changed,
+	 * like the ones of {@link inBloom.graph.isomorphism.FunctionalUnits}, are read by several analyses at once: it is
+	 * only cleared after orderedVertices and vertexIds are complete.
+	 */
+	private volatile boolean isDirty = true;
 
 	/**
 	 * Map used for quick access to the agent name of the subgraph a
@@ -117,6 +132,7 @@ public class PlotDirectedSparseGraph extends DirectedSparseMultigraph<Vertex, Ed
     }
 
 	public synchronized Vertex addEvent(String root, String event, int step, Vertex.Type eventType, Edge.Type linkType) {
+		boolean isOrdered = !this.isDirty;
 		Vertex newVertex = new Vertex(event, eventType, step, this);
 		Vertex parent = this.lastVertexMap.get(root);
 
@@ -134,6 +150,10 @@ public class PlotDirectedSparseGraph extends DirectedSparseMultigraph<Vertex, Ed
 			this.addToAxis(step, String.valueOf(step));
 		}
 
+		// new vertex has no successors yet, so the order of all other vertices stays the same
+		if (isOrdered) {
+			this.insertOrdered(newVertex);
+		}
 
 		return newVertex;
 	}
@@ -164,9 +184,12 @@ public class PlotDirectedSparseGraph extends DirectedSparseMultigraph<Vertex, Ed
 	 */
 	@Override
 	public boolean addVertex(Vertex vertex) {
-		this.isDirty = true;
 		vertex.setGraph(this);
-		return super.addVertex(vertex);
+		boolean result = super.addVertex(vertex);
+		if (result) {
+			this.isDirty = true;
+		}
+		return result;
 	}
 
 	/**
@@ -174,28 +197,42 @@ public class PlotDirectedSparseGraph extends DirectedSparseMultigraph<Vertex, Ed
 	 */
 	@Override
 	public boolean removeVertex(Vertex vertex) {
-		this.isDirty = true;
-		return super.removeVertex(vertex);
+		boolean result = super.removeVertex(vertex);
+		if (result) {
+			this.isDirty = true;
+		}
+		return result;
 	}
 
 	/**
-	 * Overrides method call to addEdge, in order to set isDirty flag.
+	 * Overrides method call to addEdge, in order to set isDirty flag if the edge affects vertex order.
 	 */
 	@Override
 	public boolean addEdge(Edge edge, Vertex from, Vertex to) {
-		this.isDirty = true;
+		if (isOrderEdge(edge)) {
+			this.isDirty = true;
+		}
 		return super.addEdge(edge, from, to);
 	}
 
 	/**
-	 * Overrides method call to removeEdge, in order to set isDirty flag.
+	 * Overrides method call to removeEdge, in order to set isDirty flag if the edge affects vertex order.
 	 */
 	@Override
 	public boolean removeEdge(Edge edge) {
-		this.isDirty = true;
+		if (isOrderEdge(edge)) {
+			this.isDirty = true;
+		}
 		return super.removeEdge(edge);
 	}
 
+	/**
+	 * Only temporal and root edges determine the order of vertices inside a step, see {@link #getInnerStep(Vertex)}.
+	 */
+	private static boolean isOrderEdge(Edge edge) {
+		return edge.getType() == Edge.Type.TEMPORAL || edge.getType() == Edge.Type.ROOT;
+	}
+
 	/**
 	 * Returns the name of the agent the given
 	 * vertex is in the subgraph of.
@@ -218,10 +255,10 @@ public class PlotDirectedSparseGraph extends DirectedSparseMultigraph<Vertex, Ed
 		if(this.isDirty) {
 			this.regenerateVertexArray();
 		}
-		if(vertexId < 0 || vertexId >= this.vertexArray.length) {
+		if(vertexId < 0 || vertexId >= this.orderedVertices.size()) {
 			return null;
 		}
-		return this.vertexArray[vertexId];
+		return this.orderedVertices.get(vertexId);
 	}
 
 	/**
@@ -235,8 +272,8 @@ public class PlotDirectedSparseGraph extends DirectedSparseMultigraph<Vertex, Ed
 		}
 
 		List<String> res = new ArrayList<>();
-		for (int i=0; i<this.vertexArray.length; i++) {
-			res.add(Integer.toString(i) + ":" +  this.vertexArray[i].toString() + "\r\n");
+		for (int i=0; i<this.orderedVertices.size(); i++) {
+			res.add(Integer.toString(i) + ":" +  this.orderedVertices.get(i).toString() + "\r\n");
 		}
 		return res;
 	}
@@ -244,18 +281,14 @@ public class PlotDirectedSparseGraph extends DirectedSparseMultigraph<Vertex, Ed
 	/**
 	 * Finds the id of a given vertex. Generates orderedVertexList if needed.
 	 * @param vertex
-	 * @return int vertexId
+	 * @return int vertexId, or -1 if vertex is not a plot vertex of this graph
 	 */
 	public int getVertexId(Vertex vertex) {
 		if(this.isDirty) {
 			this.regenerateVertexArray();
 		}
-		for(int i = 0; i < this.vertexArray.length; i++) {
-			if(this.vertexArray[i] == vertex) {
-				return i;
-			}
-		}
-		return -1;
+		Integer id = this.vertexIds.get(vertex);
+		return id == null ? -1 : id;
 	}
 
 	/**
@@ -266,27 +299,77 @@ public class PlotDirectedSparseGraph extends DirectedSparseMultigraph<Vertex, Ed
 		if(this.isDirty) {
 			this.regenerateVertexArray();
 		}
-		return Arrays.asList(this.vertexArray);
+		List<Vertex> list = this.orderedVertexList;
+		if(list == null) {
+			list = Collections.unmodifiableList(Arrays.asList(this.orderedVertices.toArray(new Vertex[0])));
+			this.orderedVertexList = list;
+		}
+		return list;
 	}
 
-	private void regenerateVertexArray() {
-		this.vertexArray = new Vertex[this.getPlotVertexCount()];
+	/**
+	 * Sorts all plot vertices anew. The new list and id map are built completely before they replace the old ones,
+	 * so that concurrent readers never see them half-filled.
+	 */
+	private synchronized void regenerateVertexArray() {
+		if(!this.isDirty) {
+			return;
+		}
+		Set<Vertex> nonPlotVertices = this.getNonPlotVertices();
 
-		this.vertices.keySet().stream()
-		   .filter(v -> !this.roots.contains(v) & !this.yAxis.values().contains(v))		// remove roots and axis labels
+		ArrayList<Vertex> ordered = this.vertices.keySet().stream()
+		   .filter(v -> !nonPlotVertices.contains(v))		// remove roots and axis labels
 		   .sorted(new VertexOrderComparator(this))
-//		   .sorted(Comparator.comparingInt(Vertex::getStep))		// TODO: Is this much faster?
-	 	   .collect(Collectors.toList()).toArray(this.vertexArray);
+		   .collect(Collectors.toCollection(ArrayList::new));
+
+		Map<Vertex, Integer> ids = new IdentityHashMap<>();
+		for (int i = 0; i < ordered.size(); i++) {
+			ids.put(ordered.get(i), i);
+		}
+
+		this.orderedVertices = ordered;
+		this.vertexIds = ids;
+		this.orderedVertexList = null;
+		this.isDirty = false;
+	}
+
+	/**
+	 * Inserts a vertex into orderedVertices at the position determined by {@link VertexOrderComparator}, and shifts
+	 * the ids of all following vertices. Assumes that orderedVertices was up to date before the vertex was added.
+	 */
+	private void insertOrdered(Vertex vertex) {
+		int pos = Collections.binarySearch(this.orderedVertices, vertex, new VertexOrderComparator(this));
+		if (pos < 0) {
+			pos = -(pos + 1);
+		}
+
+		this.orderedVertices.add(pos, vertex);
+		for (int i = pos; i < this.orderedVertices.size(); i++) {
+			this.vertexIds.put(this.orderedVertices.get(i), i);
+		}
+		this.orderedVertexList = null;
 		this.isDirty = false;
 	}
 
+	private Set<Vertex> getNonPlotVertices() {
+		Set<Vertex> nonPlotVertices = Collections.newSetFromMap(new IdentityHashMap<>());
+		nonPlotVertices.addAll(this.roots);
+		nonPlotVertices.addAll(this.yAxis.values());
+		return nonPlotVertices;
+	}
+
 	/**
 	 * Returns the number of vertices related directly to plot, that is, excluding roots and axis.
 	 * @return
 	 */
 	public int getPlotVertexCount() {
+		if(!this.isDirty) {
+			return this.orderedVertices.size();
+		}
+
+		Set<Vertex> nonPlotVertices = this.getNonPlotVertices();
 		return (int) this.vertices.keySet().stream()
-										   .filter(v -> !this.roots.contains(v) & !this.yAxis.values().contains(v))
+										   .filter(v -> !nonPlotVertices.contains(v))
 										   .count();
 	}
 
@@ -516,6 +599,44 @@ public class PlotDirectedSparseGraph extends DirectedSparseMultigraph<Vertex, Ed
 	    return dest;
 	}
 
+	/**
+	 * Hands the vertices and edges of this graph over to the provided graph without copying them. Cheaper than
+	 * {@link #cloneInto(PlotDirectedSparseGraph)} when this graph is not needed anymore, because afterwards its
+	 * vertices belong to dest and it must not be used or displayed.
+	 * @param dest empty graph
+	 * @return the provided graph with vertices and edges of this one added.
+	 */
+	public PlotDirectedSparseGraph moveInto(PlotDirectedSparseGraph dest) {
+		// BEWARE: lastVertexMap is not moved, the returned graph is not useable for continuing plotting
+		dest.name = this.name;
+
+		for (Vertex root : this.roots) {
+			dest.addVertex(root);
+			dest.roots.add(root);
+		}
+		dest.yAxis.putAll(this.yAxis);
+		synchronized(this.vertices) {
+			for (Vertex v : this.getVertices()) {
+				dest.addVertex(v);
+			}
+		}
+		synchronized(this.edges) {
+			for (Edge e : this.getEdges()) {
+				dest.addEdge(e, this.getSource(e), this.getDest(e));
+			}
+		}
+		dest.vertexAgentMap.putAll(this.vertexAgentMap);
+
+		for(Map.Entry<FunctionalUnit, Set<Instance>> entry : this.unitInstances.entrySet()) {
+			FunctionalUnit fu = entry.getKey();
+			for(Instance i : entry.getValue()) {
+				dest.addFUInstance(fu, fu.new Instance(dest, i.getVertices(), i.getType()));
+			}
+		}
+
+		return dest;
+	}
+
 	/**
 	 * Removes a vertex from this graph and connects its successor with the provided predecessor. This is necessary,
 	 * in case several predecessors of {@code toRemove} are to be removed as well.
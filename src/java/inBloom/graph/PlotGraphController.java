@@ -37,6 +37,7 @@ import inBloom.graph.isomorphism.FunctionalUnit.Instance;
 import inBloom.graph.isomorphism.FunctionalUnits;
 import inBloom.helper.MoodMapper;
 import inBloom.helper.Tellability;
+import inBloom.helper.TellabilityEstimator;
 
 import edu.uci.ics.jung.algorithms.layout.CircleLayout;
 import edu.uci.ics.jung.algorithms.layout.Layout;
@@ -50,13 +51,12 @@ import edu.uci.ics.jung.visualization.renderers.Renderer.VertexLabel.Position;
 
 /**
  * Responsible for maintaining and visualizing the graph that represents the emergent plot of the narrative universe.
- * Class provides an instance: <i>plotListener</i>, which is accessible throughout inBloom for saving plot-relevant
- * events. In order to open a JFrame with the graph call the non-static
- * {@link #visualizeGraph(boolean) visualizeGraph} method.
+ * Class provides an instance: <i>plotListener</i>, which records the plot-relevant events of the displayed simulation,
+ * see {@link PlotRecorder}. In order to open a JFrame with the graph call the non-static {@link #visualizeGraph(boolean) visualizeGraph} method.
  * @author Leonid Berov
  */
 @SuppressWarnings("serial")
-public class PlotGraphController extends JFrame implements PlotmasGraph, ActionListener {
+public class PlotGraphController extends JFrame implements PlotmasGraph, PlotRecorder, ActionListener {
 
 	protected static Logger logger = Logger.getLogger(PlotGraphController.class.getName());
 
@@ -65,7 +65,7 @@ public class PlotGraphController extends JFrame implements PlotmasGraph, ActionL
 	/** Change plot view action command. */
 	public static final String CHANGE_VIEW_COMMAND = "CHANGE_VIEW";
 
-	/** Singleton instance used to collect the plot */
+	/** Singleton instance used to display the plot */
 	private static PlotGraphController plotListener = null;
 
 	public static Color BGCOLOR = Color.WHITE;
@@ -75,6 +75,7 @@ public class PlotGraphController extends JFrame implements PlotmasGraph, ActionL
 	static public HashMultimap<Vertex, Integer> HIGHLIGHTED_VERTICES = HashMultimap.create();
 
 	private PlotDirectedSparseGraph graph = null;			// graph that gets populated by this listener
+	private PlotRecorder recorder = null;					// records events into graph
 	private JComboBox<PlotDirectedSparseGraph> graphTypeList = new JComboBox<>();	// ComboBox that is displayed on the graph to change display type
 	public VisualizationViewer<Vertex, Edge> visViewer = null;
 	private JButton counterfactButton;
@@ -92,6 +93,7 @@ public class PlotGraphController extends JFrame implements PlotmasGraph, ActionL
 	public static PlotGraphController getPlotListener() {
 		return plotListener;
 	}
+
 	public static void resetPlotListener() {
 		plotListener=null;
 	}
@@ -143,13 +145,8 @@ public class PlotGraphController extends JFrame implements PlotmasGraph, ActionL
 		super("Plot Graph");
 
 		// create and initialize the plot graph the will be created by this listener
-		this.graph = new PlotDirectedSparseGraph();
-		this.graph.setName("Full Plot Graph");
-
-		// set up a "named" tree for each character
-		for (LauncherAgent character : characters) {
-			this.addCharacter(character.name);
-		}
+		this.recorder = new PlotGraphRecorder(characters);
+		this.graph = this.recorder.getGraph();
 
 		this.setUp();
 		this.addGraph(this.graph);
@@ -164,6 +161,7 @@ public class PlotGraphController extends JFrame implements PlotmasGraph, ActionL
 		super("Plot Graph");
 
 		// create and initialize the plot graph the will be created by this listener
+		this.recorder = new PlotGraphRecorder(graph);
 		this.graph = graph;
 
 		this.setUp();
@@ -341,6 +339,7 @@ public class PlotGraphController extends JFrame implements PlotmasGraph, ActionL
 		return this.analysisResult;
 	}
 
+	@Override
 	public PlotDirectedSparseGraph getGraph() {
 		return this.graph;
 	}
@@ -356,24 +355,29 @@ public class PlotGraphController extends JFrame implements PlotmasGraph, ActionL
     	gui.graphClosed(this);
 	}
 
+	@Override
 	public void addCharacter(String agName) {
-		this.graph.addRoot(agName);
+		this.recorder.addCharacter(agName);
 	}
 
+	@Override
 	public void addEvent(String character, String event, Vertex.Type eventType, int step) {
-		this.graph.addEvent(character, event, step, eventType, Edge.Type.TEMPORAL);
+		this.recorder.addEvent(character, event, eventType, step);
 	}
 
+	@Override
+	public void setEstimator(TellabilityEstimator estimator) {
+		this.recorder.setEstimator(estimator);
+	}
+
+	@Override
 	public Vertex addMsgSend(Message m, String motivation, int step) {
-		Vertex senderV = this.graph.addMsgSend(m.getSender(), m.getIlForce() + "(" + m.getPropCont().toString() + ")" + motivation, step);
-		return senderV;
+		return this.recorder.addMsgSend(m, motivation, step);
 	}
 
+	@Override
 	public Vertex addMsgReceive(Message m, Vertex senderV, int step) {
-		// Add an "!" to the content if message was an achieve performative
-		// "+", to have the percept format, is added in Vertex#toString
-		Vertex recV = this.graph.addMsgReceive(m.getReceiver(), (m.getIlForce().startsWith("achieve") ? "!" : "") + m.getPropCont().toString(), senderV, step);
-		return recV;
+		return this.recorder.addMsgReceive(m, senderV, step);
 	}
 
 	/**
@@ -0,0 +1,78 @@
+package inBloom.graph;
+
+import java.util.Collection;
+
+import jason.asSemantics.Message;
+
+import inBloom.LauncherAgent;
+import inBloom.helper.TellabilityEstimator;
+
+/**
+ * Records plot events without creating any Swing components, so that simulations that don't display their plot
+ * graph start faster and can run with {@code java.awt.headless=true}.
+ */
+public class PlotGraphRecorder implements PlotRecorder {
+
+	private PlotDirectedSparseGraph graph;			// graph that gets populated by this recorder
+	private TellabilityEstimator estimator = null;	// gets informed about plot events during the simulation, if set
+
+	/**
+	 * Creates a new instance of {@link PlotDirectedSparseGraph}, which is used to capture new events.
+	 * Sets up a subgraphs for each character agent.
+	 * @param characters a collection of all acting character agents
+	 */
+	public PlotGraphRecorder(Collection<LauncherAgent> characters) {
+		this.graph = new PlotDirectedSparseGraph();
+		this.graph.setName("Full Plot Graph");
+
+		// set up a "named" tree for each character
+		for (LauncherAgent character : characters) {
+			this.addCharacter(character.name);
+		}
+	}
+
+	/**
+	 * Records future events into an existing graph.
+	 * @param graph
+	 */
+	public PlotGraphRecorder(PlotDirectedSparseGraph graph) {
+		this.graph = graph;
+	}
+
+	@Override
+	public void addCharacter(String agName) {
+		this.graph.addRoot(agName);
+	}
+
+	@Override
+	public void addEvent(String character, String event, Vertex.Type eventType, int step) {
+		this.graph.addEvent(character, event, step, eventType, Edge.Type.TEMPORAL);
+		if(this.estimator != null) {
+			this.estimator.addEvent(character, event, eventType, step);
+		}
+	}
+
+	@Override
+	public void setEstimator(TellabilityEstimator estimator) {
+		this.estimator = estimator;
+	}
+
+	@Override
+	public Vertex addMsgSend(Message m, String motivation, int step) {
+		Vertex senderV = this.graph.addMsgSend(m.getSender(), m.getIlForce() + "(" + m.getPropCont().toString() + ")" + motivation, step);
+		return senderV;
+	}
+
+	@Override
+	public Vertex addMsgReceive(Message m, Vertex senderV, int step) {
+		// Add an "!" to the content if message was an achieve performative
+		// "+", to have the percept format, is added in Vertex#toString
+		Vertex recV = this.graph.addMsgReceive(m.getReceiver(), (m.getIlForce().startsWith("achieve") ? "!" : "") + m.getPropCont().toString(), senderV, step);
+		return recV;
+	}
+
+	@Override
+	public PlotDirectedSparseGraph getGraph() {
+		return this.graph;
+	}
+}
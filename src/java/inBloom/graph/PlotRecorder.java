@@ -0,0 +1,32 @@
+package inBloom.graph;
+
+import jason.asSemantics.Message;
+
+import inBloom.helper.TellabilityEstimator;
+
+/**
+ * Records the plot-relevant events of a simulation into a plot graph. Implemented by the GUI-free
+ * {@link PlotGraphRecorder}, which is used for headless simulations, and by {@link PlotGraphController}, which
+ * additionally can display the recorded graph. Each launcher creates the recorder of its simulation, which is
+ * accessible by {@link inBloom.PlotEnvironment#getPlotRecorder()}.
+ */
+public interface PlotRecorder {
+	public void addCharacter(String agName);
+
+	public void addEvent(String character, String event, Vertex.Type eventType, int step);
+
+	public Vertex addMsgSend(Message m, String motivation, int step);
+
+	public Vertex addMsgReceive(Message m, Vertex senderV, int step);
+
+	/**
+	 * Forwards all future plot events to an estimator that tracks the tellability a running simulation can reach.
+	 * @param estimator
+	 */
+	public void setEstimator(TellabilityEstimator estimator);
+
+	/**
+	 * @return the graph events are recorded in
+	 */
+	public PlotDirectedSparseGraph getGraph();
+}
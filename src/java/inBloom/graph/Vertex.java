@@ -1,9 +1,13 @@
 package inBloom.graph;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -33,14 +37,26 @@ public class Vertex implements Cloneable {
 					   AXIS_LABEL,		// represents environment-steps on the vertical time axis
 					 }
 
+	/** If set, vertex ids are drawn from this generator instead of being random, see {@link #seedIds(Long)}. */
+	private static Random idGenerator = null;
+
+	/** Source of {@link #serial}, counts all vertices created so far. */
+	private static final AtomicLong serialCounter = new AtomicLong();
+
 	/* NOTE: each new attribute should also be considered in #clone() */
 	private PlotDirectedSparseGraph graph;
-	private String id;
+	private final long serial;
+	private String id;			// created lazily, see #getId()
 	private String label;
 	private Type type;
 	private int step;
 	private boolean isPolyvalent;
 
+	/* parts of the label, parsed on first access and reset by #setLabel(String) */
+	private String labelWithoutAnnots = null;
+	private String labelFunctor = null;
+	private Map<String, String> labelAnnots = null;		// maps: annotation functor --> content, see #getAnnotation(String)
+
 	/**
 	 * Stores emotions that have been attached to this Vertex. Only PERCEPT and ACTION type vertices can contain emotions, and
 	 * these emotions are collapsed into them during graph analysis by {@linkplain VertexMergingPPVisitor}, which
@@ -70,18 +86,51 @@ public class Vertex implements Cloneable {
 	 */
 	public Vertex(String label, Type type, int step, PlotDirectedSparseGraph graph) {
 		this.label = label;
-		this.id = UUID.randomUUID().toString();
+		this.serial = serialCounter.getAndIncrement();
 		this.type = type;
 		this.step = step;
 		this.isPolyvalent = false;
 		this.graph = graph;
 	}
 
-	public String getId() {
+	/**
+	 * Makes vertex ids reproducible by deriving them from a seeded generator, or random again if seed is null. Ids are
+	 * drawn when they are first requested, see {@link #getId()}.
+	 * @param seed seed of the id generator, or null
+	 */
+	public static synchronized void seedIds(Long seed) {
+		idGenerator = seed == null ? null : new Random(seed);
+	}
+
+	private static synchronized String createId() {
+		if (idGenerator == null) {
+			return UUID.randomUUID().toString();
+		}
+		return new UUID(idGenerator.nextLong(), idGenerator.nextLong()).toString();
+	}
+
+	/**
+	 * Returns a number that identifies this vertex among all vertices created in this VM. Vertices created later have
+	 * a higher serial, clones receive a new one.
+	 * @return serial number of this vertex
+	 */
+	public long getSerial() {
+		return this.serial;
+	}
+
+	/**
+	 * Returns a UUID string that identifies this vertex, e.g. for export. The id is only created when it is requested
+	 * for the first time, use {@link #getSerial()} where an identifier is needed for internal purposes.
+	 * @return id of this vertex
+	 */
+	public synchronized String getId() {
+		if (this.id == null) {
+			this.id = Vertex.createId();
+		}
 		return this.id;
 	}
 
-	public void setId(String id) {
+	public synchronized void setId(String id) {
 		this.id = id;
 	}
 
@@ -89,8 +138,11 @@ public class Vertex implements Cloneable {
 		return this.label;
 	}
 
-	public void setLabel(String label) {
+	public synchronized void setLabel(String label) {
 		this.label = label;
+		this.labelWithoutAnnots = null;
+		this.labelFunctor = null;
+		this.labelAnnots = null;
 	}
 
 	public Type getType() {
@@ -124,16 +176,19 @@ public class Vertex implements Cloneable {
 	 *
 	 * @return
 	 */
-	public String getFunctor() {
-		String removedAnnots = TermParser.removeAnnots(this.getLabel());
-		String removedTerms = removedAnnots.split("\\(")[0];
-		if(removedTerms.startsWith("+") || removedTerms.startsWith("-")) {
-			removedTerms = removedTerms.substring(1);
-		}
-		if(removedTerms.startsWith("!")) {
-			removedTerms = removedTerms.substring(1);
+	public synchronized String getFunctor() {
+		if (this.labelFunctor == null) {
+			String removedAnnots = this.getWithoutAnnotation();
+			String removedTerms = removedAnnots.split("\\(")[0];
+			if(removedTerms.startsWith("+") || removedTerms.startsWith("-")) {
+				removedTerms = removedTerms.substring(1);
+			}
+			if(removedTerms.startsWith("!")) {
+				removedTerms = removedTerms.substring(1);
+			}
+			this.labelFunctor = removedTerms;
 		}
-		return removedTerms;
+		return this.labelFunctor;
 	}
 
 
@@ -148,8 +203,31 @@ public class Vertex implements Cloneable {
 	 *
 	 * @return
 	 */
-	public String getWithoutAnnotation() {
-		return TermParser.removeAnnots(this.getLabel());
+	public synchronized String getWithoutAnnotation() {
+		if (this.labelWithoutAnnots == null) {
+			this.labelWithoutAnnots = TermParser.removeAnnots(this.getLabel());
+		}
+		return this.labelWithoutAnnots;
+	}
+
+	/**
+	 * Returns the content of the annotation of the vertex' label with the given functor, see
+	 * {@link TermParser#getAnnotation(String, String)}.
+	 * Example: <br />
+	 * <pre>
+	 * {@code
+	 * 	found(wheat)[cause(farm_work)], "cause" -> farm_work
+	 * }
+	 * </pre>
+	 *
+	 * @param functor of the annotation
+	 * @return content of the annotation if available, empty string otherwise
+	 */
+	public synchronized String getAnnotation(String functor) {
+		if (this.labelAnnots == null) {
+			this.labelAnnots = new HashMap<>(4);
+		}
+		return this.labelAnnots.computeIfAbsent(functor, f -> TermParser.getAnnotation(this.getLabel(), f));
 	}
 
 	/**
@@ -164,7 +242,7 @@ public class Vertex implements Cloneable {
 	 * @return
 	 */
 	public String getSource() {
-		return TermParser.getAnnotation(this.getLabel(), "source");
+		return this.getAnnotation("source");
 	}
 
 	/**
@@ -179,7 +257,7 @@ public class Vertex implements Cloneable {
 	 * @return
 	 */
 	public String getCause() {
-		return TermParser.getAnnotation(this.getLabel(), Edge.Type.CAUSALITY.toString());
+		return this.getAnnotation(Edge.Type.CAUSALITY.toString());
 	}
 
 	public void setPolyvalent() {
@@ -194,21 +272,22 @@ public class Vertex implements Cloneable {
 	 */
 	@Override
 	public String toString() {
-		String result = this.getLabel();
-
-		if (this.isPolyvalent) {
-			result = "* " + result;
-		}
+		String result;
 
 		switch(this.type) {
-		case EMOTION: 	break;
+		case EMOTION: 	result = this.getLabel();
+						break;
 		case PERCEPT:
-		default: 		result = TermParser.removeAnnots(result);
+		default: 		result = this.getWithoutAnnotation();
 						result = this.appendEmotions(result);
 						break;
 
 		}
 
+		if (this.isPolyvalent) {
+			result = "* " + result;
+		}
+
 		return result;
 	}
 
@@ -218,7 +297,7 @@ public class Vertex implements Cloneable {
 	 */
 	public String getIntention() {
 		if (Vertex.Type.INTENTION == this.type) {
-			String removedAnnots = TermParser.removeAnnots(this.label);
+			String removedAnnots = this.getWithoutAnnotation();
 			if(removedAnnots.startsWith("!")) {
 				return removedAnnots.substring(1);
 			} else {
@@ -375,6 +375,14 @@ public class FunctionalUnits {
 		for(FunctionalUnit unit : PRIMITIVES) {
 			unit.setPrimitive();
 		}
+
+		// order unit graphs up front, so that concurrent analyses only ever read them
+		for(FunctionalUnit unit : ALL) {
+			unit.getGraph().getOrderedVertexList();
+		}
+		for(FunctionalUnit unit : PRIMITIVES) {
+			unit.getGraph().getOrderedVertexList();
+		}
 	}
 
 	public static Vertex makeIntention(int step, PlotDirectedSparseGraph graph) {
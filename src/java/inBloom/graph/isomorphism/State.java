@@ -1,6 +1,5 @@
 package inBloom.graph.isomorphism;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -10,10 +9,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import com.google.common.primitives.Ints;
 
+import inBloom.graph.CompactPlotGraph;
 import inBloom.graph.Edge;
 import inBloom.graph.PlotDirectedSparseGraph;
 import inBloom.graph.Vertex;
@@ -31,6 +30,7 @@ public class State {
 	private static final int MAX_FU_SIZE = 10;
 
 	public PlotDirectedSparseGraph g1, g2;
+	private CompactPlotGraph c1, c2;		// snapshots of g1 and g2, vertex ids refer to these
 	private int n1, n2;
 	private int[] core1, core2, in1, in2, out1, out2;
 
@@ -50,14 +50,26 @@ public class State {
 	 * @param unitGraph
 	 */
 	public State(PlotDirectedSparseGraph plotGraph, PlotDirectedSparseGraph unitGraph) {
-		this.g1 = plotGraph;
+		this(new CompactPlotGraph(plotGraph), unitGraph);
+	}
+
+	/**
+	 * Creates a new State for the given plot graph snapshot and functional unit graph. Allows to search for several
+	 * units without creating a new snapshot of the plot graph for each.
+	 * @param plotGraph
+	 * @param unitGraph
+	 */
+	public State(CompactPlotGraph plotGraph, PlotDirectedSparseGraph unitGraph) {
+		this.g1 = plotGraph.getGraph();
 		this.g2 = unitGraph;
+		this.c1 = plotGraph;
+		this.c2 = new CompactPlotGraph(unitGraph);
 		this.depth = 0;
 		this.transformationNum = 0;
 		this.candidateV1 = NULL_NODE;
 		this.candidateV2 = NULL_NODE;
-		this.n1 = this.g1.getPlotVertexCount();
-		this.n2 = this.g2.getPlotVertexCount();
+		this.n1 = this.c1.getVertexCount();
+		this.n2 = this.c2.getVertexCount();
 
 		if(this.n1 < this.n2) {
 			throw new RuntimeException("Plot graph has less vertices than unit graph, namely only  " + this.n1);
@@ -96,6 +108,8 @@ public class State {
 		// take over previous state
 		this.g1 = other.g1;
 		this.g2 = other.g2;
+		this.c1 = other.c1;
+		this.c2 = other.c2;
 		this.depth = other.depth + 1;
 		this.transformationNum = other.transformationNum;
 		this.n1 = other.n1;
@@ -120,18 +134,20 @@ public class State {
 	public State(State other, int v1, int v2, PlotDirectedSparseGraph g2New, boolean inEdge) {
 		this(other, v1, v2);
 
-		assert this.n2 < g2New.getPlotVertexCount(); // new fu graph should always be longer than old one
-		if(MAX_FU_SIZE < g2New.getPlotVertexCount() || this.n1 < g2New.getPlotVertexCount()) {
+		CompactPlotGraph c2New = new CompactPlotGraph(g2New);
+		assert this.n2 < c2New.getVertexCount(); // new fu graph should always be longer than old one
+		if(MAX_FU_SIZE < c2New.getVertexCount() || this.n1 < c2New.getVertexCount()) {
 			throw new RuntimeException("Expanded FU Graph larger than plot graph or allowed max size");
 		}
 
-		int lengthDiff = g2New.getPlotVertexCount() - this.n2;
+		int lengthDiff = c2New.getVertexCount() - this.n2;
 		assert lengthDiff == 1;
 
 		// update values
-		this.n2 = g2New.getPlotVertexCount();
+		this.n2 = c2New.getVertexCount();
 		this.transformationNum = other.transformationNum + 1;
 		this.g2 = g2New;
+		this.c2 = c2New;
 		if (inEdge) {
 			this.candidateV2 = v2 + 1;
 		}
@@ -208,12 +224,12 @@ public class State {
 		this.core1[v1] = v2;
 		this.core2[v2] = v1;
 
-		this.countNodeForAgent(this.g1.getAgent(this.g1.getVertex(v1)));
+		this.countNodeForAgent(this.c1.getAgent(v1));
 
-		Set<Integer> in1Set = this.getPredecessors(this.g1, v1);
-		Set<Integer> out1Set = this.getSuccessors(this.g1, v1);
-		Set<Integer> in2Set = this.getPredecessors(this.g2, v2);
-		Set<Integer> out2Set = this.getSuccessors(this.g2, v2);
+		Set<Integer> in1Set = this.getPredecessors(this.c1, v1);
+		Set<Integer> out1Set = this.getSuccessors(this.c1, v1);
+		Set<Integer> in2Set = this.getPredecessors(this.c2, v2);
+		Set<Integer> out2Set = this.getSuccessors(this.c2, v2);
 
 		for(int in1Node : in1Set) {
 			this.in1[in1Node] = this.depth;
@@ -250,7 +266,7 @@ public class State {
 		HashMap<Vertex, Vertex> mapping = new HashMap<>();
 		for(int i = 0; i < this.n2; i++) {
 			if(this.core2[i] != NULL_NODE) {
-				mapping.put(this.g2.getVertex(i), this.g1.getVertex(this.core2[i]));
+				mapping.put(this.c2.getVertex(i), this.c1.getVertex(this.core2[i]));
 			}
 		}
 		return mapping;
@@ -356,10 +372,10 @@ public class State {
 	 */
 	private boolean isSynFeasible() {
 
-		Set<Integer> pred1 = this.getPredecessors(this.g1, this.candidateV1);
-		Set<Integer> pred2 = this.getPredecessors(this.g2, this.candidateV2);
-		Set<Integer> succ1 = this.getSuccessors(this.g1, this.candidateV1);
-		Set<Integer> succ2 = this.getSuccessors(this.g2, this.candidateV2);
+		Set<Integer> pred1 = this.getPredecessors(this.c1, this.candidateV1);
+		Set<Integer> pred2 = this.getPredecessors(this.c2, this.candidateV2);
+		Set<Integer> succ1 = this.getSuccessors(this.c1, this.candidateV1);
+		Set<Integer> succ2 = this.getSuccessors(this.c2, this.candidateV2);
 
 		// Calculate whether R_Pred and R_Succ hold
 		// Attention: original paper solves induced subgraph isomorphism, which involves also checking the inverse. Not needed for present case.
@@ -504,8 +520,8 @@ public class State {
 	 * @return true if the vertices are compatible.
 	 */
 	private boolean checkVertexCompatibility() {
-		Vertex plotVertex = this.g1.getVertex(this.candidateV1);
-		Integer currentCount = this.agentNodeCounts.get(this.g1.getAgent(plotVertex));
+		Vertex plotVertex = this.c1.getVertex(this.candidateV1);
+		Integer currentCount = this.agentNodeCounts.get(this.c1.getAgent(this.candidateV1));
 		if(currentCount == null || currentCount == 0) {
 			int involvedAgents = 0;
 			for(int nodeCount : this.agentNodeCounts.values()) {
@@ -518,7 +534,7 @@ public class State {
 			}
 		}
 		UnitVertexType t1 = UnitVertexType.typeOf(plotVertex);
-        UnitVertexType t2 = UnitVertexType.typeOf(this.g2.getVertex(this.candidateV2));
+        UnitVertexType t2 = UnitVertexType.typeOf(this.c2.getVertex(this.candidateV2));
         return t2.matches(t1);
 	}
 
@@ -532,23 +548,23 @@ public class State {
 	private boolean checkEdgeCompatibility() {
 		for(int m = 0; m < this.n2; m++) {
 			if(this.core2[m] != NULL_NODE) {
-				Vertex vn1 = this.g1.getVertex(this.candidateV1);
-				Vertex vn2 = this.g1.getVertex(this.core2[m]);
-				Vertex vm1 = this.g2.getVertex(this.candidateV2);
-				Vertex vm2 = this.g2.getVertex(m);
+				int vn1 = this.candidateV1;
+				int vn2 = this.core2[m];
+				int vm1 = this.candidateV2;
+				int vm2 = m;
 
-				boolean isWildcard = UnitVertexType.typeOf(vm1).needsWildcardEdge()
-								  || UnitVertexType.typeOf(vm2).needsWildcardEdge();
+				boolean isWildcard = UnitVertexType.typeOf(this.c2.getVertex(vm1)).needsWildcardEdge()
+								  || UnitVertexType.typeOf(this.c2.getVertex(vm2)).needsWildcardEdge();
 
-				Collection<Edge> nEdges = this.getEdges(this.g1, vn1, vn2);
-				Collection<Edge> mEdges = this.getEdges(this.g2, vm1, vm2);
+				List<Edge.Type> nEdges = this.getEdges(this.c1, vn1, vn2);
+				List<Edge.Type> mEdges = this.getEdges(this.c2, vm1, vm2);
 
 				if(!this.checkEdgeSetCompatibility(nEdges, mEdges, isWildcard)) {
 					return false;
 				}
 
-				nEdges = this.getEdges(this.g1, vn2, vn1);
-				mEdges = this.getEdges(this.g2, vm2, vm1);
+				nEdges = this.getEdges(this.c1, vn2, vn1);
+				mEdges = this.getEdges(this.c2, vm2, vm1);
 
 				if(!this.checkEdgeSetCompatibility(nEdges, mEdges, isWildcard)) {
 					return false;
@@ -561,23 +577,23 @@ public class State {
 	/**
 	 * Checks whether the edges between two vertices of the plot graph and
 	 * the edges between two vertices of the unit graph match.
-	 * @param plotEdges The edges of the plot graph
-	 * @param unitEdges The edges of the functional unit graph
+	 * @param plotEdges The types of the edges of the plot graph
+	 * @param unitEdges The types of the edges of the functional unit graph
 	 * @param isWildcard whether one of the vertices adjacent to the edges in the functional unit graph was a wildcard vertex.
 	 * @return true if the edges match, false if they don't.
 	 */
-	private boolean checkEdgeSetCompatibility(Collection<Edge> plotEdges, Collection<Edge> unitEdges, boolean isWildcard) {
+	private boolean checkEdgeSetCompatibility(List<Edge.Type> plotEdges, List<Edge.Type> unitEdges, boolean isWildcard) {
 		// If the unit vertex is a wildcard, simply check the amount of edges,
 		// effectively making use of "wildcard edges"
 		if(isWildcard) {
 			int crossCharacterCount = 0;
-			for(Edge e : unitEdges) {
-				if(e.getType() == Edge.Type.CROSSCHARACTER) {
+			for(Edge.Type t : unitEdges) {
+				if(t == Edge.Type.CROSSCHARACTER) {
 					crossCharacterCount++;
 				}
 			}
-			for(Edge e : plotEdges) {
-				if(e.getType() == Edge.Type.CROSSCHARACTER) {
+			for(Edge.Type t : plotEdges) {
+				if(t == Edge.Type.CROSSCHARACTER) {
 					crossCharacterCount--;
 				}
 			}
@@ -586,46 +602,38 @@ public class State {
 
 		LinkedList<Edge.Type> unitEdgeTypes = new LinkedList<>();
 		int wildCardEdges = 0;
-		for(Edge e : unitEdges) {
-			if(e.getType() == Edge.Type.WILDCARD) {
+		for(Edge.Type t : unitEdges) {
+			if(t == Edge.Type.WILDCARD) {
 				wildCardEdges += 1;
 			}
-			unitEdgeTypes.add(e.getType());
+			unitEdgeTypes.add(t);
 		}
 
-		Collection<Edge> plotEdgesCounter = new ArrayList<>(plotEdges);
-		for(Edge e : plotEdges) {
-			if(unitEdgeTypes.contains(e.getType())) {
-				unitEdgeTypes.remove(e.getType());
-				plotEdgesCounter.remove(e);
+		int plotEdgesCounter = plotEdges.size();
+		for(Edge.Type t : plotEdges) {
+			if(unitEdgeTypes.contains(t)) {
+				unitEdgeTypes.remove(t);
+				plotEdgesCounter--;
 			}
 		}
-		plotEdgesCounter.stream().filter(e -> e.getType() != Edge.Type.CROSSCHARACTER).collect(Collectors.toList());
 
 		// After removing all plotEdge types from a list of unitEdgeTypes, only wildcard edges are left
 		// and there are enough plot edges left for all wildcards from the FU
-		return unitEdgeTypes.size() == wildCardEdges && plotEdgesCounter.size() >= wildCardEdges;
+		return unitEdgeTypes.size() == wildCardEdges && plotEdgesCounter >= wildCardEdges;
 	}
 
 	/**
-	 * Computes the set of edges between two given vertices.
-	 * Filters the edges using the {@link #isEdgeValid(Edge) isEdgeValid} method,
+	 * Computes the types of the edges between two given vertices.
+	 * Filters the edges using the {@link #isEdgeValid(Edge.Type) isEdgeValid} method,
 	 * by only including those for which that method returns true.
 	 * @param g	Graph the vertices are in.
-	 * @param v1 Vertex from which edges should originate
-	 * @param v2 Vertex which the edges should lead to
-	 * @return Collection with all valid edges between <i>v1</i> and <i>v2</i>.
+	 * @param v1 Index of the vertex from which edges should originate
+	 * @param v2 Index of the vertex which the edges should lead to
+	 * @return List with the types of all valid edges between <i>v1</i> and <i>v2</i>.
 	 */
-	private Collection<Edge> getEdges(PlotDirectedSparseGraph g, Vertex v1, Vertex v2) {
-		Collection<Edge> allEdges = g.findEdgeSet(v1, v2);
-		Collection<Edge> filteredEdges = new HashSet<>();
-
-		for(Edge e : allEdges) {
-			if(this.isEdgeValid(e)) {
-				filteredEdges.add(e);
-			}
-		}
-
+	private List<Edge.Type> getEdges(CompactPlotGraph g, int v1, int v2) {
+		List<Edge.Type> filteredEdges = g.getEdgeTypes(v1, v2);
+		filteredEdges.removeIf(t -> !this.isEdgeValid(t));
 		return filteredEdges;
 	}
 
@@ -636,16 +644,11 @@ public class State {
 	 * @param v The index of the vertex to look for predecessors of.
 	 * @return HashSet containing indices of vertices which are predecessors.
 	 */
-	private Set<Integer> getPredecessors(PlotDirectedSparseGraph g, int v) {
-		Vertex vert = g.getVertex(v);
+	private Set<Integer> getPredecessors(CompactPlotGraph g, int v) {
 		HashSet<Integer> predecessors = new HashSet<>();
-		for(Vertex p : g.getPredecessors(vert)) {
-			Collection<Edge> edges = g.findEdgeSet(p, vert);
-			for(Edge e : edges) {
-				if(this.isEdgeValid(e)) {
-					predecessors.add(g.getVertexId(p));
-					break;
-				}
+		for(int e = g.getInStart(v); e < g.getInEnd(v); e++) {
+			if(this.isEdgeValid(g.getInType(e))) {
+				predecessors.add(g.getInSource(e));
 			}
 		}
 		return predecessors;
@@ -658,16 +661,11 @@ public class State {
 	 * @param v The index of the vertex to look for successors of.
 	 * @return HashSet containing indices of vertices which are successors.
 	 */
-	private HashSet<Integer> getSuccessors(PlotDirectedSparseGraph g, int v) {
-		Vertex vert = g.getVertex(v);
+	private HashSet<Integer> getSuccessors(CompactPlotGraph g, int v) {
 		HashSet<Integer> successors = new HashSet<>();
-		for(Vertex p : g.getSuccessors(vert)) {
-			Collection<Edge> edges = g.findEdgeSet(vert, p);
-			for(Edge e : edges) {
-				if(this.isEdgeValid(e)) {
-					successors.add(g.getVertexId(p));
-					break;
-				}
+		for(int e = g.getOutStart(v); e < g.getOutEnd(v); e++) {
+			if(this.isEdgeValid(g.getOutType(e))) {
+				successors.add(g.getOutTarget(e));
 			}
 		}
 		return successors;
@@ -675,11 +673,11 @@ public class State {
 
 	/**
 	 * Defines whether an edge should be considered in the isomorphism.
-	 * @param e Edge
-	 * @return whether <i>e</i> will be considered in the isomorphism search.
+	 * @param type type of the edge
+	 * @return whether edges of this type will be considered in the isomorphism search.
 	 */
-	private boolean isEdgeValid(Edge e) {
-		return e.getType() != Edge.Type.TEMPORAL && e.getType() != Edge.Type.ROOT;
+	private boolean isEdgeValid(Edge.Type type) {
+		return type != Edge.Type.TEMPORAL && type != Edge.Type.ROOT;
 	}
 
 	@Override
@@ -832,11 +830,11 @@ public class State {
 	}
 
 	public Vertex getCandidateV1Vertex() {
-		return this.g1.getVertex(this.candidateV1);
+		return this.c1.getVertex(this.candidateV1);
 	}
 
 	public Vertex getCandidateV2Vertex() {
-		return this.g2.getVertex(this.candidateV2);
+		return this.c2.getVertex(this.candidateV2);
 	}
 
 }
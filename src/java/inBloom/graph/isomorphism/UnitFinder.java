@@ -10,6 +10,7 @@ import java.util.stream.Collectors;
 
 import com.google.common.base.Stopwatch;
 
+import inBloom.graph.CompactPlotGraph;
 import inBloom.graph.PlotDirectedSparseGraph;
 import inBloom.graph.Vertex;
 
@@ -33,6 +34,19 @@ public class UnitFinder {
 	 * 		   The map maps from vertices of the unitGraph to vertices of the plotGraph.
 	 */
 	public Set<Map<Vertex, Vertex>> findUnits(PlotDirectedSparseGraph unitGraph, PlotDirectedSparseGraph plotGraph, int tolerance) {
+		return this.findUnits(unitGraph, new CompactPlotGraph(plotGraph), tolerance);
+	}
+
+	/**
+	 * Finds all subgraphs of the form unitGraph in the given snapshot of a plot graph. Searching several units in the
+	 * same snapshot avoids converting the plot graph for each unit.
+	 * @param unitGraph The graph describing the subgraphs to look for
+	 * @param plotGraph Snapshot of the graph to find subgraphs in
+	 * @param tolerance The number of transformations allowed on the unitGraph in order to find fits
+	 * @return Set which contains a map for each instance of unitGraph in plotGraph.
+	 * 		   The map maps from vertices of the unitGraph to vertices of the plotGraph.
+	 */
+	public Set<Map<Vertex, Vertex>> findUnits(PlotDirectedSparseGraph unitGraph, CompactPlotGraph plotGraph, int tolerance) {
 		TreeSet<State> allMappings = new TreeSet<>(
 				// two states are the same, iff they map the same positions in g1 and g2
 				// their s#getMapping() might not be the same, though, because vertices at these positions might
@@ -75,7 +75,7 @@ public class EdgeGenerationPPVisitor extends PlotGraphVisitor {
 	public void visitAction(Vertex vertex) {
 		logger.fine("visiting action: " + vertex.toString());
  		// create actualization edges to causing intention
-		String intention = TermParser.getAnnotation(vertex.getLabel(), Edge.Type.ACTUALIZATION.toString());
+		String intention = vertex.getAnnotation(Edge.Type.ACTUALIZATION.toString());
 
 		if(intention.length() > 0) {
 			for(Vertex target : this.eventList) {
@@ -133,7 +133,7 @@ public class EdgeGenerationPPVisitor extends PlotGraphVisitor {
 	@Override
 	public void visitSpeech(Vertex vertex) {
 		logger.fine("visiting speech: " + vertex.toString());
-		String intention = TermParser.getAnnotation(vertex.getLabel(), Edge.Type.ACTUALIZATION.toString());
+		String intention = vertex.getAnnotation(Edge.Type.ACTUALIZATION.toString());
 		if(intention.length() > 0) {
 			intention = TermParser.removeAnnots(intention);
 			for(Vertex target : this.eventList) {
@@ -253,7 +253,7 @@ public class EdgeGenerationPPVisitor extends PlotGraphVisitor {
 	 * @param vertex
 	 */
 	private void processCrossCharAnnotation(Vertex vertex) {
-		String crossCharID = TermParser.getAnnotation(vertex.getLabel(), Edge.Type.CROSSCHARACTER.toString());
+		String crossCharID = vertex.getAnnotation(Edge.Type.CROSSCHARACTER.toString());
 		if (!crossCharID.isEmpty()) {
 			this.xCharIDMap.put(crossCharID, vertex);
 		}
@@ -278,11 +278,11 @@ public class EdgeGenerationPPVisitor extends PlotGraphVisitor {
 
 					// Check for percepts
 					isMotivation = isMotivation ||
-							motivation.equals(TermParser.removeAnnots(target.getLabel()));
+							motivation.equals(target.getWithoutAnnotation());
 
 					// Check for listens
 					isMotivation = isMotivation ||
-							motivation.equals(TermParser.removeAnnots(target.getLabel()).substring(1));
+							motivation.equals(target.getWithoutAnnotation().substring(1));
 
 					if(isMotivation && !motivationVertices.contains(target)) {
 						this.graph.addEdge(new Edge(Edge.Type.MOTIVATION), target, vertex);
@@ -310,8 +310,8 @@ public class EdgeGenerationPPVisitor extends PlotGraphVisitor {
 		// Look for vertex noted in cause annotation
 		Vertex causeV = null;
 		for(Vertex v : this.eventList) {
-			if(TermParser.removeAnnots(v.getLabel()).equals(cause) ||
-						TermParser.removeAnnots(v.getLabel()).equals(cause.substring(1)) && v.getType().equals(Vertex.Type.ACTION)) {
+			if(v.getWithoutAnnotation().equals(cause) ||
+						v.getWithoutAnnotation().equals(cause.substring(1)) && v.getType().equals(Vertex.Type.ACTION)) {
 				// Source found! We take every source!
 				causeV = v;
 				break;
@@ -375,8 +375,8 @@ public class EdgeGenerationPPVisitor extends PlotGraphVisitor {
 
 		// Look for cause
 		for(Vertex v : this.eventList) {
-			if(TermParser.removeAnnots(v.getLabel()).equals(cause) ||
-						TermParser.removeAnnots(v.getLabel()).equals(cause.substring(1)) && v.getType().equals(Vertex.Type.ACTION)) {
+			if(v.getWithoutAnnotation().equals(cause) ||
+						v.getWithoutAnnotation().equals(cause.substring(1)) && v.getType().equals(Vertex.Type.ACTION)) {
 				// Source found! We take every source!
 				this.graph.addEdge(new Edge(Edge.Type.CAUSALITY), v, vertex);
 				break;
@@ -8,11 +8,12 @@ import inBloom.graph.Vertex;
  * Defines the interface for visiting a {@link PlotDirectedSparseGraph}.  Provides different methods for visiting the
  * different vertex types, as well as a method {@link #visitEdge(Edge) visitEdge} to control the visitation. </br>
  * Visits and returns a clone of the graph provided to {@link #apply(PlotDirectedSparseGraph)}, unless the executed
- * visitor subclass overrides the apply method.
+ * visitor subclass overrides the apply method or {@link #inPlace()} was called.
  * @author Sven Wilke
  */
 public abstract class PlotGraphVisitor {
 	protected PlotDirectedSparseGraph graph;
+	private boolean cloneGraph = true;
 
 	public abstract void visitRoot			(Vertex vertex);
 	public abstract void visitEvent			(Vertex vertex);
@@ -40,13 +41,23 @@ public abstract class PlotGraphVisitor {
 		}
 	}
 
+	/**
+	 * Makes {@link #apply(PlotDirectedSparseGraph)} visit and modify the provided graph itself instead of a clone. Saves
+	 * a deep copy when the provided graph is an intermediate result that is not used anymore.
+	 * @return this visitor
+	 */
+	public PlotGraphVisitor inPlace() {
+		this.cloneGraph = false;
+		return this;
+	}
+
 	/**
 	 * Initiates the visiting process on graph. Usually implemented via double dispatch by calling {@code graph.accept(this)}.
 	 * @param graph the graph to be visited
 	 * @return the visited graph with all resulting modifications
 	 */
 	public PlotDirectedSparseGraph apply(PlotDirectedSparseGraph graph) {
-		this.graph = graph.clone();
+		this.graph = this.cloneGraph ? graph.clone() : graph;
 		this.graph.accept(this);
 		return this.graph;
 	}
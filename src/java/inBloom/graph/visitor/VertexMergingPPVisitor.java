@@ -59,17 +59,17 @@ public class VertexMergingPPVisitor extends PlotGraphVisitor {
 				continue;
 			}
 
-			String targetString = targetEvent.getLabel();
+			String targetString = targetEvent.getWithoutAnnotation();
 
 			// Needs to match with or without '+'; with for percepts and without for actions
-			if((TermParser.removeAnnots(targetString).equals(cause) ||
-					TermParser.removeAnnots(targetString).equals("+" + cause)) &&
+			if((targetString.equals(cause) ||
+					targetString.equals("+" + cause)) &&
 						!targetEvent.hasEmotion(emotion.getName())) {
 				// all annotations in cause should be present in target (but not the other way around!)
 				boolean annotationMismatch = false;
 				Map<String, String> causeAnnotMap= TermParser.getAnnotationsMap(emotion.getCause());
 				for (Entry<String, String> entry : causeAnnotMap.entrySet()) {
-					String targetTerm = TermParser.getAnnotation(targetString, entry.getKey());
+					String targetTerm = targetEvent.getAnnotation(entry.getKey());
 					if(targetTerm.equals("") | !targetTerm.equals(entry.getValue())) {
 						annotationMismatch = true;
 					}
@@ -119,10 +119,10 @@ public class VertexMergingPPVisitor extends PlotGraphVisitor {
 		String checkAchieve = vertex.getLabel();
 		while(successor != null) {
 			if(successor.getType() == Vertex.Type.PERCEPT || successor.getType() == Vertex.Type.INTENTION) {
-				if(TermParser.removeAnnots(successor.getLabel()).equals(checkTell)) {
+				if(successor.getWithoutAnnotation().equals(checkTell)) {
 					break;
 				}
-				if(TermParser.removeAnnots(successor.getLabel()).equals(checkAchieve)) {
+				if(successor.getWithoutAnnotation().equals(checkAchieve)) {
 					break;
 				}
 			}
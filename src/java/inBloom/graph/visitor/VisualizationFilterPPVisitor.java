@@ -12,7 +12,6 @@ import java.util.stream.Collectors;
 import jason.asSemantics.Mood;
 import jason.util.Pair;
 
-import inBloom.PlotLauncher;
 import inBloom.graph.Edge;
 import inBloom.graph.Edge.Type;
 import inBloom.graph.MoodGraph;
@@ -32,6 +31,17 @@ public class VisualizationFilterPPVisitor extends PlotGraphVisitor {
 
 	private Vertex currentRoot;
 	private Map<String, LinkedList<Vertex>> agentActionMap = new HashMap<>();
+	private Map<String, Pair<Integer, Integer>> repeatingSequences;
+	/** Step at which the narrative equilibrium that paused the simulation began, null if there was none */
+	private Integer narrEquiStep = null;
+
+	/**
+	 * @param repeatingSequences for each agent, length and number of repetitions of the action sequence that paused the
+	 *                           simulation, see {@link inBloom.PlotEnvironment#getRepeatingSequenceMap()}
+	 */
+	public VisualizationFilterPPVisitor(Map<String, Pair<Integer, Integer>> repeatingSequences) {
+		this.repeatingSequences = repeatingSequences;
+	}
 
 	@Override
 	public PlotDirectedSparseGraph apply(PlotDirectedSparseGraph graph) {
@@ -166,7 +176,7 @@ public class VisualizationFilterPPVisitor extends PlotGraphVisitor {
 	 */
 	private void postProcessing() {
 		// Remove repeating pattern at end, if pause in execution was caused by a narrative equilibrium
-		HashMap<String, Pair<Integer, Integer>> seqMap = PlotLauncher.getRunner().getUserEnvironment().getRepeatingSequenceMap();
+		Map<String, Pair<Integer, Integer>> seqMap = this.repeatingSequences;
 
 		// Compute the length of the whole repeating sequence that cause the pause: len(chain) * num_rep
 		// repLength is number of vertices to be removed, we want it to be the same for all agents, even if their number of
@@ -198,8 +208,17 @@ public class VisualizationFilterPPVisitor extends PlotGraphVisitor {
 				narrEquiStepList.add(lastV.getStep());
 			}
 
-			MoodGraph.getMoodListener().narrEquiStep = narrEquiStepList.stream().mapToInt(i -> i).max().getAsInt();
+			this.narrEquiStep = narrEquiStepList.stream().mapToInt(i -> i).max().getAsInt();
 		}
 
 	}
+
+	/**
+	 * Returns the step at which the narrative equilibrium began that was cut from the graph, so that the
+	 * {@link MoodGraph} can end the displayed mood development there.
+	 * @return the step, or null if no equilibrium was cut
+	 */
+	public Integer getNarrativeEquilibriumStep() {
+		return this.narrEquiStep;
+	}
 }
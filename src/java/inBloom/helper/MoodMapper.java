@@ -26,6 +26,7 @@ public class MoodMapper {
 	private Table<String, Long, List<Mood>> timedMoodMap = Tables.synchronizedTable(HashBasedTable.create());
 	public List<Long> startTimes = Collections.synchronizedList(new LinkedList<>());
 	public Map<Integer, Long> stepReasoningcycleNumMap = new HashMap<>();	// maps from env steps to agent reasoning cycle num at that step
+	private volatile TellabilityEstimator estimator = null;		// gets informed about mood changes during the simulation, if set
 
 	public Map<Long, List<Mood>> getMoodByAgent(String agName) {
 		Map<Long, List<Mood>> timeMoodMap = this.timedMoodMap.row(agName);
@@ -49,6 +50,26 @@ public class MoodMapper {
 		}
 
 		this.timedMoodMap.get(agName, time).add(mood.clone());
+
+		if(this.estimator != null) {
+			this.estimator.addMood(agName, time, mood);
+		}
+	}
+
+	/**
+	 * Forwards mood changes to an estimator that tracks the tellability a running simulation can reach. Moods that
+	 * were mapped before are forwarded right away.
+	 * @param estimator
+	 */
+	public void setEstimator(TellabilityEstimator estimator) {
+		synchronized(this.timedMoodMap) {
+			for (Table.Cell<String, Long, List<Mood>> cell : this.timedMoodMap.cellSet()) {
+				for (Mood mood : cell.getValue()) {
+					estimator.addMood(cell.getRowKey(), cell.getColumnKey(), mood);
+				}
+			}
+			this.estimator = estimator;
+		}
 	}
 
 	/**
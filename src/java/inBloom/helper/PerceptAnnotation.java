@@ -5,10 +5,12 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import jason.asSemantics.Emotion;
 import jason.asSyntax.ASSyntax;
+import jason.asSyntax.Literal;
 import jason.asSyntax.Term;
 import jason.asSyntax.parser.ParseException;
 
@@ -17,7 +19,12 @@ import inBloom.graph.Edge;
 public class PerceptAnnotation {
     static Logger logger = Logger.getLogger(PerceptAnnotation.class.getName());
 
+	/** matches annotation arguments that can be created as atoms or numbers without invoking the parser */
+	private static final Pattern ATOM_PATTERN = Pattern.compile("[a-z][a-zA-Z0-9_]*");
+	private static final Pattern NUMBER_PATTERN = Pattern.compile("[0-9]+");
+
 	private List<String> annots;
+	private List<Term> terms;	// annots as ASL terms, created along with them so percepts don't need to be parsed
 
 	public static PerceptAnnotation fromEmotion(String emotion) {
 		PerceptAnnotation annot = new PerceptAnnotation();
@@ -42,6 +49,7 @@ public class PerceptAnnotation {
 
 	public PerceptAnnotation() {
 		this.annots = new LinkedList<>();
+		this.terms = new LinkedList<>();
 	}
 
 	/**
@@ -72,18 +80,44 @@ public class PerceptAnnotation {
 		return result;
 	}
 
+	/**
+	 * Returns the annotations as ASL terms, which can be added to a percept literal. The terms are copies, so they
+	 * can be freely modified by the literal they are added to.
+	 * @return list of annotation terms
+	 */
 	public List<Term> toTerms() {
-		List<Term> l = new ArrayList<>();
-		for (String a : this.annots) {
-			try {
-				l.add(ASSyntax.parseTerm(a));
-			} catch (ParseException e) {
-				logger.warning("Couldn't create ASL term from annotation: " + a);
-			}
+		List<Term> l = new ArrayList<>(this.terms.size());
+		for (Term t : this.terms) {
+			l.add(t.clone());
 		}
 		return l;
 	}
 
+	/**
+	 * Creates the term of annotation functor(args), only parsing args that aren't plain atoms or numbers.
+	 * @return the annotation term, or null if an argument couldn't be parsed
+	 */
+	private static Term createTerm(String functor, String... args) {
+		Term[] argTerms = new Term[args.length];
+		for (int i = 0; i < args.length; ++i) {
+			if (args[i].equals("true") || args[i].equals("false")) {
+				argTerms[i] = args[i].equals("true") ? Literal.LTrue : Literal.LFalse;
+			} else if (ATOM_PATTERN.matcher(args[i]).matches()) {
+				argTerms[i] = ASSyntax.createAtom(args[i]);
+			} else if (NUMBER_PATTERN.matcher(args[i]).matches()) {
+				argTerms[i] = ASSyntax.createNumber(Long.parseLong(args[i]));
+			} else {
+				try {
+					argTerms[i] = ASSyntax.parseTerm(args[i]);
+				} catch (ParseException e) {
+					logger.warning("Couldn't create ASL term from annotation argument: " + args[i]);
+					return null;
+				}
+			}
+		}
+		return ASSyntax.createLiteral(functor, argTerms);
+	}
+
 	public PerceptAnnotation addAnnotation(String functor, String... args) {
 		String annot = functor;
 		if (args.length > 0 ) {
@@ -98,6 +132,10 @@ public class PerceptAnnotation {
 		}
 
 		this.annots.add(annot);
+		Term term = createTerm(functor, args);
+		if (term != null) {
+			this.terms.add(term);
+		}
 		return this;
 	}
 
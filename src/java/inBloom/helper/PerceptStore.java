@@ -0,0 +1,229 @@
+package inBloom.helper;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jason.asSemantics.Unifier;
+import jason.asSyntax.Literal;
+import jason.asSyntax.PredicateIndicator;
+
+/**
+ * Stores the percepts of one agent indexed by functor/arity, so that percepts can be removed by unification without
+ * scanning all of the agent's percepts. Changes are collected in a {@link Delta} of added and removed percepts, which
+ * agents can consume instead of comparing their complete percept list against their belief base each cycle.
+ */
+public class PerceptStore {
+
+	/**
+	 * The percepts that were added to and removed from a store since the last delta was taken. Only contains changes
+	 * of the percepts' structures, i.e. percepts that merely changed their annotations are left out, the same way
+	 * {@link jason.asSemantics.Agent#buf(Collection)} ignores them. Iterating the collection yields the added percepts.
+	 */
+	public static class Delta extends AbstractCollection<Literal> {
+		private List<Literal> added;
+		private List<Literal> removed;
+
+		Delta(List<Literal> added, List<Literal> removed) {
+			this.added = added;
+			this.removed = removed;
+		}
+
+		public List<Literal> getAdded() {
+			return this.added;
+		}
+
+		public List<Literal> getRemoved() {
+			return this.removed;
+		}
+
+		@Override
+		public Iterator<Literal> iterator() {
+			return this.added.iterator();
+		}
+
+		@Override
+		public int size() {
+			return this.added.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return this.added.isEmpty() && this.removed.isEmpty();
+		}
+	}
+
+	private Map<PredicateIndicator, Set<Literal>> index = new LinkedHashMap<>();
+	private int size = 0;
+
+	private Set<Literal> added = new LinkedHashSet<>();		// added since last delta, and not removed again
+	private Set<Literal> removed = new LinkedHashSet<>();	// removed since last delta, and not added again
+	private boolean changed = true;							// percepts changed since they were last taken
+
+	/**
+	 * Adds a percept, if it isn't already present.
+	 * @param percept
+	 * @return true if the percept was added
+	 */
+	public synchronized boolean add(Literal percept) {
+		Set<Literal> bucket = this.index.computeIfAbsent(percept.getPredicateIndicator(), k -> new LinkedHashSet<>());
+		if (!bucket.add(percept)) {
+			return false;
+		}
+
+		this.size++;
+		if (!this.removed.remove(percept)) {
+			this.added.add(percept);
+		}
+		this.changed = true;
+		return true;
+	}
+
+	/**
+	 * Removes a percept.
+	 * @param percept
+	 * @return true if the percept was present
+	 */
+	public synchronized boolean remove(Literal percept) {
+		Set<Literal> bucket = this.index.get(percept.getPredicateIndicator());
+		if (bucket == null || !bucket.remove(percept)) {
+			return false;
+		}
+
+		this.noteRemoval(percept);
+		if (bucket.isEmpty()) {
+			this.index.remove(percept.getPredicateIndicator());
+		}
+		return true;
+	}
+
+	/**
+	 * Removes all percepts that unify with pattern. Only percepts with the same functor and arity are tested.
+	 * @param pattern
+	 * @return the number of removed percepts
+	 */
+	public synchronized int removeByUnif(Literal pattern) {
+		Collection<PredicateIndicator> keys;
+		if (pattern.isVar()) {
+			keys = new ArrayList<>(this.index.keySet());
+		} else {
+			keys = Collections.singletonList(pattern.getPredicateIndicator());
+		}
+
+		int count = 0;
+		for (PredicateIndicator key : keys) {
+			Set<Literal> bucket = this.index.get(key);
+			if (bucket == null) {
+				continue;
+			}
+
+			Iterator<Literal> it = bucket.iterator();
+			while (it.hasNext()) {
+				Literal percept = it.next();
+				if (new Unifier().unifies(percept, pattern)) {
+					it.remove();
+					this.noteRemoval(percept);
+					count++;
+				}
+			}
+			if (bucket.isEmpty()) {
+				this.index.remove(key);
+			}
+		}
+		return count;
+	}
+
+	private void noteRemoval(Literal percept) {
+		this.size--;
+		if (!this.added.remove(percept)) {
+			this.removed.add(percept);
+		}
+		this.changed = true;
+	}
+
+	public synchronized boolean contains(Literal percept) {
+		Set<Literal> bucket = this.index.get(percept.getPredicateIndicator());
+		return bucket != null && bucket.contains(percept);
+	}
+
+	public synchronized void clear() {
+		for (Set<Literal> bucket : this.index.values()) {
+			for (Literal percept : bucket) {
+				if (!this.added.remove(percept)) {
+					this.removed.add(percept);
+				}
+			}
+		}
+		this.index.clear();
+		this.size = 0;
+		this.changed = true;
+	}
+
+	/**
+	 * @return a copy of all percepts in this store
+	 */
+	public synchronized List<Literal> getAll() {
+		List<Literal> all = new ArrayList<>(this.size);
+		for (Set<Literal> bucket : this.index.values()) {
+			all.addAll(bucket);
+		}
+		return all;
+	}
+
+	/**
+	 * Returns all percepts, if they changed since they were last taken, and resets the delta.
+	 * @return a copy of all percepts, or null if they didn't change
+	 */
+	public synchronized List<Literal> takeAll() {
+		if (!this.changed) {
+			return null;
+		}
+		this.added.clear();
+		this.removed.clear();
+		this.changed = false;
+		return this.getAll();
+	}
+
+	/**
+	 * Returns the structural changes since the last delta was taken, and resets the delta.
+	 * @return the delta, or null if nothing changed
+	 */
+	public synchronized Delta takeDelta() {
+		if (!this.changed) {
+			return null;
+		}
+
+		List<Literal> addedStructs = new ArrayList<>(this.added.size());
+		for (Literal percept : this.added) {
+			// percept is new, unless its structure was present before this delta with other annotations
+			boolean presentBefore = this.removed.stream().anyMatch(percept::equalsAsStructure)
+					|| this.index.get(percept.getPredicateIndicator()).stream().anyMatch(
+							other -> !this.added.contains(other) && percept.equalsAsStructure(other));
+			if (!presentBefore && addedStructs.stream().noneMatch(percept::equalsAsStructure)) {
+				addedStructs.add(percept);
+			}
+		}
+
+		List<Literal> removedStructs = new ArrayList<>(this.removed.size());
+		for (Literal percept : this.removed) {
+			// percept is gone, unless its structure is still present with other annotations
+			Set<Literal> bucket = this.index.get(percept.getPredicateIndicator());
+			boolean presentNow = bucket != null && bucket.stream().anyMatch(percept::equalsAsStructure);
+			if (!presentNow && removedStructs.stream().noneMatch(percept::equalsAsStructure)) {
+				removedStructs.add(percept);
+			}
+		}
+
+		this.added.clear();
+		this.removed.clear();
+		this.changed = false;
+		return new Delta(addedStructs, removedStructs);
+	}
+}
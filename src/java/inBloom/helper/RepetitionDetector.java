@@ -0,0 +1,106 @@
+package inBloom.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incrementally detects the trailing repetition of a growing sequence of events, e.g. the actions of an agent. After
+ * each appended event it knows the sequence that is repeated most often at the end of all events so far, e.g:<br>
+ * <code>[a, b, c, a, a, z, b, c, b, c, b, c] -> "b c" : 3</code><br>
+ * In contrast to {@link PlotpatternAnalyzer#countTrailingPatterns(List)} no string representation of the whole
+ * sequence is created and no regex is compiled. Events are interned to integer ids, and for each possible pattern
+ * length the number of trailing events that repeat the event one pattern length before them is updated by a single
+ * comparison.
+ */
+public class RepetitionDetector {
+
+	private Map<String, Integer> eventIds = new HashMap<>();
+	private List<String> idEvents = new ArrayList<>();
+
+	private int[] events = new int[16];
+	/** runs[p]: number of trailing events that equal the event p positions before them */
+	private int[] runs = new int[16];
+	private int length = 0;
+
+	private int patternLength = 0;
+	private int repetitions = 0;
+
+	/**
+	 * Appends an event to the sequence and updates the trailing repetition.
+	 * @param event
+	 */
+	public void append(String event) {
+		Integer id = this.eventIds.get(event);
+		if (id == null) {
+			id = this.idEvents.size();
+			this.eventIds.put(event, id);
+			this.idEvents.add(event);
+		}
+
+		if (this.length == this.events.length) {
+			this.events = Arrays.copyOf(this.events, 2 * this.length);
+			this.runs = Arrays.copyOf(this.runs, 2 * this.length);
+		}
+		this.events[this.length] = id;
+		this.length++;
+
+		this.patternLength = 0;
+		this.repetitions = 0;
+		for (int p = 1; p < this.length; ++p) {
+			if (this.events[this.length - 1] == this.events[this.length - 1 - p]) {
+				this.runs[p]++;
+			} else {
+				this.runs[p] = 0;
+			}
+
+			// the last runs[p] + p events consist of repetitions of the last p events
+			int reps = (this.runs[p] + p) / p;
+			if (reps > this.repetitions && reps > 1) {
+				this.repetitions = reps;
+				this.patternLength = p;
+			}
+		}
+	}
+
+	/**
+	 * @return how often the most repeated trailing pattern is repeated, 0 if the sequence doesn't end with a repetition
+	 */
+	public int getRepetitions() {
+		return this.repetitions;
+	}
+
+	/**
+	 * @return the number of events in the most repeated trailing pattern, 0 if the sequence doesn't end with a repetition
+	 */
+	public int getPatternLength() {
+		return this.patternLength;
+	}
+
+	/**
+	 * @return the events of the most repeated trailing pattern, empty if the sequence doesn't end with a repetition
+	 */
+	public List<String> getPattern() {
+		List<String> pattern = new ArrayList<>(this.patternLength);
+		for (int i = this.length - this.patternLength; i < this.length; ++i) {
+			pattern.add(this.idEvents.get(this.events[i]));
+		}
+		return pattern;
+	}
+
+	public int size() {
+		return this.length;
+	}
+
+	/**
+	 * Removes all events, but keeps interned event ids.
+	 */
+	public void clear() {
+		Arrays.fill(this.runs, 0);
+		this.length = 0;
+		this.patternLength = 0;
+		this.repetitions = 0;
+	}
+}
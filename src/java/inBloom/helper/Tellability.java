@@ -23,9 +23,9 @@ import jason.asSemantics.Mood;
 import jason.util.Pair;
 
 import inBloom.framing.ConnectivityGraph;
+import inBloom.graph.CompactPlotGraph;
 import inBloom.graph.CountingVisitor;
 import inBloom.graph.PlotDirectedSparseGraph;
-import inBloom.graph.PlotGraphController;
 import inBloom.graph.Vertex;
 import inBloom.graph.Vertex.Type;
 import inBloom.graph.isomorphism.FunctionalUnit;
@@ -42,7 +42,9 @@ public class Tellability {
 	public static int GRAPH_MATCHING_TOLERANCE = 1;
 	public static final int SIMILARITY_FU_THRESHOLD = 5;
 
-	protected static Logger logger = Logger.getLogger(Tellability.class.getName());
+	protected static Logger parentLogger = Logger.getLogger(Tellability.class.getName());
+	// each instance logs through its own logger, so that detailed logs of concurrent computations stay separate
+	protected Logger logger = Logger.getAnonymousLogger();
 
 	// plot preconditions
 	public CountingVisitor counter;
@@ -78,13 +80,23 @@ public class Tellability {
 	public double value;
 	public String detailedLog;
 
+	/**
+	 * Creates an empty instance without analyzing a graph. Used to hold results that were computed in a
+	 * different process, see {@link inBloom.nia.SimulationWorker}.
+	 */
+	public Tellability() {
+		this.plotUnitTypes = new LinkedList<>();
+		this.detailedLog = "";
+	}
+
 	/**
 	 * Takes an analyzed graph and computes all necessary statistics of the plot to compute tellability.
 	 * @param graph whose tellability needs to be determined and that has been been processed by
 	 * {@link VertexMergingPPVisitor} and  {@link EdgeGenerationPPVisitor}.
 	 */
 	public Tellability(PlotDirectedSparseGraph graph, MoodMapper moodData) {
-		logger.setLevel(Level.FINE);
+		this.logger.setParent(parentLogger);
+		this.logger.setLevel(Level.FINE);
 
 		// Set up a logging handler that can provide logs of tellability-computation into a string
 		ByteArrayOutputStream loggerContent = new ByteArrayOutputStream();
@@ -116,6 +128,7 @@ public class Tellability {
 		logger.info("normalized absoluteSuspense: " + this.absoluteSuspense);
 
 		streamHandler.flush();
+		this.logger.removeHandler(streamHandler);
 		this.detailedLog = loggerContent.toString();
 	}
 
@@ -147,15 +160,15 @@ public class Tellability {
 		Set<Vertex> polyvalentVertexSet = new HashSet<>();
 
 		this.connectivityGraph = new ConnectivityGraph(graph);
+		CompactPlotGraph compactGraph = new CompactPlotGraph(graph);
 
 		for(FunctionalUnit unit : FunctionalUnits.ALL) {
 			logger.info("      Finding units of type: '" + unit.getName() + "'...");
-			Set<Map<Vertex, Vertex>> mappings = finder.findUnits(unit.getGraph(), graph, GRAPH_MATCHING_TOLERANCE);
+			Set<Map<Vertex, Vertex>> mappings = finder.findUnits(unit.getGraph(), compactGraph, GRAPH_MATCHING_TOLERANCE);
 			unitInstances += mappings.size();
 			this.functionalUnitCount.put(unit, mappings.size());
 
 			if (mappings.size() > 0 ) {
-				PlotGraphController.getPlotListener().addDetectedPlotUnitType(unit);
 				this.plotUnitTypes.add(unit);
 			}
 
@@ -205,7 +218,7 @@ public class Tellability {
 
 		// identify primitive Units for connectivity graph
 		for(FunctionalUnit primitiveUnit : FunctionalUnits.PRIMITIVES) {
-			Set<Map<Vertex, Vertex>> mappings = finder.findUnits(primitiveUnit.getGraph(), graph);
+			Set<Map<Vertex, Vertex>> mappings = finder.findUnits(primitiveUnit.getGraph(), compactGraph, 0);
 			for(Map<Vertex, Vertex> map : mappings) {
 				FunctionalUnit.Instance instance = primitiveUnit.new Instance(graph, map.values(), primitiveUnit.getName());
 				this.connectivityGraph.addVertex(instance);
@@ -241,7 +254,7 @@ public class Tellability {
 				for(Vertex v : graph.getCharSubgraph(root)) {
 					// ignore vertices created from reading the ASL, only include plot from actual simulation
 					if(v.getStep() > 0) {
-						agentEventSeqMap.get(root.toString()).add(TermParser.removeAnnots(v.getLabel()));
+						agentEventSeqMap.get(root.toString()).add(v.getWithoutAnnotation());
 					}
 				}
 			}
@@ -564,8 +577,8 @@ public class Tellability {
 				}
 				// get the intentions of character
 				if (v.getType() == Type.PERCEPT) {
-					beliefSequences.add(TermParser.removeAnnots(v.getLabel()));
-					mentalSequences.add(TermParser.removeAnnots(v.getLabel()));
+					beliefSequences.add(v.getWithoutAnnotation());
+					mentalSequences.add(v.getWithoutAnnotation());
 				}
 				// get the actions of the character
 				if(v.getType() == Type.ACTION || v.getType() == Type.SPEECHACT) {
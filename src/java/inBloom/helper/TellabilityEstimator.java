@@ -0,0 +1,91 @@
+package inBloom.helper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jason.asSemantics.Mood;
+
+import inBloom.graph.Vertex;
+
+/**
+ * Cheap, incremental estimate of the tellability a running simulation can still reach. It is fed with plot events
+ * by {@link inBloom.graph.PlotGraphController#addEvent(String, String, Vertex.Type, int)} and with mood changes by
+ * {@link MoodMapper#addMood(String, Long, Mood)}, so it never needs to look at the whole plot graph.
+ * <p>
+ * The estimate is optimistic: it only rules out tellability that the plot so far gives no sign of. It relies on two
+ * observations about {@link Tellability}:
+ * <ul>
+ * <li>plots without productive conflict score 0, and each conflict starts with an intention</li>
+ * <li>opposition needs reversals of fortune, which need a mood change larger than
+ * {@link Tellability#FORTUNE_CHANGE_DELTA_MOOD_THRESHOLD}</li>
+ * </ul>
+ * Both are only judged after {@link #MIN_PROGRESS} of the planned simulation length, because early steps are
+ * usually spent setting up the story.
+ */
+public class TellabilityEstimator {
+	/** Share of the planned simulation length after which the estimate starts to exclude anything */
+	public static double MIN_PROGRESS = 0.3;
+
+	private int intentions = 0;
+	// agent name --> lowest and highest value of each mood dimension, in the order of Mood.DIMENSIONS
+	private Map<String, double[][]> moodRanges = new HashMap<>();
+
+	public synchronized void addEvent(String character, String event, Vertex.Type eventType, int step) {
+		if (eventType == Vertex.Type.INTENTION) {
+			this.intentions += 1;
+		}
+	}
+
+	public synchronized void addMood(String agName, Long time, Mood mood) {
+		double[][] range = this.moodRanges.get(agName);
+		if (range == null) {
+			range = new double[2][Mood.DIMENSIONS.size()];
+			for (int i = 0; i < Mood.DIMENSIONS.size(); i++) {
+				range[0][i] = Double.MAX_VALUE;
+				range[1][i] = -Double.MAX_VALUE;
+			}
+			this.moodRanges.put(agName, range);
+		}
+
+		int i = 0;
+		for (String dim : Mood.DIMENSIONS) {
+			range[0][i] = Math.min(range[0][i], mood.get(dim));
+			range[1][i] = Math.max(range[1][i], mood.get(dim));
+			i++;
+		}
+	}
+
+	/**
+	 * Estimates the highest tellability the simulation can still reach.
+	 * @param step current step of the simulation
+	 * @param plannedLength number of steps the simulation would run at most
+	 * @return estimate between 0 and 1
+	 */
+	public synchronized double upperBound(int step, int plannedLength) {
+		if (plannedLength <= 0 || step < MIN_PROGRESS * plannedLength) {
+			return 1;
+		}
+
+		if (this.intentions == 0) {
+			return 0;
+		}
+
+		if (!this.moodChanged()) {
+			// balanced opposition is 0 without opposition, so at most three of four components remain
+			return 0.75;
+		}
+
+		return 1;
+	}
+
+	private boolean moodChanged() {
+		for (double[][] range : this.moodRanges.values()) {
+			for (int i = 0; i < range[0].length; i++) {
+				if (range[1][i] - range[0][i] > Tellability.FORTUNE_CHANGE_DELTA_MOOD_THRESHOLD) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -5,6 +5,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -44,6 +45,8 @@ public class TermParser {
 	public static final String AFFECT_PATTERN = "affect\\((?<trait>.+?),(?<scope>.+?)\\)";
 	public static final String FUNCTOR_PATTERN = "\\((?<content>(?:(?!\\)\\,).)+)\\)"; // crazy regex to deal with cases like: cause(+is_dropped(bread)),emotion(hope),source(percept)
 																					   // appended to a functor, it extracts functor(...) from lists of literals like above
+	private static final Map<String, Pattern> ANNOT_FUNCTOR_PATTERNS = new ConcurrentHashMap<>();	// maps: annotation functor --> functor + FUNCTOR_PATTERN
+	private static final Pattern PERSO_REGEX = Pattern.compile(PERSO_PATTERN, Pattern.MULTILINE);
 
 	/**
 	 * Creates an emotion object from a textual representation of an emotion
@@ -77,8 +80,8 @@ public class TermParser {
 			// get content of annotation without square brackets
 			String annotContent = m1.group("annot");
 
-			// create regex to find terms of functor annot, without round brackets
-			Pattern functorPattern = Pattern.compile(annot + FUNCTOR_PATTERN);
+			// regex to find terms of functor annot, without round brackets, is only compiled once per functor
+			Pattern functorPattern = ANNOT_FUNCTOR_PATTERNS.computeIfAbsent(annot, a -> Pattern.compile(a + FUNCTOR_PATTERN));
 			Matcher m2 = functorPattern.matcher(annotContent);
 			if(m2.find()) {
 				return m2.group("content");
@@ -89,12 +92,22 @@ public class TermParser {
 	}
 
 	public static String removeAnnots(String s) {
-		String result = "";
+		return s.substring(0, TermParser.annotsStart(s));
+	}
+
+	/**
+	 * Returns the position of the opening square bracket of the annotations of a ASL term, ignoring any embedded
+	 * annotations, or the length of the term if it has no annotations.
+	 * @param s ASL term in string form
+	 * @return index of the first character of the annotations
+	 */
+	private static int annotsStart(String s) {
 		int openParens = 0;
 
-		for(char c : s.toCharArray()) {
+		for(int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
 			if( c == '[' & openParens == 0) {
-				break;
+				return i;
 			}
 
 			if(c == '(') {
@@ -102,9 +115,8 @@ public class TermParser {
 			} else if(c == ')' ) {
 				openParens -= 1;
 			}
-			result += c;
 		}
-		return result;
+		return s.length();
 	}
 
 	/**
@@ -146,8 +158,7 @@ public class TermParser {
 	 * @return the annotations in string form
 	 */
 	public static String getAnnotationsString(String s, boolean removeOuterBrackets) {
-		String termNoAnnots = TermParser.removeAnnots(s);
-		String annots =  s.substring(termNoAnnots.length());
+		String annots =  s.substring(TermParser.annotsStart(s));
 
 		if(removeOuterBrackets & annots.length() > 0) {
 			return annots.substring(1, annots.length() - 1);
@@ -188,8 +199,7 @@ public class TermParser {
 	 * @return
 	 */
 	public static List<Pair<String,String>> extractPersonalityAnnotation(String annot) {
-		Pattern pattern = Pattern.compile(PERSO_PATTERN, Pattern.MULTILINE);
-		Matcher matcher = pattern.matcher(annot);
+		Matcher matcher = PERSO_REGEX.matcher(annot);
 
 		List<Pair<String,String>> conditions = new LinkedList<>();
 		while (matcher.find()) {
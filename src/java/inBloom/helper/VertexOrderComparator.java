@@ -8,7 +8,7 @@ import inBloom.graph.Vertex;
 
 /**
  * Comparator for vertex order in a plot graph. Orders vertices by step, in case of equality by plot-edges, and in case
- * of further equality by label.
+ * of further equality by order of creation.
  *
  * @author Leonid Berov
  */
@@ -43,8 +43,8 @@ public class VertexOrderComparator implements Comparator<Vertex> {
 			return innerStepOrder;
 		}
 
-		// if this fails too, order by id
-		logger.fine("Comparing by id");
-		return v1.getId().compareTo(v2.getId());
+		// if this fails too, order by creation
+		logger.fine("Comparing by serial");
+		return Long.compare(v1.getSerial(), v2.getSerial());
 	}
 }
@@ -0,0 +1,63 @@
+package inBloom.jason;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jason.control.ExecutionControl;
+
+/**
+ * Synchronous execution control that lets agents perform their reasoning cycles one after another, in alphabetical
+ * order of their names, instead of all at once. Removes thread scheduling as source of nondeterminism between agents,
+ * and is used by {@linkplain inBloom.PlotLauncher} when {@linkplain inBloom.PlotEnvironment#RANDOM_SEED} is set.
+ */
+public class LockStepExecutionControl extends ExecutionControl {
+
+	private List<String> order = new ArrayList<>();
+	private int next = 0;
+
+	@Override
+	protected void allAgsFinished() {
+		this.startNewCycle();
+
+		synchronized (this) {
+			this.order = new ArrayList<>(this.infraControl.getRuntimeServices().getAgentsNames());
+			Collections.sort(this.order);
+			this.next = 0;
+		}
+		this.informNextAg(this.getCycleNumber());
+	}
+
+	@Override
+	public void receiveFinishedCycle(String agName, boolean breakpoint, int cycle) {
+		super.receiveFinishedCycle(agName, breakpoint, cycle);
+
+		if (cycle == this.getCycleNumber()) {
+			this.informNextAg(cycle);
+		}
+	}
+
+	/**
+	 * Lets the next agent in order perform its reasoning cycle, skipping agents that were removed in the meantime.
+	 */
+	private void informNextAg(int cycle) {
+		String agName = null;
+		synchronized (this) {
+			while (this.next < this.order.size() && agName == null) {
+				String candidate = this.order.get(this.next++);
+				if (this.infraControl.getRuntimeServices().getAgentsNames().contains(candidate)) {
+					agName = candidate;
+				}
+			}
+		}
+
+		if (agName != null) {
+			this.infraControl.informAgToPerformCycle(agName, cycle);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Lock-step execution control.";
+	}
+}
@@ -8,7 +8,9 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import jason.JasonException;
+import jason.architecture.AgArch;
 import jason.asSemantics.AffectiveAgent;
+import jason.asSemantics.Agent;
 import jason.asSemantics.Emotion;
 import jason.asSemantics.Event;
 import jason.asSemantics.IntendedMeans;
@@ -16,16 +18,21 @@ import jason.asSemantics.Intention;
 import jason.asSemantics.Mood;
 import jason.asSemantics.Option;
 import jason.asSemantics.Unifier;
+import jason.asSyntax.ASSyntax;
 import jason.asSyntax.Literal;
 import jason.asSyntax.Plan;
 import jason.asSyntax.PlanBody;
 import jason.asSyntax.Pred;
+import jason.asSyntax.Trigger;
 import jason.asSyntax.Trigger.TEOperator;
+import jason.asSyntax.Trigger.TEType;
+import jason.bb.BeliefBase;
 
+import inBloom.PlotEnvironment;
 import inBloom.PlotLauncher;
 import inBloom.graph.Edge;
-import inBloom.graph.PlotGraphController;
 import inBloom.graph.Vertex;
+import inBloom.helper.PerceptStore;
 import inBloom.helper.TermParser;
 
 /**
@@ -46,6 +53,61 @@ public class PlotAwareAg extends AffectiveAgent {
         this.getTS().getC().addEventListener(new PlotCircumstanceListener(this, this.name));
     }
 
+    /**
+     * Returns the environment of the simulation this agent takes part in, as resolved by its
+     * {@link PlotAwareCentralisedAgArch}. Falls back to the environment of the global runner if the agent runs on a
+     * different architecture.
+     * @return environment of this agent's simulation
+     */
+    public PlotEnvironment<?> getPlotEnvironment() {
+    	for (AgArch arch = this.getTS().getUserAgArch(); arch != null; arch = arch.getNextAgArch()) {
+    		if (arch instanceof PlotAwareCentralisedAgArch) {
+    			return ((PlotAwareCentralisedAgArch) arch).getPlotEnvironment();
+    		}
+    	}
+    	return PlotLauncher.getRunner().getUserEnvironment();
+    }
+
+    /**
+     * Updates the belief base with the agent's percepts. If the environment provides a {@link PerceptStore.Delta delta}
+     * of the percepts that changed since the last perception, only these are added and removed, otherwise the complete
+     * percepts are compared against the belief base as usual. Generates the same belief events as {@link Agent#buf}.
+     */
+    @Override
+    public int buf(Collection<Literal> percepts) {
+    	if (!(percepts instanceof PerceptStore.Delta)) {
+    		return super.buf(percepts);
+    	}
+    	PerceptStore.Delta delta = (PerceptStore.Delta) percepts;
+
+    	int changes = 0;
+    	for (Literal l : delta.getRemoved()) {
+    		Literal bel = ASSyntax.createLiteral(!l.negated(), l.getFunctor(), l.getTermsArray());
+    		bel.addAnnot(BeliefBase.TPercept);
+    		if (this.getBB().remove(bel)) {
+    			changes++;
+    			Trigger te = new Trigger(TEOperator.del, TEType.belief, bel);
+    			if (this.ts.getC().hasListener() || this.pl.hasCandidatePlan(te)) {
+    				this.ts.getC().addEvent(new Event(te, Intention.EmptyInt));
+    			}
+    		}
+    	}
+
+    	for (Literal l : delta.getAdded()) {
+    		try {
+    			Literal bel = l.copy().forceFullLiteralImpl();
+    			bel.addAnnot(BeliefBase.TPercept);
+    			if (this.getBB().add(bel)) {
+    				changes++;
+    				this.ts.updateEvents(new Event(new Trigger(TEOperator.add, TEType.belief, bel), Intention.EmptyInt));
+    			}
+    		} catch (Exception e) {
+    			logger.log(Level.SEVERE, "Error adding perception " + l, e);
+    		}
+    	}
+    	return changes;
+    }
+
     /**
      * This method is responsible for selecting one of the applicable plans
      * and inserting it into the intention stack.
@@ -162,20 +224,21 @@ public class PlotAwareAg extends AffectiveAgent {
 
         	// Actually plot the intention with the motivation
         	if(!isRecursive) {
-        		if (PlotLauncher.getRunner().getUserEnvironment().getStep() == 0) {
+        		PlotEnvironment<?> env = this.getPlotEnvironment();
+        		if (env.getStep() == 0) {
         			// Initialize step counting with first intention
-        			PlotLauncher.getRunner().getUserEnvironment().setStep(1);
+        			env.setStep(1);
 
         			// set correct step number for the reasoning cycle num of the first intention that triggered env step 1
         			Integer cycNum = this.getAffectiveTS().getUserAgArch().getCycleNumber();
-        			PlotLauncher.getRunner().getUserEnvironment().getModel().moodMapper.stepReasoningcycleNumMap.put(1, cycNum.longValue());
+        			env.getModel().moodMapper.stepReasoningcycleNumMap.put(1, cycNum.longValue());
         		}
 
-        		PlotGraphController.getPlotListener().addEvent(
+        		env.getPlotRecorder().addEvent(
         			this.name,
         			intentionString + motivationString,
         			Vertex.Type.INTENTION,
-        			PlotLauncher.runner.getUserEnvironment().getStep()
+        			env.getStep()
         		);
         	}
         }
@@ -277,8 +340,8 @@ public class PlotAwareAg extends AffectiveAgent {
         super.addEmotion(emotion, type);
 
         // add emotion to plot graph
-        int step = PlotLauncher.runner.getUserEnvironment().getStep();
-        PlotGraphController.getPlotListener().addEvent(this.name, emotion.toString(), Vertex.Type.EMOTION, step);
+        PlotEnvironment<?> env = this.getPlotEnvironment();
+        env.getPlotRecorder().addEvent(this.name, emotion.toString(), Vertex.Type.EMOTION, env.getStep());
         logger.info(this.name + " - appraised emotion: " + emotion.toString());
     }
 
@@ -291,10 +354,10 @@ public class PlotAwareAg extends AffectiveAgent {
 	@Override
 	public void updateMoodValue(Mood newMood) {
 		int reasoningCycleNum = this.getAffectiveTS().getUserAgArch().getCycleNumber();
-		PlotLauncher.runner.getUserModel().mapMood(this.name, newMood, reasoningCycleNum);
+		this.getPlotEnvironment().getModel().mapMood(this.name, newMood, reasoningCycleNum);
 	}
 
 	public void initializeMoodMapper() {
-		PlotLauncher.runner.getUserModel().mapMood(this.name, this.getPersonality().getDefaultMood(), 0);
+		this.getPlotEnvironment().getModel().mapMood(this.name, this.getPersonality().getDefaultMood(), 0);
 	}
 }
@@ -1,17 +1,24 @@
 package inBloom.jason;
 
+import java.util.Collection;
 import java.util.List;
 
+import jason.JasonException;
 import jason.ReceiverNotFoundException;
+import jason.asSemantics.Agent;
 import jason.asSemantics.Intention;
 import jason.asSemantics.Message;
+import jason.asSyntax.Literal;
+import jason.infra.centralised.BaseCentralisedMAS;
 import jason.infra.centralised.CentralisedAgArch;
 import jason.infra.centralised.MsgListener;
+import jason.mas2j.ClassParameters;
 import jason.runtime.MASConsoleGUI;
+import jason.runtime.Settings;
 
+import inBloom.PlotEnvironment;
 import inBloom.PlotLauncher;
 import inBloom.graph.Edge;
-import inBloom.graph.PlotGraphController;
 import inBloom.graph.Vertex;
 import inBloom.helper.TermParser;
 
@@ -22,11 +29,40 @@ import inBloom.helper.TermParser;
  */
 public class PlotAwareCentralisedAgArch extends CentralisedAgArch {
 
+    /** MAS this agent belongs to, used to look up message receivers without going through the global runner */
+    private BaseCentralisedMAS masRunner = null;
+
+    @Override
+    public void createArchs(List<String> agArchClasses, String asSrc, ClassParameters bbPars, String agClass,
+    						Settings stts, BaseCentralisedMAS masRunner) throws JasonException {
+    	this.masRunner = masRunner;
+    	super.createArchs(agArchClasses, asSrc, bbPars, agClass, stts, masRunner);
+    }
+
+    @Override
+    public void createArchs(List<String> agArchClasses, Agent ag, BaseCentralisedMAS masRunner) throws JasonException {
+    	this.masRunner = masRunner;
+    	super.createArchs(agArchClasses, ag, masRunner);
+    }
+
+    /**
+     * Returns the environment of the simulation this agent takes part in. Plot events are routed through it instead
+     * of the JVM-global runner, so that several simulations can run in the same JVM.
+     * @return environment this architecture is connected to
+     */
+    public PlotEnvironment<?> getPlotEnvironment() {
+        if (this.getEnvInfraTier() != null && this.getEnvInfraTier().getUserEnvironment() instanceof PlotEnvironment) {
+            return (PlotEnvironment<?>) this.getEnvInfraTier().getUserEnvironment();
+        }
+        return PlotLauncher.getRunner().getUserEnvironment();
+    }
+
     @Override
     public void sendMsg(Message m) throws ReceiverNotFoundException {
         // insert message send into plot graph before message is actually send,
     	// necessary because super.sendMsd calls receiveMsg and sometimes results in race conditions in plot graph
-        int step = PlotLauncher.runner.getUserEnvironment().getStep();
+        PlotEnvironment<?> env = this.getPlotEnvironment();
+        int step = env.getStep();
 
     	// Receive motivation for the speech act.
     	Intention sourceIntention = this.getTS().getC().getSelectedIntention();
@@ -35,13 +71,14 @@ public class PlotAwareCentralisedAgArch extends CentralisedAgArch {
     		 motivation = String.format("[" + Edge.Type.ACTUALIZATION.toString() + "(%1s)]", TermParser.removeAnnots(sourceIntention.peek().getTrigger().getTerm(1).toString()));
     	}
 
-    	Vertex senderV = PlotGraphController.getPlotListener().addMsgSend(m, motivation, step);
+    	Vertex senderV = env.getPlotRecorder().addMsgSend(m, motivation, step);
 
     	// actually send the message
         if (m.getSender() == null) {
 			m.setSender(this.getAgName());
 		}
-        PlotAwareCentralisedAgArch rec = (PlotAwareCentralisedAgArch) PlotLauncher.getRunner().getAg(m.getReceiver());
+        BaseCentralisedMAS mas = this.masRunner != null ? this.masRunner : PlotLauncher.getRunner();
+        PlotAwareCentralisedAgArch rec = (PlotAwareCentralisedAgArch) mas.getAg(m.getReceiver());
 
         if (rec == null) {
             if (this.isRunning()) {
@@ -62,25 +99,59 @@ public class PlotAwareCentralisedAgArch extends CentralisedAgArch {
     }
 
     public void receiveMsg(Message m, Vertex senderV) {
-        int step = PlotLauncher.runner.getUserEnvironment().getStep();
-    	PlotGraphController.getPlotListener().addMsgReceive(m, senderV, step);
+        PlotEnvironment<?> env = this.getPlotEnvironment();
+    	env.getPlotRecorder().addMsgReceive(m, senderV, env.getStep());
 
     	//actually receive the message
         super.receiveMsg(m);
     }
 
+    /**
+     * Lets {@link PlotAwareAg plot aware agents} perceive only the percepts that changed since their last perception,
+     * other agents receive the complete list of their percepts.
+     */
+    @Override
+    public Collection<Literal> perceive() {
+        if (this.getTS().getAg() instanceof PlotAwareAg && this.getEnvInfraTier() != null
+        		&& this.getEnvInfraTier().getUserEnvironment() instanceof PlotEnvironment) {
+        	return this.getPlotEnvironment().getPerceptDelta(this.getAgName());
+        }
+        return super.perceive();
+    }
+
     @Override
     protected void reasoningCycle() {
+        // MASConsoleGUI#setPause notifies on the console, so we can wait on it instead of polling
+        MASConsoleGUI console = MASConsoleGUI.get();
         try {
-        	if(MASConsoleGUI.get().isPause()) {
-    		this.logger.info("Agent execution paused.");
-    		 while (MASConsoleGUI.get().isPause()) {
-	                Thread.sleep(100);
-	            }
-	            this.logger.info("Agent execution continued");
+        	synchronized (console) {
+	        	if(console.isPause()) {
+	        		this.logger.info("Agent execution paused.");
+	        		while (console.isPause()) {
+	        			console.wait();
+	        		}
+	        		this.logger.info("Agent execution continued");
+	        	}
         	}
-        } catch (Exception e) { }
+        } catch (InterruptedException e) {
+        	Thread.currentThread().interrupt();
+        }
+
+        if (!PlotEnvironment.ADAPTIVE_STEPPING) {
+        	super.reasoningCycle();
+        	return;
+        }
+
+        PlotEnvironment<?> env = this.getPlotEnvironment();
+        int step = env.getStep();
 
         super.reasoningCycle();
+
+        // let environment end the step early, if this agent has nothing left to do
+        if (this.getTS().canSleep()) {
+        	env.reportIdle(this.getAgName(), step);
+        } else {
+        	env.reportActive(this.getAgName());
+        }
     }
 }
@@ -9,9 +9,8 @@ import jason.asSemantics.Event;
 import jason.asSemantics.Intention;
 import jason.asSyntax.Trigger.TEType;
 
-import inBloom.PlotLauncher;
+import inBloom.PlotEnvironment;
 import inBloom.graph.Edge;
-import inBloom.graph.PlotGraphController;
 import inBloom.graph.Vertex;
 import inBloom.graph.Vertex.Type;
 import inBloom.helper.TermParser;
@@ -52,7 +51,8 @@ public class PlotCircumstanceListener implements CircumstanceListener {
 				percept += "," + Edge.Type.CAUSALITY + "(" + cause + ")]";	// append: ",cause(X)]" at end
 			}
 
-			PlotGraphController.getPlotListener().addEvent(this.name, percept, Vertex.Type.PERCEPT, PlotLauncher.getRunner().getUserEnvironment().getStep());
+			PlotEnvironment<?> env = this.agent.getPlotEnvironment();
+			env.getPlotRecorder().addEvent(this.name, percept, Vertex.Type.PERCEPT, env.getStep());
 		}
 	}
 
@@ -67,7 +67,8 @@ public class PlotCircumstanceListener implements CircumstanceListener {
 		if(!i.isFinished()) {
 			String drop = "" + i.peek().getTrigger();
 			String cause = "" + this.agent.getTS().getC().getSelectedOption().getPlan().getTrigger();
-			PlotGraphController.getPlotListener().addEvent(this.name, "drop_intention(" + TermParser.removeAnnots(drop) + ")[" + Edge.Type.TERMINATION.toString() +"(" + TermParser.removeAnnots(cause) + ")]", Type.INTENTION, PlotLauncher.getRunner().getUserEnvironment().getStep());
+			PlotEnvironment<?> env = this.agent.getPlotEnvironment();
+			env.getPlotRecorder().addEvent(this.name, "drop_intention(" + TermParser.removeAnnots(drop) + ")[" + Edge.Type.TERMINATION.toString() +"(" + TermParser.removeAnnots(cause) + ")]", Type.INTENTION, env.getStep());
 		}
 	}
 
@@ -0,0 +1,67 @@
+package inBloom.nia;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+
+import jason.JasonException;
+
+import inBloom.PlotEnvironment;
+import inBloom.PlotModel;
+
+/**
+ * Fitness that looks up candidates in a {@linkplain FitnessCache} before evaluating them, and only hands candidates
+ * that weren't seen before to the wrapped fitness.
+ */
+public class CachedFitness<EnvType extends PlotEnvironment<ModType>, ModType extends PlotModel<EnvType>> extends Fitness<EnvType, ModType> {
+
+	private Fitness<EnvType, ModType> delegate;
+	private FitnessCache cache;
+
+	/**
+	 * @param environment
+	 * @param verbose
+	 * @param level
+	 * @param delegate fitness that evaluates candidates which are not cached yet
+	 * @param cache cache shared between all fitness instances of a NIA
+	 */
+	public CachedFitness(NIEnvironment<?, ?> environment, boolean verbose, Level level, Fitness<EnvType, ModType> delegate, FitnessCache cache) {
+		super(environment, verbose, level);
+		this.delegate = delegate;
+		this.cache = cache;
+	}
+
+	@Override
+	public void setThreshold(DoubleSupplier threshold) {
+		super.setThreshold(threshold);
+		this.delegate.setThreshold(threshold);
+	}
+
+	@Override
+	public CompletableFuture<Double> submitSolution(CandidateSolution individual) throws JasonException {
+		String key = FitnessCache.keyOf(individual);
+
+		FitnessCache.Entry entry = this.cache.get(key);
+		if (entry != null) {
+			individual.set_actualLength(entry.actualLength);
+			this.tellability = entry.tellability;
+
+			if(this.verbose) {
+				System.out.println("Reusing cached result after " + entry.actualLength + " steps with Tellability Score: " + entry.value);
+			}
+			return CompletableFuture.completedFuture(entry.value);
+		}
+
+		return this.delegate.submitSolution(individual).thenApply(result -> {
+			this.tellability = this.delegate.tellability;
+			this.terminatedEarly = this.delegate.terminatedEarly;
+
+			// failed analyses and early terminated simulations are not remembered, so they get another chance
+			if (this.tellability != null && !this.terminatedEarly) {
+				this.cache.put(key, result, individual.get_actualLength(), this.tellability);
+			}
+
+			return result;
+		});
+	}
+}
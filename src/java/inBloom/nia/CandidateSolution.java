@@ -1,9 +1,14 @@
 package inBloom.nia;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
 import inBloom.helper.Tellability;
 
 public abstract class CandidateSolution {
-	protected String id = String.valueOf(this.hashCode());
+	/** Identifies the candidate in logs and result stores, unique across runs so that resumed runs can't reuse ids */
+	protected String id = UUID.randomUUID().toString();
 
 	protected ChromosomePersonality personality;
 	protected ChromosomeHappenings happenings;
@@ -114,6 +119,23 @@ public abstract class CandidateSolution {
 		return this.happenings.values[x][y];
 	}
 
+	/**
+	 * Gives this candidate a new id. Used by candidates that move to a new solution in place, like particles, so that
+	 * each evaluated solution is recorded under its own id.
+	 */
+	protected void renew_id() {
+		this.id = UUID.randomUUID().toString();
+	}
+
+	/**
+	 * Returns the concrete solutions this candidate consists of, which are e.g. recorded in a {@linkplain ResultStore}.
+	 * Candidates that represent several solutions at once, like a quantum, return all of them.
+	 * @return this candidate by default
+	 */
+	public List<CandidateSolution> get_solutions() {
+		return Collections.singletonList(this);
+	}
+
 	public void cleanTellabilityLog() {
 		if (this.tellability != null) {
 			this.tellability.detailedLog = "";
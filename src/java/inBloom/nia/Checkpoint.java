@@ -0,0 +1,195 @@
+package inBloom.nia;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Encodes the building blocks of a NIA's state for binary checkpoints, see
+ * {@linkplain NIAlgorithm#setCheckpointInterval(int)}. All matrices and chromosomes may be null.
+ */
+public class Checkpoint {
+
+	public static void writeMatrix(DataOutput out, double[][] matrix) throws IOException {
+		out.writeBoolean(matrix != null);
+		if (matrix != null) {
+			out.writeInt(matrix.length);
+			for (double[] row : matrix) {
+				writeArray(out, row);
+			}
+		}
+	}
+
+	public static double[][] readMatrix(DataInput in) throws IOException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+		double[][] matrix = new double[in.readInt()][];
+		for (int i = 0; i < matrix.length; i++) {
+			matrix[i] = readArray(in);
+		}
+		return matrix;
+	}
+
+	public static void writeIntMatrix(DataOutput out, int[][] matrix) throws IOException {
+		out.writeBoolean(matrix != null);
+		if (matrix != null) {
+			out.writeInt(matrix.length);
+			for (int[] row : matrix) {
+				out.writeInt(row.length);
+				for (int value : row) {
+					out.writeInt(value);
+				}
+			}
+		}
+	}
+
+	public static int[][] readIntMatrix(DataInput in) throws IOException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+		int[][] matrix = new int[in.readInt()][];
+		for (int i = 0; i < matrix.length; i++) {
+			matrix[i] = new int[in.readInt()];
+			for (int j = 0; j < matrix[i].length; j++) {
+				matrix[i][j] = in.readInt();
+			}
+		}
+		return matrix;
+	}
+
+	public static void writeArray(DataOutput out, double[] array) throws IOException {
+		out.writeBoolean(array != null);
+		if (array != null) {
+			out.writeInt(array.length);
+			for (double value : array) {
+				out.writeDouble(value);
+			}
+		}
+	}
+
+	public static double[] readArray(DataInput in) throws IOException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+		double[] array = new double[in.readInt()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = in.readDouble();
+		}
+		return array;
+	}
+
+	public static void writeList(DataOutput out, List<Double> list) throws IOException {
+		out.writeInt(list.size());
+		for (Double value : list) {
+			out.writeDouble(value);
+		}
+	}
+
+	public static List<Double> readList(DataInput in) throws IOException {
+		int size = in.readInt();
+		List<Double> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(in.readDouble());
+		}
+		return list;
+	}
+
+	public static void writePersonality(DataOutput out, ChromosomePersonality personality) throws IOException {
+		writeMatrix(out, personality == null ? null : personality.values);
+	}
+
+	public static ChromosomePersonality readPersonality(DataInput in) throws IOException {
+		double[][] values = readMatrix(in);
+		if (values == null) {
+			return null;
+		}
+		ChromosomePersonality personality = new ChromosomePersonality(values.length);
+		personality.values = values;
+		return personality;
+	}
+
+	public static void writeHappenings(DataOutput out, ChromosomeHappenings happenings) throws IOException {
+		writeIntMatrix(out, happenings == null ? null : happenings.values);
+	}
+
+	public static ChromosomeHappenings readHappenings(DataInput in) throws IOException {
+		int[][] values = readIntMatrix(in);
+		if (values == null) {
+			return null;
+		}
+		ChromosomeHappenings happenings = new ChromosomeHappenings(values.length, 0);
+		happenings.values = values;
+		return happenings;
+	}
+
+	public static void writeInteger(DataOutput out, Integer value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeInt(value);
+		}
+	}
+
+	public static Integer readInteger(DataInput in) throws IOException {
+		return in.readBoolean() ? in.readInt() : null;
+	}
+
+	/**
+	 * Writes the fields all candidates have in common: chromosomes, lengths and tellability.
+	 */
+	public static void writeSolution(DataOutput out, CandidateSolution candidate) throws IOException {
+		out.writeUTF(candidate.id);
+		writePersonality(out, candidate.personality);
+		writeHappenings(out, candidate.happenings);
+		writeInteger(out, candidate.simulation_length == null ? null : candidate.simulation_length.value);
+		writeInteger(out, candidate.actual_length);
+		out.writeBoolean(candidate.tellabilityValue != null);
+		if (candidate.tellabilityValue != null) {
+			out.writeDouble(candidate.tellabilityValue);
+		}
+		SimulationWorker.writeTellability(out, candidate.tellability);
+	}
+
+	/**
+	 * Restores the fields written by {@linkplain #writeSolution(DataOutput, CandidateSolution)} into a candidate.
+	 */
+	public static void readSolution(DataInput in, CandidateSolution candidate) throws IOException {
+		candidate.id = in.readUTF();
+		candidate.personality = readPersonality(in);
+		candidate.happenings = readHappenings(in);
+		Integer simLength = readInteger(in);
+		candidate.simulation_length = simLength == null ? null : new ChromosomeLength(simLength);
+		candidate.actual_length = readInteger(in);
+		candidate.tellabilityValue = in.readBoolean() ? in.readDouble() : null;
+		candidate.tellability = SimulationWorker.readTellability(in);
+	}
+
+	/**
+	 * Writes the complete state of a random number generator, so that it continues with the same sequence.
+	 */
+	public static void writeRandom(DataOutput out, Random random) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+			objects.writeObject(random);
+		}
+		out.writeInt(bytes.size());
+		out.write(bytes.toByteArray());
+	}
+
+	public static Random readRandom(DataInput in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return (Random) objects.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException(e);
+		}
+	}
+}
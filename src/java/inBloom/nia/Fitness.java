@@ -1,21 +1,30 @@
 package inBloom.nia;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.DoubleSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import jason.JasonException;
 import jason.infra.centralised.BaseCentralisedMAS;
 import jason.runtime.MASConsoleGUI;
+import jason.util.Pair;
 
 import inBloom.LauncherAgent;
 import inBloom.PlotEnvironment;
 import inBloom.PlotLauncher;
 import inBloom.PlotModel;
+import inBloom.graph.AnalysisService;
 import inBloom.graph.GraphAnalyzer;
 import inBloom.graph.PlotDirectedSparseGraph;
 import inBloom.graph.PlotGraphController;
+import inBloom.graph.PlotRecorder;
+import inBloom.helper.MoodMapper;
 import inBloom.helper.Tellability;
+import inBloom.helper.TellabilityEstimator;
 import inBloom.nia.utils.FileInterpreter;
 import inBloom.storyworld.Happening;
 import inBloom.storyworld.ScheduledHappeningDirector;
@@ -25,7 +34,6 @@ public class Fitness<EnvType extends PlotEnvironment<ModType>, ModType extends P
 	public NIEnvironment<?, ?> EVO_ENV;
 	public Tellability tellability;
 
-	protected boolean isRunning = false;
 	protected boolean set = false;
 	protected boolean cleanup = true;
 
@@ -37,6 +45,20 @@ public class Fitness<EnvType extends PlotEnvironment<ModType>, ModType extends P
 	/** Timeout in ms before a single simulation is forcibly stopped. A value of -1 means no timeout.  */
 	public static long TIMEOUT = 10000;
 
+	/** Interval in ms in which running simulations are checked for early termination, see {@link #setThreshold(DoubleSupplier)}. */
+	public static long ESTIMATION_INTERVAL = 100;
+
+	/** Tellability a candidate needs to be able to reach to be simulated until the end, null to always simulate until the end */
+	protected DoubleSupplier threshold = null;
+	/** True if the last simulation was stopped because it could not reach the threshold */
+	public boolean terminatedEarly = false;
+	private volatile TellabilityEstimator estimator;
+	/** Analyzes finished plots on separate threads, null to analyze them on the calling thread */
+	private AnalysisService analysisService = null;
+
+	/** Guards the simulation phase of {@link #submitSolution(CandidateSolution)}, which uses static Jason and plot state. */
+	private static final Object SIMULATION_LOCK = new Object();
+
 	/**
 	 * Used to start a simulation for the execution of a NIA.
 	 *
@@ -76,12 +98,131 @@ public class Fitness<EnvType extends PlotEnvironment<ModType>, ModType extends P
 
 	}
 
-	@SuppressWarnings("deprecation")
+	/**
+	 * Enables early termination: while a simulation runs, a {@linkplain TellabilityEstimator} tracks the tellability
+	 * it can still reach, and the simulation is stopped as soon as this drops below the threshold. The tellability of
+	 * the plot up to that point is returned as result.
+	 * @param threshold supplies the current threshold, e.g. the tellability of the worst candidate of the population.
+	 *                  Is queried repeatedly, so that it can change while the simulation runs.
+	 */
+	public void setThreshold(DoubleSupplier threshold) {
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Hands the analysis of finished plots to a service, so that the next simulation can start while the last plot
+	 * is still analyzed. Analyzed graphs are not added to the plot graph controller in this case.
+	 * @param service service shared by all fitness instances of a run
+	 */
+	public void setAnalysisService(AnalysisService service) {
+		this.analysisService = service;
+	}
+
+	/**
+	 * Simulates a candidate and blocks until its plot is analyzed.
+	 * @return tellability of the plot, 0 if the analysis failed
+	 */
 	public double evaluateSolution(CandidateSolution individual) throws JasonException {
-		// Initialize Parameters
+		return this.submitSolution(individual).join();
+	}
+
+	/**
+	 * Simulates a candidate and hands its plot over to the analysis. If an {@linkplain AnalysisService} is set, this
+	 * returns as soon as the simulation finished, so that the calling thread can start the next simulation while the
+	 * plot is still analyzed.
+	 * @param individual candidate to evaluate
+	 * @return future tellability of the plot, completes with 0 if the analysis failed
+	 */
+	@SuppressWarnings("deprecation")
+	public CompletableFuture<Double> submitSolution(CandidateSolution individual) throws JasonException {
+		PlotDirectedSparseGraph plotGraph;
+		PlotGraphController graphController;
+		MoodMapper moodData;
+		Map<String, Pair<Integer, Integer>> repeatingSequences;
+
+		// Simulations rely on JVM-wide Jason state, so only one of them can run at a time
+		synchronized (SIMULATION_LOCK) {
+			this.simulate(individual);
+
+			PlotEnvironment<?> environment = this.getUserEnvironment();
+			PlotRecorder recorder = environment.getPlotRecorder();
+			graphController = recorder instanceof PlotGraphController ? (PlotGraphController) recorder : null;
+			plotGraph = recorder.getGraph();
+			moodData = this.getUserModel().moodMapper;
+			// copied, because the environment clears its map when it is reset
+			repeatingSequences = new HashMap<>(environment.getRepeatingSequenceMap());
+			individual.set_actualLength(environment.getStep());
+
+			// Cleanup to avoid Fragments
+			if(this.cleanup) {
+				PlotGraphController.resetPlotListener();
+				this.reset();
+				this.t.stop();
+			}
+		}
+
+		/*
+		 * Compute tellability of the plot graph, only uses state captured above and can run concurrently
+		 */
+		if (this.analysisService != null) {
+			try {
+				return this.analysisService.submit(plotGraph, moodData, repeatingSequences)
+										   .handle((tellability, e) -> this.score(individual, tellability, e));
+			} catch(RuntimeException e) {
+				return CompletableFuture.completedFuture(this.score(individual, null, e));
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return CompletableFuture.completedFuture(this.score(individual, null, null));
+			}
+		}
+
+		Tellability tellability = null;
+		RuntimeException error = null;
+		try {
+			tellability = GraphAnalyzer.analyze(plotGraph, moodData, repeatingSequences, graphController).getFirst();
+		} catch(RuntimeException e) {
+			error = e;
+		}
+		return CompletableFuture.completedFuture(this.score(individual, tellability, error));
+	}
+
+	/**
+	 * Combines the analysis results of a candidate's plot into its tellability score.
+	 * @param tellability analysis results, null if the analysis failed
+	 * @param error cause of the failure, if any
+	 * @return tellability score, 0 if the analysis failed
+	 */
+	private double score(CandidateSolution individual, Tellability tellability, Throwable error) {
 		double result = 0;
-		this.isRunning = true;
+
+		if (error != null) {
+			error.printStackTrace();
+		} else if (tellability != null) {
+			try {
+				this.tellability = tellability;
+				result = tellability.compute();
+			} catch(RuntimeException e) {
+				e.printStackTrace();
+			}
+		}
+
+		if(this.verbose) {
+			System.out.println("Finished after " + individual.get_actualLength() + " steps with Tellability Score: " + result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Sets up the MAS for a candidate and blocks until its simulation has finished or timed out.
+	 * Needs to be called while holding {@link #SIMULATION_LOCK}.
+	 * @param individual candidate whose personality and happenings parametrize the simulation
+	 */
+	private void simulate(CandidateSolution individual) {
+		// Initialize Parameters
 		this.set = false;
+		this.terminatedEarly = false;
+		this.estimator = null;
 		Integer simulation_length = individual.get_simLength().value;
 
 		if(simulation_length < NIAlgorithm.MAX_SIM_LENGTH) {
@@ -91,6 +232,9 @@ public class Fitness<EnvType extends PlotEnvironment<ModType>, ModType extends P
 			PlotEnvironment.MAX_STEP_NUM = NIAlgorithm.MAX_SIM_LENGTH;
 		}
 
+		// NIA runs are batch runs, so steps shouldn't wait out their timeout when all agents are idle
+		PlotEnvironment.ADAPTIVE_STEPPING = true;
+
 		// Deactivate MAX_REPEAT if needed, by commenting back in:
 //		PlotEnvironment.MAX_REPEATE_NUM = -1;
 
@@ -137,56 +281,73 @@ public class Fitness<EnvType extends PlotEnvironment<ModType>, ModType extends P
         Logger.getLogger("").setLevel(this.level);
 
 		MASConsoleGUI.get().setPause(false);
-		long startTime = System.currentTimeMillis();
-		while(this.isRunning) {
-			try {
-				// Handle the timeout if it was set
-				if(TIMEOUT > -1 && System.currentTimeMillis() - startTime >= TIMEOUT && PlotEnvironment.getPlotTimeNow() >= TIMEOUT) {
-					this.pauseExecution();
-				}
-				Thread.sleep(150);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-				this.pauseExecution();
-			} catch (NullPointerException e) {
-				e.printStackTrace();
+		try {
+			if(!this.awaitSimulation()) {
 				this.pauseExecution();
 			}
-		}
-
-		/*
-		 * Get the plot graph and compute corresponding tellability
-		 */
-		GraphAnalyzer analyzer = new GraphAnalyzer(PlotGraphController.getPlotListener().getGraph(), null);
-		PlotDirectedSparseGraph analyzedGraph = new PlotDirectedSparseGraph();			// analysis results will be cloned into this graph
-
-		individual.set_actualLength(this.getUserEnvironment().getStep());
-
-		try {
-			this.tellability = analyzer.runSynchronously(analyzedGraph);
-			result = this.tellability.compute();
-		} catch(RuntimeException e) {
+		} catch (InterruptedException e) {
 			e.printStackTrace();
+			this.pauseExecution();
 		}
+	}
 
-		// Cleanup to avoid Fragments
-		if(this.cleanup) {
-			PlotGraphController.resetPlotListener();
-			this.reset();
-			this.t.stop();
+	/**
+	 * Blocks until the simulation has finished. If a threshold is set, the simulation is checked for early
+	 * termination every {@link #ESTIMATION_INTERVAL} ms.
+	 * @return true if the simulation finished, false if it timed out or was terminated early
+	 */
+	private boolean awaitSimulation() throws InterruptedException {
+		if(this.threshold == null) {
+			return this.awaitCompletion(TIMEOUT);
 		}
 
-		if(this.verbose) {
-			System.out.println("Finished after " + individual.get_actualLength() + " steps with Tellability Score: " + result);
+		long waited = 0;
+		while(!this.awaitCompletion(TIMEOUT < 0 ? ESTIMATION_INTERVAL : Math.min(ESTIMATION_INTERVAL, TIMEOUT - waited))) {
+			waited += ESTIMATION_INTERVAL;
+			if(TIMEOUT > -1 && waited >= TIMEOUT) {
+				return false;
+			}
+
+			TellabilityEstimator estimator = this.estimator;
+			if(estimator != null) {
+				int step = this.getUserEnvironment().getStep();
+				double bound = estimator.upperBound(step, PlotEnvironment.MAX_STEP_NUM);
+				if(bound < this.threshold.getAsDouble()) {
+					if(this.verbose) {
+						System.out.println("Terminating simulation at step " + step + ", tellability can't exceed " + bound);
+					}
+					this.terminatedEarly = true;
+					return false;
+				}
+			}
 		}
+		return true;
+	}
 
-		return result;
+	/**
+	 * Connects a new estimator to the plot listener and mood mapper of the simulation before it starts, if early
+	 * termination is enabled.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void initialize(String[] args, PlotModel model, List agents, String agentFileName) throws JasonException {
+		super.initialize(args, model, agents, agentFileName);
+
+		if(this.threshold != null) {
+			TellabilityEstimator estimator = new TellabilityEstimator();
+			this.getUserEnvironment().getPlotRecorder().setEstimator(estimator);
+			this.getUserModel().moodMapper.setEstimator(estimator);
+			this.estimator = estimator;
+		}
 	}
 
+	/**
+	 * A paused simulation is never continued during NIA evaluation, so pausing also ends the simulation.
+	 */
 	@Override
 	public void pauseExecution() {
-		this.isRunning = false;
 		super.pauseExecution();
+		this.signalCompletion();
 	}
 
 
@@ -222,8 +383,10 @@ public class Fitness<EnvType extends PlotEnvironment<ModType>, ModType extends P
 				this.runner.run();
 			} catch (JasonException e) {
 				e.printStackTrace();
+				this.runner.signalCompletion();
 			} catch (NullPointerException e) {
 				e.printStackTrace();
+				this.runner.signalCompletion();
 			}
 		}
 	}
@@ -0,0 +1,235 @@
+package inBloom.nia;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import inBloom.helper.Tellability;
+
+/**
+ * Remembers the results of candidate evaluations, so that genomes which are revisited by a NIA don't need to be
+ * simulated again. Candidates are identified by a canonical form of their genome, see
+ * {@linkplain #keyOf(CandidateSolution)}.
+ * <p>
+ * The most recently used results are kept in memory, the least recently used ones are evicted once
+ * {@linkplain #capacity} is exceeded. Optionally, all results are additionally appended to a file, which is loaded
+ * again when the cache is created. This allows several runs, e.g. in {@linkplain inBloom.nia.utils.MultipleRunsG},
+ * to share their results. A cache file should only be used with one {@linkplain NIEnvironment}.
+ */
+public class FitnessCache {
+	protected static Logger logger = Logger.getLogger(FitnessCache.class.getName());
+
+	private int capacity;
+	private LinkedHashMap<String, byte[]> memory;
+
+	private RandomAccessFile file;
+	// offsets of the stored results in file, by key
+	private Map<String, Long> fileIndex = new HashMap<>();
+
+	private int hits = 0;
+	private int misses = 0;
+
+	/**
+	 * Creates a cache that only keeps results in memory.
+	 * @param capacity maximal number of results kept in memory
+	 */
+	public FitnessCache(int capacity) {
+		this.capacity = Math.max(1, capacity);
+		this.memory = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+				return this.size() > FitnessCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Creates a cache that keeps recent results in memory and all results in a file. Results that are already
+	 * present in the file are available right away.
+	 * @param capacity maximal number of results kept in memory
+	 * @param cacheFile file the results are appended to, is created if it doesn't exist
+	 * @throws IOException if the file can't be opened
+	 */
+	public FitnessCache(int capacity, File cacheFile) throws IOException {
+		this(capacity);
+		this.file = new RandomAccessFile(cacheFile, "rw");
+		this.loadIndex();
+	}
+
+	/**
+	 * Computes the canonical form of a candidate's genome. Candidates with the same key lead to the same simulation:
+	 * personality values are quantised to the two decimals used by {@linkplain NIAlgorithm#round(double)}, and
+	 * happenings that can't take place, because they are not scheduled or scheduled after the end of the simulation,
+	 * are all represented as 0.
+	 * @param candidate the candidate to compute a key for
+	 * @return key of the candidate
+	 */
+	public static String keyOf(CandidateSolution candidate) {
+		int length = Math.min(candidate.get_simLength().value, NIAlgorithm.MAX_SIM_LENGTH);
+
+		StringBuilder key = new StringBuilder();
+		key.append(length);
+		for (double[] agent : candidate.get_personality().values) {
+			key.append('|');
+			for (double value : agent) {
+				key.append(Math.round(value * 100)).append(',');
+			}
+		}
+		for (int[] agent : candidate.get_happenings().values) {
+			key.append('|');
+			for (int step : agent) {
+				key.append(step > 0 && step <= length ? step : 0).append(',');
+			}
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Looks up the result of a candidate, first in memory and then in the cache file.
+	 * @param key key of the candidate, see {@linkplain #keyOf(CandidateSolution)}
+	 * @return a fresh copy of the stored result, or null if the candidate wasn't evaluated yet
+	 */
+	public synchronized Entry get(String key) {
+		byte[] data = this.memory.get(key);
+
+		try {
+			if (data == null && this.fileIndex.containsKey(key)) {
+				this.file.seek(this.fileIndex.get(key));
+				data = new byte[this.file.readInt()];
+				this.file.readFully(data);
+				this.memory.put(key, data);
+			}
+
+			if (data == null) {
+				this.misses++;
+				return null;
+			}
+
+			this.hits++;
+			return Entry.decode(data);
+		} catch (IOException e) {
+			e.printStackTrace();
+			this.misses++;
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the result of a candidate.
+	 * @param key key of the candidate, see {@linkplain #keyOf(CandidateSolution)}
+	 * @param value tellability value of the candidate
+	 * @param actualLength number of steps the simulation actually ran
+	 * @param tellability details of the tellability computation
+	 */
+	public synchronized void put(String key, double value, int actualLength, Tellability tellability) {
+		try {
+			byte[] data = new Entry(value, actualLength, tellability).encode();
+			this.memory.put(key, data);
+
+			if (this.file != null && !this.fileIndex.containsKey(key)) {
+				long start = this.file.length();
+				this.file.seek(start);
+				this.file.writeUTF(key);
+				long offset = this.file.getFilePointer();
+				this.file.writeInt(data.length);
+				this.file.write(data);
+				this.fileIndex.put(key, offset);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	public synchronized int getHits() {
+		return this.hits;
+	}
+
+	public synchronized int getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Closes the cache file, if one is used. Results remain available from memory.
+	 */
+	public synchronized void close() {
+		if (this.file != null) {
+			try {
+				this.file.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+			this.file = null;
+			this.fileIndex.clear();
+		}
+	}
+
+	/**
+	 * Reads the keys of all results in the cache file and remembers where their results are stored. A record that
+	 * was cut off, e.g. because a previous run was killed while writing, is dropped.
+	 */
+	private void loadIndex() throws IOException {
+		long validLength = 0;
+		this.file.seek(0);
+		try {
+			while (this.file.getFilePointer() < this.file.length()) {
+				String key = this.file.readUTF();
+				long offset = this.file.getFilePointer();
+				int size = this.file.readInt();
+				if (offset + 4 + size > this.file.length()) {
+					break;
+				}
+				this.file.seek(offset + 4 + size);
+				this.fileIndex.put(key, offset);
+				validLength = this.file.getFilePointer();
+			}
+		} catch (EOFException e) {
+			// incomplete record at the end of the file
+		}
+
+		if (validLength < this.file.length()) {
+			this.file.setLength(validLength);
+		}
+		logger.info("Loaded " + this.fileIndex.size() + " cached results");
+	}
+
+	/**
+	 * Result of a single evaluation.
+	 */
+	public static class Entry {
+		public double value;
+		public int actualLength;
+		public Tellability tellability;
+
+		public Entry(double value, int actualLength, Tellability tellability) {
+			this.value = value;
+			this.actualLength = actualLength;
+			this.tellability = tellability;
+		}
+
+		private byte[] encode() throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			SimulationWorker.writeResult(out, this.value, this.actualLength, this.tellability);
+			out.flush();
+			return bytes.toByteArray();
+		}
+
+		private static Entry decode(byte[] data) throws IOException {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+			double value = in.readDouble();
+			int actualLength = in.readInt();
+			return new Entry(value, actualLength, SimulationWorker.readTellability(in));
+		}
+	}
+}
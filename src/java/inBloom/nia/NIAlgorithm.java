@@ -1,17 +1,37 @@
 package inBloom.nia;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import inBloom.PlotEnvironment;
 import inBloom.PlotModel;
+import inBloom.graph.AnalysisService;
 import inBloom.nia.utils.FileInterpreter;
 
 public abstract class NIAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType extends PlotModel<EnvType>> {
@@ -33,6 +53,32 @@ public abstract class NIAlgorithm<EnvType extends PlotEnvironment<ModType>, ModT
 	protected Level level = Level.OFF;
 	protected Integer iterationNum;
 	protected Random random;
+	/** True if {@linkplain #setSeed(long)} was called, evaluation results are then applied in a fixed order */
+	protected boolean seeded = false;
+
+	// Number of candidate simulations that are run concurrently in worker processes, 1 means sequential evaluation
+	protected int parallelism = 1;
+	private ExecutorService evaluationPool;
+	// True -> evaluate candidates steady-state, without waiting for the whole generation
+	protected boolean asynchronous = false;
+	private BlockingQueue<CompletableFuture<Runnable>> completedEvaluations;
+	private Deque<CompletableFuture<Runnable>> submittedEvaluations = new ArrayDeque<>();
+	private int pendingEvaluations = 0;
+	// Evaluates candidates in separate processes if set, otherwise simulations run inside this JVM
+	protected SimulationWorkerPool workerPool;
+	// Remembers results of evaluated genomes, null if every candidate is simulated
+	protected FitnessCache fitnessCache;
+	// Predicts tellability in order to only simulate promising candidates, null if all candidates are simulated
+	protected Surrogate surrogate;
+	// Number of candidates generated per candidate that is simulated, if a surrogate is set
+	protected int screening_factor = 1;
+	// True -> stop simulations early once they can't reach the selection threshold anymore
+	protected boolean early_termination = false;
+	// Number of threads that analyze finished plots while the next ones are simulated, 0 to analyze on the simulating thread
+	protected int analysis_threads = 0;
+	private AnalysisService analysisService;
+	// Tellability a candidate needs to reach to be of interest, negative as long as every candidate is
+	protected volatile double selection_threshold = -1;
 
 	// Performance measurement
 	protected List<Double> population_best = new ArrayList<>();
@@ -42,6 +88,13 @@ public abstract class NIAlgorithm<EnvType extends PlotEnvironment<ModType>, ModT
 	// Print performance measurement over time
 	protected boolean verbose = true;
 
+	// Records evaluated candidates and generation summaries of the run
+	protected ResultStore store;
+	// True -> continue the run recorded in the result store instead of starting a new one
+	protected boolean resume = false;
+	// Number of generations between two checkpoints of the search state, 0 disables checkpoints
+	protected int checkpoint_interval = 1;
+
 	// Termination criteria
 	protected static int no_improvement = 0;
 	protected static int termination = 25;
@@ -74,10 +127,15 @@ public abstract class NIAlgorithm<EnvType extends PlotEnvironment<ModType>, ModT
 			// Save current time
 			start_time = System.currentTimeMillis();
 
-			// Generate and evaluate initial particles
-			this.initialize_population();
-			this.evaluate_population();
-			this.to_file(this.population[0], "");
+			this.open_store();
+
+			if (!this.resume_checkpoint()) {
+				// Generate and evaluate initial particles
+				this.initialize_population();
+				this.evaluate_population();
+				this.record_generation(this.population[0]);
+				this.checkpoint(this.population[0]);
+			}
 
 			// Repeat until termination (no improvements found or time criterion
 			// -if set- is met):
@@ -91,9 +149,14 @@ public abstract class NIAlgorithm<EnvType extends PlotEnvironment<ModType>, ModT
 				this.evaluate_population();
 				this.iterationNum += 1;
 
-				this.to_file(this.population[0], "");
+				this.record_generation(this.population[0]);
+				this.checkpoint(this.population[0]);
 			}
 
+			this.shutdown_evaluation();
+			this.to_file(this.population[0], "");
+			this.close_store();
+
 			// Print Statistics
 			if (this.verbose) {
 				this.final_stats();
@@ -133,6 +196,20 @@ public abstract class NIAlgorithm<EnvType extends PlotEnvironment<ModType>, ModT
 		}
 	}
 
+	/**
+	 * Continues the run recorded in the result store of {@linkplain #filename}, instead of overwriting it. If a
+	 * checkpoint of the run exists, the search continues from the complete state of the last checkpoint, and records
+	 * of generations after the checkpoint are removed from the result store. Otherwise
+	 * only the performance statistics of the recorded generations are restored, and a new population is initialized.
+	 * In both cases, new generations are appended to the result store.
+	 *
+	 * @param resume
+	 *            true to continue a recorded run
+	 */
+	public void setResume(boolean resume) {
+		this.resume = resume;
+	}
+
 	public void setVerbose(boolean bool) {
 		this.verbose = bool;
 	}
@@ -141,6 +218,499 @@ public abstract class NIAlgorithm<EnvType extends PlotEnvironment<ModType>, ModT
 		this.level = level;
 	}
 
+	/**
+	 * Makes runs reproducible by seeding the random number generator of the algorithm, as well as the one used in
+	 * simulations. This also switches simulations into deterministic lock-step mode, see
+	 * {@linkplain PlotEnvironment#RANDOM_SEED}.
+	 *
+	 * @param seed
+	 *            seed for all random number generators
+	 */
+	public void setSeed(long seed) {
+		this.random = new Random(seed);
+		this.seeded = true;
+		PlotEnvironment.RANDOM_SEED = seed;
+	}
+
+	/**
+	 * Sets the number of candidate simulations that are evaluated concurrently. Only has an effect together with
+	 * {@linkplain #setWorkerProcesses(int)}: Jason keeps the running MAS in static fields, so simulations inside this
+	 * JVM always run one at a time, and can only overlap with the analysis of earlier plots, see
+	 * {@linkplain #setAnalysisThreads(int)}. Values smaller than 2 result in sequential evaluation on the calling thread.
+	 *
+	 * @param threads
+	 *            size of the worker pool used by {@linkplain #evaluate_all(List)}
+	 */
+	public void setParallelism(int threads) {
+		this.parallelism = Math.max(1, threads);
+	}
+
+	/**
+	 * Pre-screens candidates with a surrogate model before they are simulated: operators generate more candidates
+	 * than needed, and only those the surrogate ranks highest are simulated. The surrogate is trained with every
+	 * candidate that is simulated. Screening starts as soon as the surrogate has seen enough candidates. Supported by
+	 * GA, which breeds screening times as many offspring as it simulates, and QSO, which only simulates the more
+	 * promising of the two neighbours each of its operators creates.
+	 *
+	 * @param surrogate
+	 *            surrogate model, can be shared between runs on the same environment
+	 * @param screening
+	 *            number of candidates generated per simulated candidate
+	 */
+	public void setSurrogate(Surrogate surrogate, int screening) {
+		this.surrogate = surrogate;
+		this.screening_factor = Math.max(1, screening);
+	}
+
+	/**
+	 * Stops simulations as soon as an estimate shows that they can't reach the selection threshold of the algorithm
+	 * anymore, see {@linkplain Fitness#setThreshold(java.util.function.DoubleSupplier)}. Such candidates keep the
+	 * tellability of their plot up to that point, and their results are not cached. Only supported by algorithms that
+	 * maintain a selection threshold, which is GA.
+	 *
+	 * @param enabled
+	 *            true to stop hopeless simulations early
+	 */
+	public void setEarlyTermination(boolean enabled) {
+		this.early_termination = enabled;
+	}
+
+	/**
+	 * Analyzes finished plots on a separate pool of threads, see {@linkplain AnalysisService}. A simulation thread
+	 * hands its plot over as soon as the simulation ends, so that the next simulation can start while the plot is
+	 * analyzed. Has no effect on simulations in worker processes, which analyze their plots themselves.
+	 *
+	 * @param threads
+	 *            number of analysis threads, 0 to analyze on the simulating thread
+	 */
+	public void setAnalysisThreads(int threads) {
+		this.analysis_threads = Math.max(0, threads);
+	}
+
+	/**
+	 * Switches to asynchronous steady-state evaluation: as soon as one simulation finishes, its result is integrated
+	 * and the next candidate is submitted, so that a single long simulation doesn't keep the other workers idle.
+	 * An iteration ends after as many evaluations as a generation would need, so statistics, checkpoints and
+	 * termination criteria keep their meaning. Only supported by algorithms that implement it, which are GA and PSO.
+	 *
+	 * @param asynchronous
+	 *            true for steady-state evaluation, false for generational evaluation
+	 */
+	public void setAsynchronous(boolean asynchronous) {
+		this.asynchronous = asynchronous;
+	}
+
+	/**
+	 * Moves simulations into a pool of separate worker processes, which are reused across generations. Since each
+	 * worker runs its own JVM, simulations are fully isolated from each other and can run at the same time.
+	 * Parallelism is raised to the number of workers, if it was lower.
+	 *
+	 * @param processes
+	 *            number of worker processes, values smaller than 1 evaluate inside this JVM
+	 */
+	public void setWorkerProcesses(int processes) {
+		if (this.workerPool != null) {
+			this.workerPool.close();
+			this.workerPool = null;
+		}
+
+		if (processes > 0) {
+			this.workerPool = new SimulationWorkerPool(this.EVO_ENV, this.level, processes);
+			this.parallelism = Math.max(this.parallelism, processes);
+		}
+	}
+
+	/**
+	 * Reuses results of genomes that were already evaluated, instead of simulating them again. A cache can be shared
+	 * by several runs on the same environment.
+	 *
+	 * @param cache
+	 *            cache of evaluation results, null to simulate every candidate
+	 */
+	public void setFitnessCache(FitnessCache cache) {
+		this.fitnessCache = cache;
+	}
+
+	/**
+	 * Sets how often the complete search state is saved, so that an interrupted run can be continued with
+	 * {@linkplain #setResume(boolean)}. The log file is rewritten along with each checkpoint, the result store is
+	 * updated continuously either way.
+	 *
+	 * @param generations
+	 *            number of generations between two checkpoints, 0 disables checkpoints
+	 */
+	public void setCheckpointInterval(int generations) {
+		this.checkpoint_interval = Math.max(0, generations);
+	}
+
+	// ***************** Parallel Evaluation *****************
+
+	/**
+	 * Creates the fitness instance used to evaluate a single candidate, which runs the simulation either in a worker
+	 * process or inside this JVM, see {@linkplain #setWorkerProcesses(int)}. If a cache is set, candidates are only
+	 * simulated if their genome wasn't evaluated before, see {@linkplain #setFitnessCache(FitnessCache)}. Every
+	 * candidate it evaluates is appended to the result store as soon as its result is known.
+	 *
+	 * @return a fresh fitness instance
+	 */
+	protected Fitness<EnvType, ModType> new_Fitness() {
+		Fitness<EnvType, ModType> fit;
+		if (this.workerPool != null) {
+			fit = new RemoteFitness<>(this.EVO_ENV, this.verbose, this.level, this.workerPool);
+		} else {
+			fit = new Fitness<>(this.EVO_ENV, this.verbose, this.level);
+			if (this.analysis_threads > 0) {
+				fit.setAnalysisService(this.analysis_service());
+			}
+		}
+
+		if (this.fitnessCache != null) {
+			fit = new CachedFitness<>(this.EVO_ENV, this.verbose, this.level, fit, this.fitnessCache);
+		}
+		if (this.surrogate != null) {
+			fit = new TrainingFitness<>(this.EVO_ENV, this.verbose, this.level, fit, this.surrogate);
+		}
+		if (this.store != null) {
+			// candidates are evaluated during the generation after the ones already recorded
+			fit = new RecordingFitness<>(this.EVO_ENV, this.verbose, this.level, fit, this.store, this.population_best.size());
+		}
+		if (this.early_termination) {
+			fit.setThreshold(() -> this.selection_threshold);
+		}
+		return fit;
+	}
+
+	/**
+	 * Runs all evaluation tasks and returns once every one of them is finished. Each task is expected to evaluate
+	 * exactly one candidate, so that tasks are independent of each other. A task returns as soon as its simulation
+	 * is done, with a future that completes once the result is applied, so that the next simulation can start
+	 * while the last plot is still analyzed. If simulations run in worker processes and {@linkplain #parallelism} is
+	 * larger than one, tasks are distributed over a bounded worker pool, otherwise they are executed in order on the
+	 * calling thread.
+	 *
+	 * @param tasks
+	 *            evaluation tasks, e.g. <code>() -> individual.evaluateAsync()</code>
+	 */
+	protected void evaluate_all(List<Supplier<CompletableFuture<?>>> tasks) {
+		List<CompletableFuture<?>> results = new ArrayList<>(tasks.size());
+		if (this.simulation_slots() < 2 || tasks.size() < 2) {
+			for (Supplier<CompletableFuture<?>> task : tasks) {
+				results.add(task.get());
+			}
+		} else {
+			for (Supplier<CompletableFuture<?>> task : tasks) {
+				results.add(CompletableFuture.supplyAsync(task, this.evaluation_pool()).thenCompose(result -> result));
+			}
+		}
+
+		for (CompletableFuture<?> result : results) {
+			try {
+				result.get();
+			} catch (InterruptedException e) {
+				e.printStackTrace();
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Starts an evaluation in the background, without waiting for it to finish. The task returns the step that
+	 * integrates its result into the population, which is run by {@linkplain #complete_evaluation()} on the
+	 * thread of the algorithm, so that the population is never modified concurrently. In seeded runs, results are
+	 * integrated in the order their evaluations were submitted instead of the order they finish, so that the
+	 * population evolves the same way in every run.
+	 *
+	 * @param task
+	 *            evaluates one candidate, e.g.
+	 *            <code>() -> child.evaluateAsync().thenApply(value -> () -> integrate(child))</code>
+	 */
+	protected void submit_evaluation(Supplier<CompletableFuture<Runnable>> task) {
+		if (this.completedEvaluations == null) {
+			this.completedEvaluations = new LinkedBlockingQueue<>();
+		}
+		BlockingQueue<CompletableFuture<Runnable>> completed = this.completedEvaluations;
+		CompletableFuture<Runnable> result = CompletableFuture.supplyAsync(task, this.evaluation_pool())
+															  .thenCompose(step -> step);
+		if (this.seeded) {
+			this.submittedEvaluations.add(result);
+		} else {
+			result.whenComplete((step, e) -> completed.add(result));
+		}
+		this.pendingEvaluations += 1;
+	}
+
+	/**
+	 * @return number of evaluations submitted by {@linkplain #submit_evaluation(Supplier)} that were not completed yet
+	 */
+	protected int pending_evaluations() {
+		return this.pendingEvaluations;
+	}
+
+	/**
+	 * Number of background evaluations that should be pending to keep all threads busy: one per evaluation thread,
+	 * and one per analysis thread, so that evaluation threads can start the next simulation while earlier plots are
+	 * analyzed.
+	 *
+	 * @return number of evaluations to keep submitted by {@linkplain #submit_evaluation(Supplier)}
+	 */
+	protected int evaluation_capacity() {
+		if (this.workerPool == null) {
+			return this.simulation_slots() + this.analysis_threads;
+		}
+		return this.simulation_slots();
+	}
+
+	/**
+	 * @return number of simulations that can actually run at the same time, which is one inside this JVM
+	 */
+	private int simulation_slots() {
+		return this.workerPool == null ? 1 : this.parallelism;
+	}
+
+	/**
+	 * Waits for the next background evaluation to finish, whichever that is, and integrates its result. In seeded
+	 * runs, waits for the oldest pending evaluation instead.
+	 */
+	protected void complete_evaluation() {
+		if (this.pendingEvaluations == 0) {
+			return;
+		}
+
+		try {
+			CompletableFuture<Runnable> result = this.seeded ? this.submittedEvaluations.poll()
+															 : this.completedEvaluations.take();
+			this.pendingEvaluations -= 1;
+			result.get().run();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private ExecutorService evaluation_pool() {
+		if (this.evaluationPool == null) {
+			this.evaluationPool = Executors.newFixedThreadPool(this.simulation_slots(), r -> {
+				Thread worker = new Thread(r, "NIA-Evaluation");
+				worker.setDaemon(true);
+				return worker;
+			});
+		}
+		return this.evaluationPool;
+	}
+
+	private synchronized AnalysisService analysis_service() {
+		if (this.analysisService == null) {
+			// every evaluation thread can have one plot waiting for analysis
+			this.analysisService = new AnalysisService(this.analysis_threads, this.simulation_slots());
+		}
+		return this.analysisService;
+	}
+
+	/**
+	 * Releases the worker threads of the evaluation pool and stops worker processes, if any were created.
+	 * Background evaluations that are still running are abandoned.
+	 */
+	protected void shutdown_evaluation() {
+		if (this.evaluationPool != null) {
+			this.evaluationPool.shutdownNow();
+			this.evaluationPool = null;
+		}
+		this.completedEvaluations = null;
+		this.submittedEvaluations.clear();
+		this.pendingEvaluations = 0;
+		if (this.analysisService != null) {
+			this.analysisService.shutdown();
+			this.analysisService = null;
+		}
+		if (this.workerPool != null) {
+			this.workerPool.close();
+			this.workerPool = null;
+		}
+	}
+
+	// ***************** Result Storage *****************
+
+	/**
+	 * Opens the result store of this run, which is located next to the log file. If the run is resumed, statistics
+	 * of the recorded generations are restored.
+	 */
+	protected void open_store() {
+		try {
+			this.store = new ResultStore(new File(this.filename + ".store"), this.resume);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+
+		if (this.resume) {
+			List<ResultStore.Generation> generations = this.store.getGenerations();
+			for (ResultStore.Generation generation : generations) {
+				this.population_best.add(generation.best);
+				this.population_average.add(generation.average);
+				if (generation.averageLength >= 0) {
+					this.average_length.add(generation.averageLength);
+				}
+			}
+			this.iterationNum = generations.size();
+		}
+	}
+
+	/**
+	 * Appends the candidates of the current population, which weren't recorded when they were evaluated, and a
+	 * summary of the current generation to the result store. In contrast to
+	 * {@linkplain #to_file(CandidateSolution, String)}, the cost of this doesn't grow with the number of generations.
+	 *
+	 * @param best
+	 *            best solution found by this algorithm so far
+	 */
+	protected void record_generation(CandidateSolution best) {
+		if (this.store == null) {
+			return;
+		}
+
+		int generation = this.population_best.size() - 1;
+
+		List<String> ids = new ArrayList<>(this.population.length);
+		for (CandidateSolution candidate : this.population) {
+			if (candidate != null) {
+				for (CandidateSolution solution : candidate.get_solutions()) {
+					this.store.appendCandidate(solution, generation);
+					ids.add(solution.id);
+				}
+			}
+		}
+
+		// candidates that consist of several solutions are represented by the best one of them
+		CandidateSolution bestSolution = null;
+		for (CandidateSolution solution : best.get_solutions()) {
+			this.store.appendCandidate(solution, generation);
+			if (solution.tellabilityValue != null && (bestSolution == null || solution.tellabilityValue > bestSolution.tellabilityValue)) {
+				bestSolution = solution;
+			}
+		}
+		String bestId = bestSolution == null ? best.id : bestSolution.id;
+
+		double aveLen = -1;
+		if (this.average_length.size() == this.population_best.size()) {
+			aveLen = this.average_length.get(generation);
+		}
+
+		this.store.appendGeneration(new ResultStore.Generation(generation, this.population_best.get(generation),
+				this.population_average.get(generation), aveLen, bestId, ids, this.epilogue()));
+	}
+
+	protected void close_store() {
+		if (this.store != null) {
+			this.store.close();
+			this.store = null;
+		}
+	}
+
+	// ***************** Checkpoints *****************
+
+	protected File checkpoint_file() {
+		return new File(this.filename + ".checkpoint");
+	}
+
+	/**
+	 * Saves the complete search state to the checkpoint file, if the current generation is due according to
+	 * {@linkplain #checkpoint_interval}. The checkpoint is written to a temporary file first, which then replaces
+	 * the previous checkpoint, so that a crash while saving doesn't destroy it. The log file is updated along with
+	 * each checkpoint.
+	 *
+	 * @param best
+	 *            best solution found by this algorithm so far
+	 */
+	protected void checkpoint(CandidateSolution best) {
+		if (this.checkpoint_interval < 1 || this.iterationNum % this.checkpoint_interval != 0) {
+			return;
+		}
+
+		// rewrites the whole log, but a checkpoint grows with the number of generations as well
+		this.to_file(best, "");
+
+		File file = this.checkpoint_file();
+		File temp = new File(file.getPath() + ".tmp");
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			out.writeUTF(this.getClass().getName());
+			out.writeInt(this.iterationNum);
+			out.writeLong(System.currentTimeMillis() - start_time);
+			out.writeInt(no_improvement);
+			Checkpoint.writeRandom(out, this.random);
+			Checkpoint.writeList(out, this.population_best);
+			Checkpoint.writeList(out, this.population_average);
+			Checkpoint.writeList(out, this.average_length);
+
+			this.write_state(out);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+
+		try {
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Restores the search state from the checkpoint file, if the run is resumed and a checkpoint of this algorithm
+	 * exists.
+	 *
+	 * @return true if the state was restored, false if a new population needs to be initialized
+	 */
+	protected boolean resume_checkpoint() {
+		File file = this.checkpoint_file();
+		if (!this.resume || !file.exists()) {
+			return false;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			String algorithm = in.readUTF();
+			if (!algorithm.equals(this.getClass().getName())) {
+				System.out.println("Checkpoint was created by " + algorithm + ", starting new population");
+				return false;
+			}
+
+			this.iterationNum = in.readInt();
+			// runtime limit continues where it stopped
+			start_time = System.currentTimeMillis() - in.readLong();
+			no_improvement = in.readInt();
+			this.random = Checkpoint.readRandom(in);
+			this.population_best = Checkpoint.readList(in);
+			this.population_average = Checkpoint.readList(in);
+			this.average_length = Checkpoint.readList(in);
+
+			this.read_state(in);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+
+		// generations recorded after the checkpoint are going to be recorded again
+		if (this.store != null) {
+			this.store.truncate(this.population_best.size());
+		}
+
+		System.out.println("Resuming from checkpoint after generation " + (this.population_best.size() - 1));
+		return true;
+	}
+
+	/**
+	 * Algorithm specific information that is added to the log file and to each generation in the result store.
+	 *
+	 * @return notes about the state of the algorithm, empty by default
+	 */
+	protected String epilogue() {
+		return "";
+	}
+
 	// ***************** Utility Functions *****************
 
 	/**
@@ -159,7 +729,9 @@ public abstract class NIAlgorithm<EnvType extends PlotEnvironment<ModType>, ModT
 	/**
 	 * Saves a log to file that contains the performance of the algorithm as
 	 * well as the best found solution. Can be loaded and executed by
-	 * {@linkplain FileInterpreter#readFile}.
+	 * {@linkplain FileInterpreter#readFile}. Rewrites the whole file, so it is
+	 * only written along with checkpoints and at the end of a run. The result
+	 * store is updated every generation, see {@linkplain #record_generation(CandidateSolution)}.
 	 *
 	 * @param best
 	 *            best solution found by this algoritm so far
@@ -209,7 +781,7 @@ public abstract class NIAlgorithm<EnvType extends PlotEnvironment<ModType>, ModT
 			writer.write("<Best CandidateSolution, Settings>\n");
 			writer.write(best.to_String());
 
-			writer.write(epilogue);
+			writer.write(this.epilogue() + epilogue);
 
 			writer.flush();
 			writer.close();
@@ -237,6 +809,9 @@ public abstract class NIAlgorithm<EnvType extends PlotEnvironment<ModType>, ModT
 		System.out.println();
 		System.out.println("Generations: " + this.population_best.size());
 		System.out.println("Best so far: " + this.population_best.get(this.population_best.size() - 1));
+		if (this.fitnessCache != null) {
+			System.out.println("Cached results: " + this.fitnessCache.getHits() + " reused, " + this.fitnessCache.getMisses() + " simulated");
+		}
 		System.out.println();
 
 	}
@@ -271,6 +846,23 @@ public abstract class NIAlgorithm<EnvType extends PlotEnvironment<ModType>, ModT
 	}
 
 	// ***************** Methods to be implemented by subclass *****************
+	/**
+	 * Writes the algorithm specific search state to a checkpoint, e.g. population and adaptive parameters. The state
+	 * common to all algorithms is written by {@linkplain #checkpoint(CandidateSolution)}.
+	 *
+	 * @param out
+	 *            stream of the checkpoint file
+	 */
+	protected abstract void write_state(DataOutput out) throws IOException;
+
+	/**
+	 * Restores the state written by {@linkplain #write_state(DataOutput)}.
+	 *
+	 * @param in
+	 *            stream of the checkpoint file
+	 */
+	protected abstract void read_state(DataInput in) throws IOException;
+
 	/**
 	 * Checks whether NIA is configured in a valid way
 	 *
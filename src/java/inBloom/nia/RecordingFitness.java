@@ -0,0 +1,54 @@
+package inBloom.nia;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+
+import jason.JasonException;
+
+import inBloom.PlotEnvironment;
+import inBloom.PlotModel;
+
+/**
+ * Fitness that appends every candidate to a {@linkplain ResultStore} as soon as the wrapped fitness evaluated it, so
+ * that candidates which never enter the population are recorded as well.
+ */
+public class RecordingFitness<EnvType extends PlotEnvironment<ModType>, ModType extends PlotModel<EnvType>> extends Fitness<EnvType, ModType> {
+
+	private Fitness<EnvType, ModType> delegate;
+	private ResultStore store;
+	private int generation;
+
+	/**
+	 * @param environment
+	 * @param verbose
+	 * @param level
+	 * @param delegate fitness that evaluates the candidates
+	 * @param store result store of the NIA run
+	 * @param generation generation the evaluated candidates belong to
+	 */
+	public RecordingFitness(NIEnvironment<?, ?> environment, boolean verbose, Level level, Fitness<EnvType, ModType> delegate, ResultStore store, int generation) {
+		super(environment, verbose, level);
+		this.delegate = delegate;
+		this.store = store;
+		this.generation = generation;
+	}
+
+	@Override
+	public void setThreshold(DoubleSupplier threshold) {
+		super.setThreshold(threshold);
+		this.delegate.setThreshold(threshold);
+	}
+
+	@Override
+	public CompletableFuture<Double> submitSolution(CandidateSolution individual) throws JasonException {
+		return this.delegate.submitSolution(individual).thenApply(result -> {
+			this.tellability = this.delegate.tellability;
+			this.terminatedEarly = this.delegate.terminatedEarly;
+
+			this.store.appendCandidate(individual, this.generation, result, this.tellability);
+
+			return result;
+		});
+	}
+}
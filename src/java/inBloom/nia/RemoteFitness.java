@@ -0,0 +1,46 @@
+package inBloom.nia;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+import inBloom.PlotEnvironment;
+import inBloom.PlotModel;
+
+/**
+ * Fitness backend that evaluates candidates in a separate worker process instead of the current JVM,
+ * see {@linkplain SimulationWorkerPool}.
+ */
+public class RemoteFitness<EnvType extends PlotEnvironment<ModType>, ModType extends PlotModel<EnvType>> extends Fitness<EnvType, ModType> {
+
+	private SimulationWorkerPool pool;
+
+	public RemoteFitness(NIEnvironment<?, ?> environment, boolean verbose, Level level, SimulationWorkerPool pool) {
+		super(environment, verbose, level);
+		this.pool = pool;
+	}
+
+	/**
+	 * Blocks until the worker process returns the result, worker processes analyze their plots themselves.
+	 */
+	@Override
+	public CompletableFuture<Double> submitSolution(CandidateSolution individual) {
+		double result = 0;
+
+		if(this.verbose) {
+			System.out.println("Starting new remote Simulation with length: " + individual.get_simLength().value);
+		}
+
+		try {
+			result = this.pool.evaluate(individual, this);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+
+		if(this.verbose) {
+			System.out.println("Finished after " + individual.get_actualLength() + " steps with Tellability Score: " + result);
+		}
+
+		return CompletableFuture.completedFuture(result);
+	}
+}
@@ -0,0 +1,341 @@
+package inBloom.nia;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import inBloom.helper.Tellability;
+
+/**
+ * Append-only store for the results of a NIA run. Every evaluated candidate is stored once as a candidate record,
+ * whether it entered the population or not, and every generation adds a small summary record. Records are only ever appended, so the cost of
+ * storing a generation doesn't grow with the length of the run.
+ * <p>
+ * When a store is opened, the file is scanned once to build an index of all records, which afterwards allows to
+ * access candidates by their id. A record that was cut off, because the previous run crashed while writing it, is
+ * dropped, so that a run can be resumed from the last complete generation, see {@linkplain NIAlgorithm#setResume(boolean)}.
+ * <p>
+ * Record layout: {@code <type byte> <payload length> <payload>}, see {@linkplain #CANDIDATE_RECORD} and
+ * {@linkplain #GENERATION_RECORD}.
+ */
+public class ResultStore {
+	protected static Logger logger = Logger.getLogger(ResultStore.class.getName());
+
+	public static final byte CANDIDATE_RECORD = 'C';
+	public static final byte GENERATION_RECORD = 'G';
+
+	private RandomAccessFile file;
+	private boolean readOnly = false;
+
+	// offsets of candidate payloads in file, by candidate id
+	private Map<String, Long> candidateIndex = new HashMap<>();
+	private List<Generation> generations = new ArrayList<>();
+	// offsets of the end of each generation record, parallel to generations
+	private List<Long> generationEnds = new ArrayList<>();
+
+	/**
+	 * Opens a result store.
+	 * @param storeFile file of the store, is created if it doesn't exist
+	 * @param append true to keep the records of an earlier run, false to start with an empty store
+	 * @throws IOException if the file can't be opened
+	 */
+	public ResultStore(File storeFile, boolean append) throws IOException {
+		this.file = new RandomAccessFile(storeFile, "rw");
+		if (append) {
+			this.loadIndex();
+		} else {
+			this.file.setLength(0);
+		}
+	}
+
+	/**
+	 * Opens a result store for reading only, e.g. in order to analyze a run that might still be in progress.
+	 * @param storeFile file of the store
+	 * @throws IOException if the file can't be opened
+	 */
+	public ResultStore(File storeFile) throws IOException {
+		this.file = new RandomAccessFile(storeFile, "r");
+		this.readOnly = true;
+		this.loadIndex();
+	}
+
+	/**
+	 * Stores a candidate, unless a candidate with the same id was stored before. Candidates that weren't evaluated
+	 * yet are skipped.
+	 * @param candidate the candidate to store
+	 * @param generation generation in which the candidate was first seen
+	 */
+	public synchronized void appendCandidate(CandidateSolution candidate, int generation) {
+		if (candidate.tellabilityValue == null) {
+			return;
+		}
+		this.appendCandidate(candidate, generation, candidate.tellabilityValue, candidate.tellability);
+	}
+
+	/**
+	 * Stores the result of an evaluation as soon as it is known, before it is applied to the candidate, unless a
+	 * candidate with the same id was stored before.
+	 * @param candidate the evaluated candidate
+	 * @param generation generation in which the candidate was evaluated
+	 * @param value tellability value of the candidate
+	 * @param tellability details of the tellability computation, null if the analysis failed
+	 */
+	public synchronized void appendCandidate(CandidateSolution candidate, int generation, double value, Tellability tellability) {
+		if (this.candidateIndex.containsKey(candidate.id)) {
+			return;
+		}
+
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeUTF(candidate.id);
+			out.writeInt(generation);
+			SimulationWorker.writeCandidate(out, candidate);
+			SimulationWorker.writeResult(out, value, candidate.get_actualLength(), tellability);
+			out.flush();
+
+			long offset = this.append(CANDIDATE_RECORD, bytes.toByteArray());
+			this.candidateIndex.put(candidate.id, offset);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Stores the summary of a generation.
+	 * @param generation the summary
+	 */
+	public synchronized void appendGeneration(Generation generation) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(generation.number);
+			out.writeDouble(generation.best);
+			out.writeDouble(generation.average);
+			out.writeDouble(generation.averageLength);
+			out.writeUTF(generation.bestId);
+			out.writeInt(generation.population.size());
+			for (String id : generation.population) {
+				out.writeUTF(id);
+			}
+			out.writeUTF(generation.notes);
+			out.flush();
+
+			this.append(GENERATION_RECORD, bytes.toByteArray());
+			this.generations.add(generation);
+			this.generationEnds.add(this.file.length());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * @return summaries of all stored generations, in the order they were stored
+	 */
+	public synchronized List<Generation> getGenerations() {
+		return new ArrayList<>(this.generations);
+	}
+
+	/**
+	 * @return summary of the last complete generation, or null if no generation was stored yet
+	 */
+	public synchronized Generation getLastGeneration() {
+		return this.generations.isEmpty() ? null : this.generations.get(this.generations.size() - 1);
+	}
+
+	/**
+	 * Reads a stored candidate, including its tellability.
+	 * @param id id of the candidate
+	 * @return the candidate, or null if there is no candidate with this id
+	 */
+	public synchronized StoredCandidate getCandidate(String id) {
+		Long offset = this.candidateIndex.get(id);
+		if (offset == null) {
+			return null;
+		}
+
+		try {
+			this.file.seek(offset - 4);
+			byte[] payload = new byte[this.file.readInt()];
+			this.file.readFully(payload);
+
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+			String candidateId = in.readUTF();
+			int generation = in.readInt();
+			CandidateSolution genome = SimulationWorker.readCandidate(in);
+
+			StoredCandidate candidate = new StoredCandidate(genome, candidateId, generation);
+			candidate.tellabilityValue = in.readDouble();
+			candidate.set_actualLength(in.readInt());
+			candidate.tellability = SimulationWorker.readTellability(in);
+			return candidate;
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Cuts the store back to the state after the given number of generations: generation summaries from then on,
+	 * as well as all candidates stored after the last remaining summary, are removed. Used when a run is resumed from
+	 * a checkpoint that is older than the last stored generation, so that the continued run doesn't store the same
+	 * generations twice.
+	 * @param generationCount number of generations to keep
+	 */
+	public synchronized void truncate(int generationCount) {
+		int keep = 0;
+		while (keep < this.generations.size() && this.generations.get(keep).number < generationCount) {
+			keep++;
+		}
+		long length = keep == 0 ? 0 : this.generationEnds.get(keep - 1);
+
+		try {
+			if (length < this.file.length()) {
+				logger.info("Dropping records after generation " + (generationCount - 1) + " from result store");
+				this.file.setLength(length);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+
+		this.generations.subList(keep, this.generations.size()).clear();
+		this.generationEnds.subList(keep, this.generationEnds.size()).clear();
+		this.candidateIndex.values().removeIf(offset -> offset >= length);
+	}
+
+	public synchronized void close() {
+		try {
+			this.file.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Appends a record at the end of the file.
+	 * @return offset of the payload
+	 */
+	private long append(byte type, byte[] payload) throws IOException {
+		// write record at once, so a crash leaves at most one incomplete record behind
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length + 5);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(type);
+		out.writeInt(payload.length);
+		out.write(payload);
+		out.flush();
+
+		long start = this.file.length();
+		this.file.seek(start);
+		this.file.write(bytes.toByteArray());
+		return start + 5;
+	}
+
+	/**
+	 * Scans all records of the file, indexes candidates and loads generation summaries. An incomplete record at
+	 * the end of the file is removed.
+	 */
+	private void loadIndex() throws IOException {
+		long validLength = 0;
+		this.file.seek(0);
+		try {
+			while (this.file.getFilePointer() < this.file.length()) {
+				byte type = this.file.readByte();
+				int length = this.file.readInt();
+				long offset = this.file.getFilePointer();
+				if (offset + length > this.file.length()) {
+					break;
+				}
+
+				if (type == CANDIDATE_RECORD) {
+					this.candidateIndex.put(this.file.readUTF(), offset);
+				} else if (type == GENERATION_RECORD) {
+					byte[] payload = new byte[length];
+					this.file.readFully(payload);
+					this.generations.add(Generation.decode(payload));
+					this.generationEnds.add(offset + length);
+				}
+
+				this.file.seek(offset + length);
+				validLength = this.file.getFilePointer();
+			}
+		} catch (EOFException e) {
+			// incomplete record at the end of the file
+		}
+
+		if (validLength < this.file.length() && !this.readOnly) {
+			logger.info("Dropping incomplete record at the end of result store");
+			this.file.setLength(validLength);
+		}
+	}
+
+	/**
+	 * Summary of a single generation.
+	 */
+	public static class Generation {
+		public int number;
+		public double best;
+		public double average;
+		/** average actual simulation length, -1 if the algorithm doesn't track it */
+		public double averageLength;
+		public String bestId;
+		/** ids of all candidates in the population */
+		public List<String> population;
+		/** algorithm specific information, see {@linkplain NIAlgorithm#epilogue()} */
+		public String notes;
+
+		public Generation(int number, double best, double average, double averageLength, String bestId, List<String> population, String notes) {
+			this.number = number;
+			this.best = best;
+			this.average = average;
+			this.averageLength = averageLength;
+			this.bestId = bestId;
+			this.population = population;
+			this.notes = notes;
+		}
+
+		private static Generation decode(byte[] payload) throws IOException {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+			int number = in.readInt();
+			double best = in.readDouble();
+			double average = in.readDouble();
+			double averageLength = in.readDouble();
+			String bestId = in.readUTF();
+			int size = in.readInt();
+			List<String> population = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				population.add(in.readUTF());
+			}
+			return new Generation(number, best, average, averageLength, bestId, population, in.readUTF());
+		}
+	}
+
+	/**
+	 * Candidate as read back from a store.
+	 */
+	public static class StoredCandidate extends CandidateSolution {
+		/** generation in which the candidate was first seen */
+		public int generation;
+
+		public StoredCandidate(CandidateSolution genome, String id, int generation) {
+			super(genome.get_personality(), genome.get_happenings(), genome.get_simLength().value);
+			this.id = id;
+			this.generation = generation;
+		}
+
+		@Override
+		public String to_String() {
+			return this.to_String(this.personality, this.happenings, this.simulation_length.value, this.actual_length);
+		}
+	}
+}
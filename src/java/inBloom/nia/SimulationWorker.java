@@ -0,0 +1,258 @@
+package inBloom.nia;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+
+import jason.JasonException;
+
+import inBloom.PlotEnvironment;
+import inBloom.PlotLauncher;
+import inBloom.helper.Tellability;
+import inBloom.helper.TellabilityEstimator;
+
+/**
+ * Entry point of a simulation worker process, started by {@linkplain SimulationWorkerPool}. A worker connects to the
+ * pool on the loopback interface and then evaluates one candidate after the other, until the pool closes the
+ * connection. Since each worker runs in its own JVM, the static state of Jason and inBloom is never shared between
+ * simulations that run at the same time.
+ * <p>
+ * Arguments: {@code <port> <worker id> <NIEnvironment class> <log level>}. The NIEnvironment class needs a public
+ * no-argument constructor.
+ * <p>
+ * This class also implements the wire format used between pool and workers, see
+ * {@linkplain #writeSettings(DataOutput)}, which the pool sends once after the worker connected,
+ * {@linkplain #writeCandidate(DataOutputStream, CandidateSolution)} and
+ * {@linkplain #writeResult(DataOutput, double, int, Tellability)}. Each candidate is followed by the threshold for
+ * early termination, -1 if disabled, and each result by a flag that tells whether the simulation was terminated early,
+ * see {@linkplain Fitness#setThreshold(java.util.function.DoubleSupplier)}.
+ */
+public class SimulationWorker {
+
+	public static void main(String[] args) {
+		int port = Integer.parseInt(args[0]);
+		String workerId = args[1];
+
+		// concurrent workers share the working directory, so each one needs its own project file
+		PlotLauncher.DEAULT_FILE_NAME = "launcher-worker" + workerId + ".mas2j";
+		new File(PlotLauncher.DEAULT_FILE_NAME).deleteOnExit();
+
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			NIEnvironment<?, ?> environment = (NIEnvironment<?, ?>) Class.forName(args[2]).getConstructor().newInstance();
+			Level level = Level.parse(args[3]);
+
+			DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			readSettings(in);
+
+			while (true) {
+				CandidateSolution candidate;
+				try {
+					candidate = readCandidate(in);
+				} catch (EOFException e) {
+					// pool closed the connection
+					break;
+				}
+				double threshold = in.readDouble();
+
+				Fitness<?, ?> fit = new Fitness<>(environment, false, level);
+				if (threshold >= 0) {
+					fit.setThreshold(() -> threshold);
+				}
+				double value;
+				try {
+					value = fit.evaluateSolution(candidate);
+				} catch (JasonException | RuntimeException e) {
+					e.printStackTrace();
+					value = 0.0;
+				}
+
+				writeResult(out, value, candidate.get_actualLength(), fit.tellability);
+				out.writeBoolean(fit.terminatedEarly);
+				out.flush();
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		// Jason leaves non-daemon threads behind
+		System.exit(0);
+	}
+
+	// ***************** Wire Format *****************
+
+	/**
+	 * Writes the static run configuration of this JVM, which workers need to adopt before their first simulation,
+	 * since they don't run the code that configured the pool's JVM.
+	 */
+	public static void writeSettings(DataOutput out) throws IOException {
+		out.writeLong(Fitness.TIMEOUT);
+		out.writeLong(Fitness.ESTIMATION_INTERVAL);
+		out.writeInt(PlotEnvironment.MAX_REPEATE_NUM);
+		out.writeUTF(PlotEnvironment.STEP_TIMEOUT);
+		out.writeBoolean(PlotEnvironment.RANDOM_SEED != null);
+		if (PlotEnvironment.RANDOM_SEED != null) {
+			out.writeLong(PlotEnvironment.RANDOM_SEED);
+		}
+		out.writeInt(Tellability.GRAPH_MATCHING_TOLERANCE);
+		out.writeDouble(TellabilityEstimator.MIN_PROGRESS);
+	}
+
+	/**
+	 * Adopts a run configuration written by {@linkplain #writeSettings(DataOutput)}.
+	 */
+	public static void readSettings(DataInput in) throws IOException {
+		Fitness.TIMEOUT = in.readLong();
+		Fitness.ESTIMATION_INTERVAL = in.readLong();
+		PlotEnvironment.MAX_REPEATE_NUM = in.readInt();
+		PlotEnvironment.STEP_TIMEOUT = in.readUTF();
+		PlotEnvironment.RANDOM_SEED = in.readBoolean() ? in.readLong() : null;
+		Tellability.GRAPH_MATCHING_TOLERANCE = in.readInt();
+		TellabilityEstimator.MIN_PROGRESS = in.readDouble();
+	}
+
+	public static void writeCandidate(DataOutputStream out, CandidateSolution candidate) throws IOException {
+		double[][] personality = candidate.get_personality().values;
+		int[][] happenings = candidate.get_happenings().values;
+
+		out.writeInt(personality.length);
+		out.writeInt(happenings[0].length);
+		for (double[] agent : personality) {
+			for (double value : agent) {
+				out.writeDouble(value);
+			}
+		}
+		for (int[] agent : happenings) {
+			for (int step : agent) {
+				out.writeInt(step);
+			}
+		}
+		out.writeInt(candidate.get_simLength().value);
+	}
+
+	public static CandidateSolution readCandidate(DataInputStream in) throws IOException {
+		int agentNum = in.readInt();
+		int happeningNum = in.readInt();
+
+		ChromosomePersonality personality = new ChromosomePersonality(agentNum);
+		for (int i = 0; i < agentNum; i++) {
+			for (int j = 0; j < personality.values[i].length; j++) {
+				personality.values[i][j] = in.readDouble();
+			}
+		}
+
+		ChromosomeHappenings happenings = new ChromosomeHappenings(agentNum, happeningNum);
+		for (int i = 0; i < agentNum; i++) {
+			for (int j = 0; j < happeningNum; j++) {
+				happenings.values[i][j] = in.readInt();
+			}
+		}
+
+		return new TransferredCandidate(personality, happenings, in.readInt());
+	}
+
+	public static void writeResult(DataOutput out, double value, int actualLength, Tellability tellability) throws IOException {
+		out.writeDouble(value);
+		out.writeInt(actualLength);
+		writeTellability(out, tellability);
+	}
+
+	/**
+	 * Writes the scalar results and the detailed log of a tellability computation, the remaining analysis details
+	 * are not transferred.
+	 */
+	public static void writeTellability(DataOutput out, Tellability tellability) throws IOException {
+		out.writeBoolean(tellability != null);
+		if (tellability != null) {
+			out.writeInt(tellability.productiveConflicts);
+			out.writeInt(tellability.plotLength);
+			out.writeInt(tellability.charNum);
+			out.writeDouble(tellability.absoluteFunctionalPolyvalence);
+			out.writeDouble(tellability.balancedFunctionalPolyvalence);
+			out.writeDouble(tellability.absoluteSymmetry);
+			out.writeDouble(tellability.balancedSymmetry);
+			out.writeDouble(tellability.absoluteOpposition);
+			out.writeDouble(tellability.balancedOpposition);
+			out.writeDouble(tellability.absoluteSuspense);
+			out.writeDouble(tellability.balancedSuspense);
+			out.writeDouble(tellability.value);
+
+			// detailed log can exceed the 64k limit of writeUTF
+			byte[] log = tellability.detailedLog == null ? new byte[0] : tellability.detailedLog.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(log.length);
+			out.write(log);
+		}
+	}
+
+	/**
+	 * Reads a result written by {@linkplain #writeResult(DataOutput, double, int, Tellability)} and stores
+	 * it in the provided candidate, as well as in the provided fitness.
+	 * @return the tellability value of the candidate
+	 */
+	public static double readResult(DataInput in, CandidateSolution candidate, Fitness<?, ?> fit) throws IOException {
+		double value = in.readDouble();
+		candidate.set_actualLength(in.readInt());
+
+		Tellability tellability = readTellability(in);
+		if (tellability != null) {
+			fit.tellability = tellability;
+		}
+
+		return value;
+	}
+
+	/**
+	 * Reads a tellability written by {@linkplain #writeTellability(DataOutput, Tellability)}.
+	 * @return the transferred tellability, or null if none was written
+	 */
+	public static Tellability readTellability(DataInput in) throws IOException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+
+		Tellability tellability = new Tellability();
+		tellability.productiveConflicts = in.readInt();
+		tellability.plotLength = in.readInt();
+		tellability.charNum = in.readInt();
+		tellability.absoluteFunctionalPolyvalence = in.readDouble();
+		tellability.balancedFunctionalPolyvalence = in.readDouble();
+		tellability.absoluteSymmetry = in.readDouble();
+		tellability.balancedSymmetry = in.readDouble();
+		tellability.absoluteOpposition = in.readDouble();
+		tellability.balancedOpposition = in.readDouble();
+		tellability.absoluteSuspense = in.readDouble();
+		tellability.balancedSuspense = in.readDouble();
+		tellability.value = in.readDouble();
+
+		byte[] log = new byte[in.readInt()];
+		in.readFully(log);
+		tellability.detailedLog = new String(log, StandardCharsets.UTF_8);
+
+		return tellability;
+	}
+
+	/**
+	 * Minimal candidate that carries the genome of a solution across process boundaries.
+	 */
+	private static class TransferredCandidate extends CandidateSolution {
+
+		public TransferredCandidate(ChromosomePersonality personality, ChromosomeHappenings happenings, Integer simLength) {
+			super(personality, happenings, simLength);
+		}
+
+		@Override
+		public String to_String() {
+			return this.to_String(this.personality, this.happenings, this.simulation_length.value, this.actual_length);
+		}
+	}
+}
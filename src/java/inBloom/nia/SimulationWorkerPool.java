@@ -0,0 +1,218 @@
+package inBloom.nia;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Manages a bounded number of {@linkplain SimulationWorker} processes that evaluate candidates outside of the
+ * current JVM. Workers are started lazily and reused for many candidates, so that class loading and JIT warm-up
+ * of Jason is only paid once per worker. A worker that does not answer in time is killed and replaced on demand.
+ * Workers adopt the static run configuration of this JVM when they connect, see
+ * {@linkplain SimulationWorker#writeSettings(java.io.DataOutput)}.
+ */
+public class SimulationWorkerPool {
+	protected static Logger logger = Logger.getLogger(SimulationWorkerPool.class.getName());
+
+	/** Time in ms a worker process gets to connect back to the pool after being started. */
+	public static int CONNECT_TIMEOUT = 60000;
+
+	private static int nextWorkerId = 0;
+
+	private String environmentClass;
+	private Level level;
+	private int size;
+
+	private Deque<Worker> idleWorkers = new ArrayDeque<>();
+	private List<Worker> allWorkers = new ArrayList<>();
+	private boolean closed = false;
+
+	/**
+	 * @param environment environment used by the NIA, its class needs a public no-argument constructor
+	 * @param level log level inside of the worker processes
+	 * @param size maximal number of worker processes
+	 */
+	public SimulationWorkerPool(NIEnvironment<?, ?> environment, Level level, int size) {
+		this.environmentClass = environment.getClass().getName();
+		this.level = level;
+		this.size = Math.max(1, size);
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Runs the simulation of a candidate in a worker process and blocks until its result is available.
+	 * The computed tellability is stored in {@code fit.tellability}, the actual simulation length in the candidate.
+	 * @param candidate solution to be simulated
+	 * @param fit fitness instance that receives the tellability details
+	 * @return tellability value of the candidate
+	 * @throws IOException if the worker crashed or timed out, in which case it is replaced for later evaluations
+	 */
+	public double evaluate(CandidateSolution candidate, Fitness<?, ?> fit) throws IOException {
+		Worker worker = this.acquire();
+		boolean answered = false;
+		try {
+			double value = worker.evaluate(candidate, fit);
+			answered = true;
+			return value;
+		} finally {
+			// a worker that failed mid-request can't be reused, its stream position is unknown
+			if (answered) {
+				this.release(worker);
+			} else {
+				this.discard(worker);
+			}
+		}
+	}
+
+	/**
+	 * Stops all worker processes. Workers that are currently evaluating a candidate are stopped once they finish.
+	 */
+	public synchronized void close() {
+		this.closed = true;
+		Worker worker;
+		while ((worker = this.idleWorkers.poll()) != null) {
+			this.discard(worker);
+		}
+		// wake up threads waiting for a worker, so that they fail instead of waiting forever
+		this.notifyAll();
+	}
+
+	/**
+	 * Returns an idle worker, or starts a new one if less than {@linkplain #size()} workers are alive. Otherwise waits
+	 * until a worker is released, or discarded so that a replacement can be started.
+	 */
+	private Worker acquire() throws IOException {
+		Worker worker = null;
+		synchronized (this) {
+			while (worker == null) {
+				if (this.closed) {
+					throw new IOException("Simulation worker pool has been closed");
+				}
+
+				worker = this.idleWorkers.poll();
+				if (worker != null) {
+					return worker;
+				}
+
+				if (this.allWorkers.size() < this.size) {
+					worker = new Worker(nextWorkerId++);
+					this.allWorkers.add(worker);
+				} else {
+					try {
+						this.wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new IOException("Interrupted while waiting for a simulation worker", e);
+					}
+				}
+			}
+		}
+
+		try {
+			worker.start();
+		} catch (IOException e) {
+			this.discard(worker);
+			throw e;
+		}
+		return worker;
+	}
+
+	private synchronized void release(Worker worker) {
+		if (this.closed) {
+			this.discard(worker);
+		} else {
+			this.idleWorkers.add(worker);
+			this.notifyAll();
+		}
+	}
+
+	private synchronized void discard(Worker worker) {
+		worker.destroy();
+		this.allWorkers.remove(worker);
+		// a waiting thread can start a replacement
+		this.notifyAll();
+	}
+
+	/**
+	 * Parent side of a single worker process.
+	 */
+	private class Worker {
+		private int id;
+		private Process process;
+		private Socket socket;
+		private DataInputStream in;
+		private DataOutputStream out;
+
+		public Worker(int id) {
+			this.id = id;
+		}
+
+		public void start() throws IOException {
+			try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+				server.setSoTimeout(CONNECT_TIMEOUT);
+
+				String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+				List<String> command = new ArrayList<>(Arrays.asList(java,
+																	 "-cp", System.getProperty("java.class.path"),
+																	 SimulationWorker.class.getName(),
+																	 String.valueOf(server.getLocalPort()),
+																	 String.valueOf(this.id),
+																	 SimulationWorkerPool.this.environmentClass,
+																	 SimulationWorkerPool.this.level.getName()));
+				ProcessBuilder builder = new ProcessBuilder(command);
+				builder.inheritIO();
+				this.process = builder.start();
+				logger.info("Started simulation worker " + this.id);
+
+				this.socket = server.accept();
+			}
+
+			this.in = new DataInputStream(new BufferedInputStream(this.socket.getInputStream()));
+			this.out = new DataOutputStream(new BufferedOutputStream(this.socket.getOutputStream()));
+			SimulationWorker.writeSettings(this.out);
+			this.out.flush();
+		}
+
+		public double evaluate(CandidateSolution candidate, Fitness<?, ?> fit) throws IOException {
+			// simulation timeout is handled inside the worker, this only catches workers that hang or crash
+			int timeout = Fitness.TIMEOUT > -1 ? (int) Math.min(Integer.MAX_VALUE, 3 * Fitness.TIMEOUT) : 0;
+			this.socket.setSoTimeout(timeout);
+
+			SimulationWorker.writeCandidate(this.out, candidate);
+			this.out.writeDouble(fit.threshold == null ? -1 : fit.threshold.getAsDouble());
+			this.out.flush();
+			double value = SimulationWorker.readResult(this.in, candidate, fit);
+			fit.terminatedEarly = this.in.readBoolean();
+			return value;
+		}
+
+		public void destroy() {
+			try {
+				if (this.socket != null) {
+					this.socket.close();
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+			if (this.process != null) {
+				this.process.destroyForcibly();
+			}
+		}
+	}
+}
@@ -0,0 +1,177 @@
+package inBloom.nia;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * k-nearest-neighbour regression of tellability over the chromosomes of candidates, which allows to pre-screen
+ * candidates before they are simulated, see {@linkplain NIAlgorithm#setSurrogate(Surrogate, int)}. It is trained
+ * with every candidate that is evaluated during a run, see {@linkplain TrainingFitness}.
+ * <p>
+ * Candidates are compared as vectors of their personality values, the steps of the happenings that can fire, and
+ * the simulation length, all scaled to a similar range. A prediction consists of the distance-weighted mean
+ * tellability of the nearest evaluated candidates, and of an uncertainty that grows with the spread of their
+ * tellability and with their distance. Candidates are ranked by the sum of both, so that promising as well as
+ * unexplored candidates are preferred.
+ */
+public class Surrogate {
+	/** Number of neighbours a prediction is based on */
+	public static int NEIGHBOURS = 5;
+	/** Weight of the uncertainty relative to the predicted tellability when ranking candidates */
+	public static double EXPLORATION = 0.5;
+
+	private List<double[]> features = new ArrayList<>();
+	private List<Double> values = new ArrayList<>();
+	private Set<String> known = new HashSet<>();
+
+	/**
+	 * Adds an evaluated candidate to the training data. Candidates that are equivalent to a known one are skipped.
+	 * @param candidate the evaluated candidate
+	 * @param value its tellability
+	 */
+	public synchronized void train(CandidateSolution candidate, double value) {
+		if (!this.known.add(FitnessCache.keyOf(candidate))) {
+			return;
+		}
+		this.features.add(features(candidate.get_personality(), candidate.get_happenings(), candidate.get_simLength().value));
+		this.values.add(value);
+	}
+
+	/**
+	 * @return true once there is enough training data for meaningful predictions
+	 */
+	public synchronized boolean isTrained() {
+		return this.values.size() >= NEIGHBOURS;
+	}
+
+	public synchronized int size() {
+		return this.values.size();
+	}
+
+	/**
+	 * Predicts the tellability of a candidate that wasn't simulated yet.
+	 * @return predicted tellability and uncertainty of the prediction
+	 */
+	public Prediction predict(CandidateSolution candidate) {
+		return this.predict(candidate.get_personality(), candidate.get_happenings(), candidate.get_simLength().value);
+	}
+
+	public synchronized Prediction predict(ChromosomePersonality personality, ChromosomeHappenings happenings, int length) {
+		double[] query = features(personality, happenings, length);
+		int k = Math.min(NEIGHBOURS, this.values.size());
+		if (k == 0) {
+			return new Prediction(0, 1);
+		}
+
+		// indices and distances of the k nearest neighbours, sorted by distance
+		int[] nearest = new int[k];
+		double[] distances = new double[k];
+		int found = 0;
+		for (int i = 0; i < this.features.size(); i++) {
+			double distance = distance(query, this.features.get(i));
+			if (found < k || distance < distances[found - 1]) {
+				int pos = found < k ? found++ : k - 1;
+				while (pos > 0 && distances[pos - 1] > distance) {
+					nearest[pos] = nearest[pos - 1];
+					distances[pos] = distances[pos - 1];
+					pos--;
+				}
+				nearest[pos] = i;
+				distances[pos] = distance;
+			}
+		}
+
+		double weightSum = 0;
+		double mean = 0;
+		for (int i = 0; i < k; i++) {
+			double weight = 1 / (distances[i] + 1e-6);
+			weightSum += weight;
+			mean += weight * this.values.get(nearest[i]);
+		}
+		mean /= weightSum;
+
+		double variance = 0;
+		double averageDistance = 0;
+		for (int i = 0; i < k; i++) {
+			double weight = 1 / (distances[i] + 1e-6);
+			variance += weight * Math.pow(this.values.get(nearest[i]) - mean, 2);
+			averageDistance += distances[i] / k;
+		}
+		variance /= weightSum;
+
+		return new Prediction(mean, Math.sqrt(variance) + averageDistance);
+	}
+
+	/**
+	 * Ranks candidates by their predicted tellability and uncertainty, and returns the best ones.
+	 * @param candidates candidates that weren't simulated yet
+	 * @param count number of candidates to return
+	 * @return the count highest ranked candidates, best first
+	 */
+	public <T extends CandidateSolution> List<T> screen(List<T> candidates, int count) {
+		List<T> ranked = new ArrayList<>(candidates);
+		ranked.sort(Comparator.comparingDouble((T candidate) -> this.predict(candidate).score()).reversed());
+		return new ArrayList<>(ranked.subList(0, Math.min(count, ranked.size())));
+	}
+
+	/**
+	 * Scales all genes to about [-1, 1]. Happenings that can't fire within the simulation length are set to 0, the
+	 * same as a happening that is switched off.
+	 */
+	private static double[] features(ChromosomePersonality personality, ChromosomeHappenings happenings, int length) {
+		int simLength = Math.min(length, NIAlgorithm.MAX_SIM_LENGTH);
+		int size = 1;
+		for (double[] agent : personality.values) {
+			size += agent.length;
+		}
+		for (int[] agent : happenings.values) {
+			size += agent.length;
+		}
+
+		double[] features = new double[size];
+		int i = 0;
+		features[i++] = (double) simLength / NIAlgorithm.MAX_SIM_LENGTH;
+		for (double[] agent : personality.values) {
+			for (double value : agent) {
+				features[i++] = value;
+			}
+		}
+		for (int[] agent : happenings.values) {
+			for (int step : agent) {
+				features[i++] = step > 0 && step <= simLength ? (double) step / NIAlgorithm.MAX_SIM_LENGTH : 0;
+			}
+		}
+		return features;
+	}
+
+	private static double distance(double[] one, double[] two) {
+		double sum = 0;
+		for (int i = 0; i < Math.min(one.length, two.length); i++) {
+			sum += (one[i] - two[i]) * (one[i] - two[i]);
+		}
+		return Math.sqrt(sum);
+	}
+
+	/**
+	 * Predicted tellability of a candidate.
+	 */
+	public static class Prediction {
+		public double value;
+		public double uncertainty;
+
+		public Prediction(double value, double uncertainty) {
+			this.value = value;
+			this.uncertainty = uncertainty;
+		}
+
+		/**
+		 * @return rank of the candidate for screening, higher is more worth simulating
+		 */
+		public double score() {
+			return this.value + EXPLORATION * this.uncertainty;
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package inBloom.nia;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+
+import jason.JasonException;
+
+import inBloom.PlotEnvironment;
+import inBloom.PlotModel;
+
+/**
+ * Fitness that hands every evaluated candidate to a {@linkplain Surrogate}, after the wrapped fitness evaluated it.
+ */
+public class TrainingFitness<EnvType extends PlotEnvironment<ModType>, ModType extends PlotModel<EnvType>> extends Fitness<EnvType, ModType> {
+
+	private Fitness<EnvType, ModType> delegate;
+	private Surrogate surrogate;
+
+	/**
+	 * @param environment
+	 * @param verbose
+	 * @param level
+	 * @param delegate fitness that evaluates the candidates
+	 * @param surrogate surrogate shared between all fitness instances of a NIA
+	 */
+	public TrainingFitness(NIEnvironment<?, ?> environment, boolean verbose, Level level, Fitness<EnvType, ModType> delegate, Surrogate surrogate) {
+		super(environment, verbose, level);
+		this.delegate = delegate;
+		this.surrogate = surrogate;
+	}
+
+	@Override
+	public void setThreshold(DoubleSupplier threshold) {
+		super.setThreshold(threshold);
+		this.delegate.setThreshold(threshold);
+	}
+
+	@Override
+	public CompletableFuture<Double> submitSolution(CandidateSolution individual) throws JasonException {
+		return this.delegate.submitSolution(individual).thenApply(result -> {
+			this.tellability = this.delegate.tellability;
+			this.terminatedEarly = this.delegate.terminatedEarly;
+
+			// plots that were cut short would teach the surrogate too low values
+			if (this.tellability != null && !this.terminatedEarly) {
+				this.surrogate.train(individual, result);
+			}
+
+			return result;
+		});
+	}
+}
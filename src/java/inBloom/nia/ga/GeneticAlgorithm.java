@@ -1,15 +1,23 @@
 package inBloom.nia.ga;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import com.google.common.collect.Lists;
 
 import inBloom.PlotEnvironment;
 import inBloom.PlotModel;
 import inBloom.nia.CandidateSolution;
+import inBloom.nia.Checkpoint;
 import inBloom.nia.ChromosomeHappenings;
 import inBloom.nia.ChromosomeLength;
 import inBloom.nia.ChromosomePersonality;
@@ -33,6 +41,13 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 	// Container for candidates
 	private Individual[] offspring;
 	private Individual[] mutated_offspring;
+	// Offspring bred for asynchronous evolution that were not submitted for evaluation yet
+	private Deque<Individual> breeding = new ArrayDeque<>();
+
+	// Island model, see setMigration
+	private MigrationTransport migration;
+	private int migration_interval = 5;
+	private int migration_size = 2;
 
 	// Information storage for floating parameter version
 	private boolean floatingParameters;
@@ -269,6 +284,20 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 		steadyReplace = mode;
 	}
 
+	/**
+	 * Turns this GA into an island of an island model: every few generations the best individuals are sent to a
+	 * neighbouring island, and individuals that arrived from other islands replace the worst ones of the population.
+	 * Migrants keep their tellability, so they are not simulated again.
+	 * @param transport connection to the other islands
+	 * @param interval number of generations between migrations
+	 * @param size number of individuals that emigrate each time
+	 */
+	public void setMigration(MigrationTransport transport, int interval, int size) {
+		this.migration = transport;
+		this.migration_interval = interval;
+		this.migration_size = size;
+	}
+
 	@Override
 	public boolean check_parameters() {
 
@@ -280,6 +309,16 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			this.individual_count = 4;
 		}
 
+		// Floating parameters adapt operator probabilities by evaluating offspring during breeding
+		if(this.asynchronous && this.floatingParameters) {
+			this.asynchronous = false;
+			System.out.println("Asynchronous evolution defaulted to off for floating parameters!");
+		}
+		if(this.surrogate != null && this.screening_factor > 1 && this.floatingParameters) {
+			this.screening_factor = 1;
+			System.out.println("Surrogate screening defaulted to off for floating parameters!");
+		}
+
 		// Selection size must be positive
 		if(this.selection_size < 2) {
 			this.selection_size = 2;
@@ -341,7 +380,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 	}
 
 	public Individual new_Candidate(ChromosomePersonality pers, ChromosomeHappenings hap, Integer steps) {
-		Fitness<EnvType,ModType> fit = new Fitness<>(this.EVO_ENV, this.verbose, this.level);
+		Fitness<EnvType,ModType> fit = this.new_Fitness();
 
 		return new Individual(pers, hap, steps, fit);
 
@@ -386,6 +425,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 		}
 		this.population_best.add(best);
 		this.population_bestHalf.add(halfAverage);
+		this.selection_threshold = this.population[this.individual_count-1].get_tellabilityValue();
 		this.population_average.add(average);
 		this.average_length.add(lenAve);
 
@@ -406,9 +446,40 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 	@Override
 	public void run_iteration() {
+		if (this.asynchronous) {
+			this.evolve_asynchronously();
+		} else {
+			this.breed();
+			this.recombine();
+		}
+		this.migrate();
+	}
+
+	/**
+	 * Fills offspring and mutated_offspring by selection, crossover and mutation. With a surrogate, screening_factor
+	 * times as many offspring are bred, and only those the surrogate ranks highest are kept.
+	 */
+	protected void breed() {
 		this.crossover(this.select());
 		this.mutate();
-		this.recombine();
+
+		if (this.surrogate == null || this.screening_factor < 2 || !this.surrogate.isTrained()) {
+			return;
+		}
+
+		List<Individual> crossed = new ArrayList<>(Arrays.asList(this.offspring));
+		List<Individual> bred = new ArrayList<>(Arrays.asList(this.mutated_offspring));
+		for (int i = 1; i < this.screening_factor; i++) {
+			this.crossover(this.select());
+			this.mutate();
+			crossed.addAll(Arrays.asList(this.offspring));
+			bred.addAll(Arrays.asList(this.mutated_offspring));
+		}
+		this.mutated_offspring = this.surrogate.screen(bred, this.selection_size).toArray(new Individual[this.selection_size]);
+		// only the partially random replacer picks from offspring that weren't mutated
+		if (!steadyReplace) {
+			this.offspring = this.surrogate.screen(crossed, this.selection_size).toArray(new Individual[this.selection_size]);
+		}
 	}
 
 	@Override
@@ -707,7 +778,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			// Create new personality chromosome
 			ChromosomePersonality personality = new ChromosomePersonality(this.number_agents);
 
-			int persType = persInitializer.get((int)Math.round(Math.random()*persInitializer.size()-0.5));
+			int persType = persInitializer.get((int)Math.round(this.random.nextDouble()*persInitializer.size()-0.5));
 			switch(persType) {
 			case 0:
 				personality = this.randomPersonalityInitializer();
@@ -730,7 +801,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			// Create new happening chromosome
 			ChromosomeHappenings happenings = new ChromosomeHappenings(this.number_agents,this.number_happenings);
 
-			int hapType = hapInitializer.get((int)Math.round(Math.random()*hapInitializer.size()-0.5));
+			int hapType = hapInitializer.get((int)Math.round(this.random.nextDouble()*hapInitializer.size()-0.5));
 			switch(hapType) {
 			case 0:
 				happenings = this.randomHappeningsInitializer(length.value);
@@ -764,6 +835,8 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			}
 		}
 
+		this.evaluate_candidates(this.population);
+
 		// Sort Candidates by performance. Best Individual will be at position zero descending
 		Arrays.sort(this.population);
 	}
@@ -782,7 +855,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < 5; j++) {
 
-				personality.values[i][j] = this.round(Math.random()*2-1);
+				personality.values[i][j] = this.round(this.random.nextDouble()*2-1);
 			}
 		}
 		return personality;
@@ -909,7 +982,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			selectionList.add(0);
 		}
 
-		int type = selectionList.get((int)Math.round(Math.random()*selectionList.size()-0.5));
+		int type = selectionList.get((int)Math.round(this.random.nextDouble()*selectionList.size()-0.5));
 
 		if(type == 1) {
 			return this.rouletteWheelSelector();
@@ -932,7 +1005,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 		while(selectedindividuals.size() < this.selection_size) {
 
-			int position = (int)Math.round(Math.random()*this.individual_count-0.5);
+			int position = (int)Math.round(this.random.nextDouble()*this.individual_count-0.5);
 			if(!selectedindividuals.contains(position)) {
 				selectedindividuals.add(position);
 			}
@@ -980,7 +1053,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			while(selectedIndividuals.size() < this.selection_size) {
 
 				int position = 0;
-				double value = Math.random()*total_fitness;
+				double value = this.random.nextDouble()*total_fitness;
 
 				while(value > rouletteWheel[position]) {
 					position++;
@@ -1031,10 +1104,10 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 		for(int i = 0; i < this.selection_size; i+=2) {
 
-			int pos = (int)Math.round(Math.random()*positions.size()-0.5);
+			int pos = (int)Math.round(this.random.nextDouble()*positions.size()-0.5);
 			int one = positions.get(pos);
 			positions.remove(pos);
-			pos = (int)Math.round(Math.random()*positions.size()-0.5);
+			pos = (int)Math.round(this.random.nextDouble()*positions.size()-0.5);
 			int two = positions.get(pos);
 			positions.remove(pos);
 
@@ -1048,7 +1121,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 					sum += element;
 				}
 
-				double roulette = Math.random()*sum-0.05;
+				double roulette = this.random.nextDouble()*sum-0.05;
 
 				this.crossover_prob = this.global_cross;
 
@@ -1066,7 +1139,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 			}else {
 
-				mode = crossoverList.get((int)Math.round(Math.random()*crossoverList.size()-0.5));
+				mode = crossoverList.get((int)Math.round(this.random.nextDouble()*crossoverList.size()-0.5));
 			}
 
 			switch(mode) {
@@ -1096,11 +1169,11 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 				}
 
 				// Add additional Votes
-				int additionalVotes = (int)Math.round(Math.random()*(this.individual_count-2)-0.5);
+				int additionalVotes = (int)Math.round(this.random.nextDouble()*(this.individual_count-2)-0.5);
 
 				while(additionalVotes > 0) {
 
-					int votePos = (int)Math.round(Math.random()*possibleVoters.size()-0.5);
+					int votePos = (int)Math.round(this.random.nextDouble()*possibleVoters.size()-0.5);
 
 					candidates.add((Individual) this.population[possibleVoters.get(votePos)]);
 					additionalVotes--;
@@ -1143,7 +1216,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 		// select which chromosomes to exchange: 0 - length, 1 - personality, 2 - happening
 		List<Integer> chromosomeIndex = Lists.newArrayList(0, 1, 2);
-		Collections.shuffle(chromosomeIndex);		// random shuffle places index of chromosomes to be swapped at beginning
+		Collections.shuffle(chromosomeIndex, this.random);		// random shuffle places index of chromosomes to be swapped at beginning
 		while (changeNum > 0) {
 			int switchChrom = chromosomeIndex.remove(0);
 
@@ -1210,7 +1283,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 		for(int i = 0; i < this.number_agents; i++) {
 			for(int j = 0; j < 5; j++) {
 
-				if(Math.random()<this.crossover_prob*this.personality_cross[i][j]) {
+				if(this.random.nextDouble()<this.crossover_prob*this.personality_cross[i][j]) {
 					personalityOne.values[i][j] = two.get_personality(i,j);
 					personalityTwo.values[i][j] = one.get_personality(i,j);
 					persChange[i][j] = true;
@@ -1221,7 +1294,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			}
 
 			for(int j = 0; j < this.number_happenings; j++) {
-				if(Math.random()<this.crossover_prob*this.happenings_cross[i][j]) {
+				if(this.random.nextDouble()<this.crossover_prob*this.happenings_cross[i][j]) {
 					happeningsOne.values[i][j] = two.get_happenings(i,j);
 					happeningsTwo.values[i][j] = one.get_happenings(i,j);
 					hapsChange[i][j] = true;
@@ -1232,7 +1305,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			}
 		}
 
-		if(Math.random() < this.crossover_prob * this.length_cross) {
+		if(this.random.nextDouble() < this.crossover_prob * this.length_cross) {
 			Integer tmp = lengthOne;
 			lengthOne = lengthTwo;
 			lengthTwo = tmp;
@@ -1311,7 +1384,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 		}
 
 		// since length is a single allele instead of an array, this is simply a single switch decision
-		if(Math.random() < this.crossover_prob * this.length_cross) {
+		if(this.random.nextDouble() < this.crossover_prob * this.length_cross) {
 			Integer tmp = lengthOne;
 			lengthOne = lengthTwo;
 			lengthTwo = tmp;
@@ -1371,14 +1444,14 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 		}
 
 		// mode is used to determine in which manner we iterate the array
-		int mode = (int)Math.round(Math.random());
+		int mode = (int)Math.round(this.random.nextDouble());
 
 		if(mode == 0) {
 
 			for(int i = 0; i < x; i++) {
 
 				// Get a random x position
-				int xPos = (int)Math.round(Math.random()*(x-i)-0.5);
+				int xPos = (int)Math.round(this.random.nextDouble()*(x-i)-0.5);
 				Integer xCoord = xlist.get(xPos);
 				xlist.remove(xPos);
 
@@ -1389,11 +1462,11 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 					ycopy.addAll(ylist);
 
 					// Get a random y position
-					int yPos = (int)Math.round(Math.random()*(y-j)-0.5);
+					int yPos = (int)Math.round(this.random.nextDouble()*(y-j)-0.5);
 					Integer yCoord = ycopy.get(yPos);
 					ycopy.remove(yPos);
 
-					if(Math.random() < this.crossover_prob * chromosome_cross[xPos][yPos]) {
+					if(this.random.nextDouble() < this.crossover_prob * chromosome_cross[xPos][yPos]) {
 						crossover_points[xPos][yPos] = true;
 						cross = !cross;
 					}
@@ -1407,7 +1480,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			for(int j = 0; j < y; j++){
 
 				// Get a random y position
-				int yPos = (int)Math.round(Math.random()*(y-j)-0.5);
+				int yPos = (int)Math.round(this.random.nextDouble()*(y-j)-0.5);
 				Integer yCoord = ylist.get(yPos);
 				ylist.remove(yPos);
 
@@ -1418,11 +1491,11 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 					xcopy.addAll(xlist);
 
 					// Get a random x position
-					int xPos = (int)Math.round(Math.random()*(x-i)-0.5);
+					int xPos = (int)Math.round(this.random.nextDouble()*(x-i)-0.5);
 					Integer xCoord = xcopy.get(xPos);
 					xcopy.remove(xPos);
 
-					if(Math.random() < this.crossover_prob * chromosome_cross[xPos][yPos]) {
+					if(this.random.nextDouble() < this.crossover_prob * chromosome_cross[xPos][yPos]) {
 						crossover_points[xPos][yPos] = true;
 						cross = !cross;
 					}
@@ -1458,7 +1531,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			for(int j = 0; j < 5; j++) {
 
 				int sum = 0;
-				int pos = (int)Math.round(Math.random()*candidates.size()-0.5);
+				int pos = (int)Math.round(this.random.nextDouble()*candidates.size()-0.5);
 
 				for(int k = 0; k < candidates.size(); k++) {
 
@@ -1473,7 +1546,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			for(int j = 0; j < this.number_happenings; j++) {
 
 				int sum = 0;
-				int pos = (int)Math.round(Math.random()*candidates.size()-0.5);
+				int pos = (int)Math.round(this.random.nextDouble()*candidates.size()-0.5);
 
 				for(int k = 0; k < candidates.size(); k++) {
 
@@ -1541,7 +1614,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 					sum += element;
 				}
 
-				double roulette = Math.random()*sum;
+				double roulette = this.random.nextDouble()*sum;
 
 				while(roulette > this.mut_prob[mode]) {
 					roulette -= this.mut_prob[mode];
@@ -1557,7 +1630,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 			}else {
 
-				mode = mutationList.get((int)Math.round(Math.random()*mutationList.size()-0.5));
+				mode = mutationList.get((int)Math.round(this.random.nextDouble()*mutationList.size()-0.5));
 			}
 
 			switch(mode) {
@@ -1581,7 +1654,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 				int j = i;
 				while(j==i) {
-					j = (int)Math.round(Math.random()*this.selection_size-0.5);
+					j = (int)Math.round(this.random.nextDouble()*this.selection_size-0.5);
 				}
 				this.mutated_offspring[i]=this.guidedMutator(this.offspring[i],this.offspring[j]);
 				break;
@@ -1618,7 +1691,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 		boolean[][] hapsChange = new boolean[this.number_agents][this.number_happenings];
 
 		// Simulation Length
-		if(Math.random() < this.mutation_prob * this.length_mut) {
+		if(this.random.nextDouble() < this.mutation_prob * this.length_mut) {
 			mutatedLength = this.random.nextInt(MAX_SIM_LENGTH);
 			change = true;
 		}
@@ -1627,9 +1700,9 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			// Personality
 			for(int j = 0; j < 5; j++) {
 
-				if(Math.random()<this.mutation_prob*this.personality_mut[i][j]) {
+				if(this.random.nextDouble()<this.mutation_prob*this.personality_mut[i][j]) {
 
-					mutatedPersonality.values[i][j] = this.round(Math.random()*2-1);
+					mutatedPersonality.values[i][j] = this.round(this.random.nextDouble()*2-1);
 					persChange[i][j] = true;
 					change = true;
 
@@ -1640,8 +1713,8 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 			// Happenings
 			for(int j = 0; j < this.number_happenings; j++) {
-				if(Math.random()<this.mutation_prob*this.happenings_mut[i][j]) {
-					mutatedHappenings.values[i][j] = (int)Math.round(Math.random() * mutatedLength - 0.5);
+				if(this.random.nextDouble()<this.mutation_prob*this.happenings_mut[i][j]) {
+					mutatedHappenings.values[i][j] = (int)Math.round(this.random.nextDouble() * mutatedLength - 0.5);
 					hapsChange[i][j] = true;
 					change = true;
 
@@ -1701,7 +1774,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 
 		// Simulation Length
-		if(Math.random() < this.mutation_prob * this.length_mut) {
+		if(this.random.nextDouble() < this.mutation_prob * this.length_mut) {
 			// if length is max, set to random
 			if (recipient.get_simLength().value >= MAX_SIM_LENGTH) {
 				mutatedLength = this.random.nextInt(MAX_SIM_LENGTH);
@@ -1719,7 +1792,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			for(int j = 0; j < 5; j++) {
 
 				mutatedPersonality.values[i][j] = recipient.get_personality(i,j);
-				if(Math.random()<this.mutation_prob*this.personality_mut[i][j]) {
+				if(this.random.nextDouble()<this.mutation_prob*this.personality_mut[i][j]) {
 
 					mutatedPersonality.values[i][j] *= -1;
 					persChange[i][j] = true;
@@ -1730,12 +1803,12 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			// Happenings
 			for(int j = 0; j < this.number_happenings; j++) {
 
-				if(Math.random()<this.mutation_prob*this.happenings_mut[i][j]) {
+				if(this.random.nextDouble()<this.mutation_prob*this.happenings_mut[i][j]) {
 
 					if(recipient.get_happenings(i,j) > 0) {
 						mutatedHappenings.values[i][j] = 0;
 					} else {
-						mutatedHappenings.values[i][j] = (int)Math.round(Math.random() * mutatedLength + 0.5);
+						mutatedHappenings.values[i][j] = (int)Math.round(this.random.nextDouble() * mutatedLength + 0.5);
 					}
 
 					hapsChange[i][j] = true;
@@ -1805,7 +1878,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 				mutatedPersonality.values[i][j] = recipient.get_personality(i,j);
 
-				if(Math.random()<this.mutation_prob*this.personality_mut[i][j]) {
+				if(this.random.nextDouble()<this.mutation_prob*this.personality_mut[i][j]) {
 
 					persChange[i][j] = true;
 					change = true;
@@ -1816,14 +1889,14 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 					while(i==xPos && j==yPos) {
 
-						if(Math.random()>0.5) {
-							xPos = (int)Math.round(Math.random()*this.number_agents-0.5);
+						if(this.random.nextDouble()>0.5) {
+							xPos = (int)Math.round(this.random.nextDouble()*this.number_agents-0.5);
 						}else {
-							yPos = (int)Math.round(Math.random()*5-0.5);
+							yPos = (int)Math.round(this.random.nextDouble()*5-0.5);
 						}
 					}
 
-					double ratio = Math.random()*2-1;
+					double ratio = this.random.nextDouble()*2-1;
 					double distance = recipient.get_personality(xPos,yPos) - recipient.get_personality(i,j);
 
 					if(ratio > 0) {
@@ -1844,7 +1917,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 				mutatedHappenings.values[i][j] = recipient.get_happenings(i,j);
 
-				if(Math.random()<this.mutation_prob*this.happenings_mut[i][j]) {
+				if(this.random.nextDouble()<this.mutation_prob*this.happenings_mut[i][j]) {
 
 					hapsChange[i][j] = true;
 					change = true;
@@ -1855,15 +1928,15 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 					while(i==xPos && j==yPos) {
 
-						if(Math.random()>0.5) {
-							xPos = (int)Math.round(Math.random()*this.number_agents-0.5);
+						if(this.random.nextDouble()>0.5) {
+							xPos = (int)Math.round(this.random.nextDouble()*this.number_agents-0.5);
 						}else {
 							// FIXME: here was an error with 5 used instead of happ. num.
-							yPos = (int)Math.round(Math.random()*this.number_happenings-0.5);
+							yPos = (int)Math.round(this.random.nextDouble()*this.number_happenings-0.5);
 						}
 					}
 
-					double ratio = Math.random()*2-1;
+					double ratio = this.random.nextDouble()*2-1;
 					double distance = recipient.get_happenings(xPos,yPos) - recipient.get_happenings(i,j);
 
 					if(ratio > 0) {
@@ -1929,8 +2002,8 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 		double distance;
 
 		// Simulation Length
-		if(Math.random() < this.mutation_prob * this.length_mut) {
-			ratio = Math.random() * 2 - 1;		// value in [-1, 1)
+		if(this.random.nextDouble() < this.mutation_prob * this.length_mut) {
+			ratio = this.random.nextDouble() * 2 - 1;		// value in [-1, 1)
 			distance = mutator.get_simLength().value - recipient.get_simLength().value;
 			mutatedLength += (int) Math.round(ratio * distance);
 		}
@@ -1941,12 +2014,12 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 				mutatedPersonality.values[i][j] = recipient.get_personality().values[i][j];
 
-				if(Math.random()<this.mutation_prob*this.personality_mut[i][j]) {
+				if(this.random.nextDouble()<this.mutation_prob*this.personality_mut[i][j]) {
 
 					persChange[i][j] = true;
 					change = true;
 
-					ratio = Math.random()*2-1;
+					ratio = this.random.nextDouble()*2-1;
 					distance = mutator.get_personality(i,j) - recipient.get_personality(i,j);
 
 					if(ratio > 0) {
@@ -1966,12 +2039,12 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 
 				mutatedHappenings.values[i][j] = recipient.get_happenings().values[i][j];
 
-				if(Math.random()<this.mutation_prob*this.happenings_mut[i][j]) {
+				if(this.random.nextDouble()<this.mutation_prob*this.happenings_mut[i][j]) {
 
 					hapsChange[i][j] = true;
 					change = true;
 
-					ratio = Math.random()*2-1;
+					ratio = this.random.nextDouble()*2-1;
 					distance = mutator.get_happenings(i,j) - recipient.get_happenings(i,j);
 
 					if(ratio > 0) {
@@ -2015,20 +2088,34 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 		return recipient;
 	}
 
+	/**
+	 * Evaluates all candidates that have not been evaluated yet, concurrently if parallelism is enabled.
+	 * @param candidates individuals whose simulations should be run
+	 */
+	protected void evaluate_candidates(CandidateSolution[] candidates) {
+		List<Supplier<CompletableFuture<?>>> evaluations = new ArrayList<>();
+		for (CandidateSolution candidate : candidates) {
+			if (candidate != null) {
+				evaluations.add(((Individual) candidate)::evaluateAsync);
+			}
+		}
+		this.evaluate_all(evaluations);
+	}
+
 	/*
 	 * Setup next Generation
 	 */
 
 	public void recombine() {
 		System.out.println("Start evaluate mutated offspring");
-		for (Individual i: this.mutated_offspring) {
-			i.evaluate();
-		}
+		this.evaluate_candidates(this.mutated_offspring);
 		Arrays.sort(this.mutated_offspring);
 
 		if(steadyReplace) {
 			this.population = this.steadyNoDuplicatesReplacer();
 		} else {
+			System.out.println("Start evaluate offspring");
+			this.evaluate_candidates(this.offspring);
 			this.population = this.partiallyRandomNoDuplicatesReplacer();
 		}
 
@@ -2040,6 +2127,93 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 		this.mutated_offspring = new Individual[this.selection_size];
 	}
 
+	/**
+	 * Steady-state version of an iteration: whenever the simulation of an offspring finishes, the offspring replaces
+	 * the worst individual it outperforms, and the next offspring is submitted right away. Offspring are bred in
+	 * batches of selection_size from the population at the time the previous batch ran out. The iteration ends after
+	 * selection_size evaluations, the same number a generational iteration needs.
+	 */
+	protected void evolve_asynchronously() {
+		int completed = 0;
+		while (completed < this.selection_size && !Thread.currentThread().isInterrupted()) {
+			// keep all workers busy
+			while (this.pending_evaluations() < this.evaluation_capacity()) {
+				Individual child = this.next_offspring();
+				this.submit_evaluation(() -> child.evaluateAsync().thenApply(value -> () -> this.integrate(child)));
+			}
+
+			this.complete_evaluation();
+			completed += 1;
+		}
+	}
+
+	/**
+	 * Returns the next offspring to be evaluated, breeding a new batch by selection, crossover and mutation if needed.
+	 */
+	private Individual next_offspring() {
+		if (this.breeding.isEmpty()) {
+			this.breed();
+			this.breeding.addAll(Arrays.asList(this.mutated_offspring));
+
+			this.offspring = new Individual[this.selection_size];
+			this.mutated_offspring = new Individual[this.selection_size];
+		}
+		return this.breeding.poll();
+	}
+
+	/**
+	 * Inserts an evaluated offspring into the population if it is better than the worst individual and not a
+	 * duplicate, keeping the population sorted.
+	 */
+	private void integrate(Individual child) {
+		Individual[] population = (Individual[]) this.population;
+		int worst = population.length - 1;
+		if (child.isContainedIn(population)) {
+			// isContainedIn already kept the better of both
+			Arrays.sort(this.population);
+			return;
+		}
+		if (child.get_tellabilityValue() > population[worst].get_tellabilityValue()) {
+			population[worst] = child;
+			Arrays.sort(this.population);
+			this.selection_threshold = population[worst].get_tellabilityValue();
+		}
+	}
+
+	/**
+	 * Exchanges individuals with other islands, if migration is enabled and due in this generation. Immigrants that
+	 * are already part of the population are skipped, the others replace the worst individuals they outperform.
+	 */
+	protected void migrate() {
+		if (this.migration == null || (this.iterationNum + 1) % this.migration_interval != 0) {
+			return;
+		}
+
+		List<Individual> emigrants = new ArrayList<>();
+		for (int i = 0; i < Math.min(this.migration_size, this.population.length); i++) {
+			emigrants.add((Individual) this.population[i]);
+		}
+		this.migration.send(emigrants);
+
+		List<Individual> immigrants = this.migration.receive();
+		Collections.sort(immigrants);
+
+		Individual[] population = (Individual[]) this.population;
+		int worst = population.length - 1;
+		for (Individual immigrant : immigrants) {
+			if (worst < 0 || immigrant.isContainedIn(population)) {
+				continue;
+			}
+			if (immigrant.get_tellabilityValue() > population[worst].get_tellabilityValue()) {
+				population[worst] = immigrant;
+				worst -= 1;
+			}
+		}
+		System.out.println("Integrated " + (population.length - 1 - worst) + " of " + immigrants.size() + " immigrants");
+
+		Arrays.sort(this.population);
+	}
+
 	/**
 	 * Tries to find the index iTmp of the next individual in sourceCollection, at or after originalIndex, that is not yet
 	 * contained in targetCollection, such that appending sourceCollection[iTmp] to targetCollection will not leed to
@@ -2194,7 +2368,7 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 			boolean done = false;
 
 			while(!done) {
-				int pos = (int)Math.round(Math.random()*allCandidates.size()-0.5);
+				int pos = (int)Math.round(this.random.nextDouble()*allCandidates.size()-0.5);
 				if(!allCandidates.isEmpty()) {
 					if(!allCandidates.get(pos).isContainedIn(next_gen)) {
 						next_gen[i] = allCandidates.get(pos);
@@ -2206,4 +2380,57 @@ public class GeneticAlgorithm<EnvType extends PlotEnvironment<ModType>, ModType
 		}
 		return next_gen;
 	}
+
+	// ***************** Checkpoints *****************
+
+	@Override
+	protected void write_state(DataOutput out) throws IOException {
+		out.writeInt(this.population.length);
+		for (CandidateSolution individual : this.population) {
+			((Individual) individual).write_state(out);
+		}
+
+		out.writeDouble(this.crossover_prob);
+		out.writeDouble(this.mutation_prob);
+		out.writeDouble(this.global_cross);
+		out.writeDouble(this.global_mut);
+		Checkpoint.writeArray(out, this.cross_prob);
+		Checkpoint.writeArray(out, this.mut_prob);
+		Checkpoint.writeMatrix(out, this.personality_cross);
+		Checkpoint.writeMatrix(out, this.personality_mut);
+		Checkpoint.writeMatrix(out, this.happenings_cross);
+		Checkpoint.writeMatrix(out, this.happenings_mut);
+		out.writeDouble(this.length_mut);
+		out.writeDouble(this.length_cross);
+
+		Checkpoint.writeList(out, this.population_bestHalf);
+		out.writeDouble(this.population_bestAverage);
+	}
+
+	@Override
+	protected void read_state(DataInput in) throws IOException {
+		this.population = new Individual[in.readInt()];
+		for (int i = 0; i < this.population.length; i++) {
+			this.population[i] = Individual.read_state(in);
+		}
+		this.offspring = new Individual[this.selection_size];
+		this.mutated_offspring = new Individual[this.selection_size];
+		this.breeding.clear();
+
+		this.crossover_prob = in.readDouble();
+		this.mutation_prob = in.readDouble();
+		this.global_cross = in.readDouble();
+		this.global_mut = in.readDouble();
+		this.cross_prob = Checkpoint.readArray(in);
+		this.mut_prob = Checkpoint.readArray(in);
+		this.personality_cross = Checkpoint.readMatrix(in);
+		this.personality_mut = Checkpoint.readMatrix(in);
+		this.happenings_cross = Checkpoint.readMatrix(in);
+		this.happenings_mut = Checkpoint.readMatrix(in);
+		this.length_mut = in.readDouble();
+		this.length_cross = in.readDouble();
+
+		this.population_bestHalf = Checkpoint.readList(in);
+		this.population_bestAverage = in.readDouble();
+	}
 }
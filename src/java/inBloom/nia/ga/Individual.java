@@ -1,8 +1,14 @@
 package inBloom.nia.ga;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
 import jason.JasonException;
 
 import inBloom.nia.CandidateSolution;
+import inBloom.nia.Checkpoint;
 import inBloom.nia.ChromosomeHappenings;
 import inBloom.nia.ChromosomePersonality;
 import inBloom.nia.Fitness;
@@ -22,20 +28,40 @@ public class Individual extends CandidateSolution implements Comparable<Individu
 	 * Operates lazily.
 	 */
 	public void evaluate() {
-		if (this.tellabilityValue == null) {
-			try {
-				this.tellabilityValue = this.fitness.evaluateSolution(this);
-				this.tellability = this.fitness.tellability;
-			} catch (JasonException e) {
-				e.printStackTrace();
-				this.tellabilityValue = 0.0;
-			} catch (NullPointerException e) {
-				e.printStackTrace();
-				this.tellabilityValue = 0.0;
-			}
-		}
+		this.evaluateAsync().join();
+	}
 
+	/**
+	 * Starts the evaluation of this individual, see {@linkplain #evaluate()}. Returns as soon as the simulation has
+	 * finished, the results are saved once the plot is analyzed, see {@linkplain Fitness#submitSolution(CandidateSolution)}.
+	 * @return future tellability value of this individual
+	 */
+	public CompletableFuture<Double> evaluateAsync() {
+		Fitness<?,?> fit = this.fitness;
 		this.fitness = null;
+
+		if (this.tellabilityValue != null) {
+			return CompletableFuture.completedFuture(this.tellabilityValue);
+		}
+
+		CompletableFuture<Double> result;
+		try {
+			result = fit.submitSolution(this);
+		} catch (JasonException e) {
+			e.printStackTrace();
+			this.tellabilityValue = 0.0;
+			return CompletableFuture.completedFuture(this.tellabilityValue);
+		} catch (NullPointerException e) {
+			e.printStackTrace();
+			this.tellabilityValue = 0.0;
+			return CompletableFuture.completedFuture(this.tellabilityValue);
+		}
+
+		return result.thenApply(value -> {
+			this.tellabilityValue = value;
+			this.tellability = fit.tellability;
+			return value;
+		});
 	}
 
 	/**
@@ -122,4 +148,17 @@ public class Individual extends CandidateSolution implements Comparable<Individu
 		}
 		return this.tellabilityValue;
 	}
+
+	public void write_state(DataOutput out) throws IOException {
+		Checkpoint.writeSolution(out, this);
+	}
+
+	/**
+	 * Restores an individual from a checkpoint, without evaluating it again.
+	 */
+	public static Individual read_state(DataInput in) throws IOException {
+		Individual individual = new Individual(null, null, null, null);
+		Checkpoint.readSolution(in, individual);
+		return individual;
+	}
 }
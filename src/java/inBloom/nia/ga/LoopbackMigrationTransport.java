@@ -0,0 +1,95 @@
+package inBloom.nia.ga;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+
+/**
+ * Migration between islands that run on the same machine, e.g. one process per core. Islands form a ring: island
+ * {@code i} listens on {@code basePort + i} and sends its emigrants to island {@code (i + 1) % islands}.
+ */
+public class LoopbackMigrationTransport implements MigrationTransport {
+	protected static Logger logger = Logger.getLogger(LoopbackMigrationTransport.class.getName());
+
+	private int island;
+	private int neighbourPort;
+
+	private ServerSocket server;
+	private ConcurrentLinkedQueue<Individual> arrivals = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Starts listening for migrants of the previous island.
+	 * @param island id of this island, starting at 0
+	 * @param islands number of islands in the ring
+	 * @param basePort port of island 0, the following islands use the following ports
+	 * @throws IOException if the port of this island is not available
+	 */
+	public LoopbackMigrationTransport(int island, int islands, int basePort) throws IOException {
+		this.island = island;
+		this.neighbourPort = basePort + (island + 1) % islands;
+		this.server = new ServerSocket(basePort + island, 50, InetAddress.getLoopbackAddress());
+
+		Thread listener = new Thread(this::listen, "Island-" + island + "-Migration");
+		listener.setDaemon(true);
+		listener.start();
+	}
+
+	@Override
+	public void send(List<Individual> emigrants) {
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), this.neighbourPort)) {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			out.writeInt(emigrants.size());
+			for (Individual emigrant : emigrants) {
+				emigrant.write_state(out);
+			}
+			out.flush();
+		} catch (IOException e) {
+			logger.info("Island " + this.island + " could not reach its neighbour, dropping " + emigrants.size() + " emigrants");
+		}
+	}
+
+	@Override
+	public List<Individual> receive() {
+		List<Individual> immigrants = new ArrayList<>();
+		Individual immigrant;
+		while ((immigrant = this.arrivals.poll()) != null) {
+			immigrants.add(immigrant);
+		}
+		return immigrants;
+	}
+
+	@Override
+	public void close() {
+		try {
+			this.server.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private void listen() {
+		while (!this.server.isClosed()) {
+			try (Socket socket = this.server.accept()) {
+				DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+				int count = in.readInt();
+				for (int i = 0; i < count; i++) {
+					this.arrivals.add(Individual.read_state(in));
+				}
+			} catch (SocketException e) {
+				// server was closed
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package inBloom.nia.ga;
+
+import java.util.List;
+
+/**
+ * Connects an island of the island model GA to its neighbours, see
+ * {@linkplain GeneticAlgorithm#setMigration(MigrationTransport, int, int)}. Migrants are transferred together with
+ * their evaluation results, so that they don't need to be simulated again on the receiving island.
+ */
+public interface MigrationTransport {
+
+	/**
+	 * Sends individuals to the neighbouring island. Must not block until they are integrated there, and should
+	 * silently drop the migrants if the neighbour can't be reached, e.g. because it already terminated.
+	 * @param emigrants evaluated individuals leaving this island
+	 */
+	public void send(List<Individual> emigrants);
+
+	/**
+	 * Returns all individuals that arrived since the last call, without waiting for new ones.
+	 * @return arrived individuals, possibly empty
+	 */
+	public List<Individual> receive();
+
+	public void close();
+}
@@ -1,11 +1,20 @@
 package inBloom.nia.pso;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import inBloom.PlotEnvironment;
 import inBloom.PlotModel;
+import inBloom.nia.CandidateSolution;
+import inBloom.nia.Checkpoint;
 import inBloom.nia.ChromosomeHappenings;
 import inBloom.nia.ChromosomePersonality;
 import inBloom.nia.Fitness;
@@ -57,6 +66,8 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 	private boolean fitnessBasedSelection = false;
 	// false -> use static update rate, false -> update with force calculation
 	private boolean floatingParameters = USE_FLOATING_PARAM;
+	// Particles waiting to be moved during asynchronous optimization, all others are being simulated
+	private Deque<Particle> idle_particles;
 
 
 
@@ -434,8 +445,12 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 	@Override
 	public void run_iteration() {
-		this.move_particles();
-		this.update_movement();
+		if(this.asynchronous) {
+			this.move_asynchronously();
+		} else {
+			this.move_particles();
+			this.update_movement();
+		}
 	}
 
 	/*
@@ -452,7 +467,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 	public Particle new_particle(ChromosomePersonality pers,ChromosomePersonality velocity_pers,ChromosomeHappenings hap, ChromosomeHappenings velocity_hap, Integer steps) {
 
-		Fitness<EnvType,ModType> fit = new Fitness<>(this.EVO_ENV,this.verbose,this.level);
+		Fitness<EnvType,ModType> fit = this.new_Fitness();
 
 		return new Particle(pers, velocity_pers, hap, velocity_hap, steps, fit);
 	}
@@ -516,7 +531,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 			if(!velInitializer.isEmpty()) {
 
-				int velType = velInitializer.get((int)Math.round(Math.random()*velInitializer.size()-0.5));
+				int velType = velInitializer.get((int)Math.round(this.random.nextDouble()*velInitializer.size()-0.5));
 
 				switch(velType) {
 				case 0:
@@ -536,7 +551,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 			// Initialize population based on findings of the genetic algorithm
 			if(index < geneticInit) {
 
-				Fitness<EnvType,ModType> fit = new Fitness<>(this.EVO_ENV,this.verbose,this.level);
+				Fitness<EnvType,ModType> fit = this.new_Fitness();
 				this.population[index] = new Particle(this.gen_pool[index],pers_velocity,hap_velocity,fit);
 
 			// Otherwise use classic initialization
@@ -544,7 +559,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 				ChromosomePersonality personality = new ChromosomePersonality(this.number_agents);
 
-				int persType = persInitializer.get((int)Math.round(Math.random()*persInitializer.size()-0.5));
+				int persType = persInitializer.get((int)Math.round(this.random.nextDouble()*persInitializer.size()-0.5));
 
 				switch(persType) {
 				case 2:
@@ -569,7 +584,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 				ChromosomeHappenings happenings = new ChromosomeHappenings(this.number_agents,this.number_happenings);
 
-				int hapType = hapInitializer.get((int)Math.round(Math.random()*hapInitializer.size()-0.5));
+				int hapType = hapInitializer.get((int)Math.round(this.random.nextDouble()*hapInitializer.size()-0.5));
 
 				switch(hapType) {
 				case 0:
@@ -612,7 +627,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < 5; j++) {
 
-				personality.values[i][j] = this.round(Math.random()*2-1);
+				personality.values[i][j] = this.round(this.random.nextDouble()*2-1);
 			}
 		}
 		return personality;
@@ -631,7 +646,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < 5; j++) {
-				personality.values[i][j] = discretePersValues[(int)Math.round(Math.random()*discretePersValues.length-0.5)];
+				personality.values[i][j] = discretePersValues[(int)Math.round(this.random.nextDouble()*discretePersValues.length-0.5)];
 			}
 		}
 		return personality;
@@ -656,7 +671,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 			}
 
 			for(int j = 0; j < 5; j++) {
-				int position = (int)Math.round(Math.random()*discreteList.size()-0.5);
+				int position = (int)Math.round(this.random.nextDouble()*discreteList.size()-0.5);
 				personality.values[i][j] = discreteList.get(position);
 				discreteList.remove(position);
 			}
@@ -678,7 +693,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < this.number_happenings; j++) {
-				happenings.values[i][j] = (int)Math.round(Math.random()*(this.estimated_max_steps/this.number_happenings+1)-0.5)*this.number_happenings;
+				happenings.values[i][j] = (int)Math.round(this.random.nextDouble()*(this.estimated_max_steps/this.number_happenings+1)-0.5)*this.number_happenings;
 			}
 		}
 		return happenings;
@@ -698,8 +713,8 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < this.number_happenings; j++) {
-				if(Math.random()<1/this.number_agents) {
-					happenings.values[i][j] = (int)Math.round(Math.random()*(this.estimated_max_steps/this.number_happenings)+0.5)*this.number_happenings;
+				if(this.random.nextDouble()<1/this.number_agents) {
+					happenings.values[i][j] = (int)Math.round(this.random.nextDouble()*(this.estimated_max_steps/this.number_happenings)+0.5)*this.number_happenings;
 				}
 			}
 		}
@@ -720,9 +735,9 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		for(int i = 0; i < this.number_agents;i++) {
 
-			int j = (int)Math.round(Math.random()*this.number_agents-0.5);
+			int j = (int)Math.round(this.random.nextDouble()*this.number_agents-0.5);
 
-			happenings.values[i][j] = (int)Math.round(Math.random()*(this.estimated_max_steps/this.number_happenings)+0.5)*this.number_happenings;
+			happenings.values[i][j] = (int)Math.round(this.random.nextDouble()*(this.estimated_max_steps/this.number_happenings)+0.5)*this.number_happenings;
 		}
 		return happenings;
 	}
@@ -735,7 +750,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < 5; j++) {
 
-				pers_velocity.values[i][j] = this.round(Math.random()*0.2-0.1);
+				pers_velocity.values[i][j] = this.round(this.random.nextDouble()*0.2-0.1);
 			}
 		}
 		return pers_velocity;
@@ -749,7 +764,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < this.number_happenings; j++) {
 
-				hap_velocity.values[i][j] = (int)Math.round((Math.random()*2-1)*this.estimated_max_steps/this.number_happenings);
+				hap_velocity.values[i][j] = (int)Math.round((this.random.nextDouble()*2-1)*this.estimated_max_steps/this.number_happenings);
 			}
 		}
 		return hap_velocity;
@@ -763,7 +778,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < 5; j++) {
 
-				pers_velocity.values[i][j] = discretePersVelocity[(int)Math.round(Math.random()*discretePersVelocity.length-0.5)];
+				pers_velocity.values[i][j] = discretePersVelocity[(int)Math.round(this.random.nextDouble()*discretePersVelocity.length-0.5)];
 			}
 		}
 		return pers_velocity;
@@ -777,7 +792,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < this.number_happenings; j++) {
-				hap_velocity.values[i][j] = discreteHapVelocity[(int)Math.round(Math.random()*discreteHapVelocity.length-0.5)];
+				hap_velocity.values[i][j] = discreteHapVelocity[(int)Math.round(this.random.nextDouble()*discreteHapVelocity.length-0.5)];
 			}
 		}
 		return hap_velocity;
@@ -786,17 +801,77 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 	public void move_particles() {
 
+		List<Supplier<CompletableFuture<?>>> moves = new ArrayList<>();
 		for(int i = 0; i < this.individual_count; i++) {
 
-			((Particle) this.population[i]).move();
-			((Particle) this.population[i]).update_tellability(new Fitness<EnvType,ModType>(this.EVO_ENV,this.verbose,this.level));
+			Particle particle = (Particle) this.population[i];
+			Fitness<EnvType,ModType> fit = this.new_Fitness();
+			moves.add(() -> {
+				particle.move();
+				return particle.simulate(fit).thenAccept(value -> particle.update_tellability(value, fit));
+			});
+		}
+		this.evaluate_all(moves);
+
+		Arrays.sort(this.population);
+		if(this.floatingParameters) {
+			this.update_Distances();
+		}
+	}
+
 
+	/**
+	 * Asynchronous version of an iteration: whenever the simulation of a particle finishes, its result is applied,
+	 * its velocity is updated from the current state of the swarm and it is moved and submitted again right away.
+	 * The iteration ends after individual_count evaluations, the same number a synchronous iteration needs.
+	 */
+	protected void move_asynchronously() {
+		if(this.idle_particles == null) {
+			this.idle_particles = new ArrayDeque<>();
+			for(CandidateSolution particle : this.population) {
+				this.idle_particles.add((Particle) particle);
+			}
+		}
+
+		int completed = 0;
+		while(completed < this.individual_count && !Thread.currentThread().isInterrupted()) {
+			// keep all workers busy
+			while(this.pending_evaluations() < this.evaluation_capacity() && !this.idle_particles.isEmpty()) {
+				Particle particle = this.idle_particles.poll();
+				Fitness<EnvType,ModType> fit = this.new_Fitness();
+				particle.move();
+				this.submit_evaluation(() -> particle.simulate(fit).thenApply(value -> () -> this.settle(particle, value, fit)));
+			}
+
+			this.complete_evaluation();
+			completed += 1;
 		}
+	}
+
+	/**
+	 * Applies the result of an asynchronous simulation and steers the particle for its next move.
+	 */
+	private void settle(Particle particle, Double value, Fitness<EnvType,ModType> fit) {
+		particle.update_tellability(value, fit);
 
 		Arrays.sort(this.population);
 		if(this.floatingParameters) {
 			this.update_Distances();
 		}
+
+		int index = 0;
+		while(this.population[index] != particle) {
+			index++;
+		}
+
+		List<Integer> informants = this.select_particles(index);
+		if(this.floatingParameters) {
+			this.floating_Updater(index, informants);
+		} else {
+			this.static_Updater(index, informants);
+		}
+
+		this.idle_particles.add(particle);
 	}
 
 
@@ -887,7 +962,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				for(int j = 0; j < 5; j++) {
 
 					if(!this.deterministic) {
-						random_factor = Math.random();
+						random_factor = this.random.nextDouble();
 					}
 
 					update_personality[i][j] += random_factor * force*(((Particle) this.population[informants.get(index)]).best_personality(i, j) - this.population[recipient].get_personality(i, j));
@@ -896,7 +971,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				for(int j = 0; j < this.number_happenings; j++) {
 
 					if(!this.deterministic) {
-						random_factor = Math.random();
+						random_factor = this.random.nextDouble();
 					}
 
 					update_happenings[i][j] += random_factor * force*(((Particle) this.population[informants.get(index)]).best_happenings(i, j) - this.population[recipient].get_happenings(i, j));
@@ -954,7 +1029,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				for(int j = 0; j < 5; j++) {
 
 					if(!this.deterministic) {
-						random_factor = Math.random();
+						random_factor = this.random.nextDouble();
 					}
 
 					update_personality[i][j] += random_factor*force*(((Particle) this.population[informants.get(index)]).best_personality(i, j) - this.population[recipient].get_personality(i, j));
@@ -963,7 +1038,7 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				for(int j = 0; j < this.number_happenings; j++) {
 
 					if(!this.deterministic) {
-						random_factor = Math.random();
+						random_factor = this.random.nextDouble();
 					}
 
 					update_happenings[i][j] += random_factor*force*(((Particle) this.population[informants.get(index)]).best_happenings(i, j) - this.population[recipient].get_happenings(i, j));
@@ -994,4 +1069,33 @@ public class PSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 			}
 		}
 	}
+
+	// ***************** Checkpoints *****************
+
+	@Override
+	protected void write_state(DataOutput out) throws IOException {
+		out.writeInt(this.population.length);
+		for (CandidateSolution particle : this.population) {
+			((Particle) particle).write_state(out);
+		}
+
+		Checkpoint.writeMatrix(out, this.max_personality);
+		Checkpoint.writeMatrix(out, this.min_personality);
+		Checkpoint.writeMatrix(out, this.max_happenings);
+		Checkpoint.writeMatrix(out, this.min_happenings);
+	}
+
+	@Override
+	protected void read_state(DataInput in) throws IOException {
+		this.population = new Particle[in.readInt()];
+		for (int i = 0; i < this.population.length; i++) {
+			this.population[i] = Particle.read_state(in);
+		}
+		this.idle_particles = null;
+
+		this.max_personality = Checkpoint.readMatrix(in);
+		this.min_personality = Checkpoint.readMatrix(in);
+		this.max_happenings = Checkpoint.readMatrix(in);
+		this.min_happenings = Checkpoint.readMatrix(in);
+	}
 }
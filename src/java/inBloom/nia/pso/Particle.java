@@ -1,8 +1,14 @@
 package inBloom.nia.pso;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
 import jason.JasonException;
 
 import inBloom.nia.CandidateSolution;
+import inBloom.nia.Checkpoint;
 import inBloom.nia.ChromosomeHappenings;
 import inBloom.nia.ChromosomePersonality;
 import inBloom.nia.Fitness;
@@ -26,6 +32,13 @@ public class Particle extends CandidateSolution implements Comparable<Particle>{
 		this.update_tellability(fit);
 	}
 
+	/**
+	 * Used to restore a particle from a checkpoint, see {@linkplain #read_state(DataInput)}.
+	 */
+	private Particle() {
+		super();
+	}
+
 	public Particle(Individual candidate, ChromosomePersonality velocity_personality, ChromosomeHappenings velocity_happenings, Fitness<?,?> fit) {
 		super(candidate.get_personality(), candidate.get_happenings(), new Integer(candidate.get_simLength().value));
 		this.actual_length  = candidate.get_actualLength();
@@ -86,6 +99,7 @@ public class Particle extends CandidateSolution implements Comparable<Particle>{
 
 	public void move() {
 
+		this.renew_id();
 		Integer length = 0;
 
 		for(int i = 0; i < this.personality.values.length; i++) {
@@ -123,28 +137,46 @@ public class Particle extends CandidateSolution implements Comparable<Particle>{
 	 * Start simulation
 	 */
 	public void update_tellability(Fitness<?,?> fit) {
-		try {
-			this.tellabilityValue = fit.evaluateSolution(this);
-
-			if(this.tellabilityValue > this.best_tellability) {
-				// FIXME: Fixed bug where best_personality would be same instance as personality, and change with every move
-				this.best_personality = this.personality.clone();
-				this.best_happenings = this.happenings.clone();
-				this.best_simLength = this.simulation_length.value;
-				this.best_actualLength = this.actual_length;
-				this.best_tellability = this.tellabilityValue;
-
-				this.tellability = fit.tellability;
-				this.updateNotes();
-			}
+		this.update_tellability(this.simulate(fit).join(), fit);
+	}
 
+	/**
+	 * Evaluates the current position without updating the memory of the particle, which can be read by other
+	 * particles in the meantime. The result is applied by {@linkplain #update_tellability(Double, Fitness)}.
+	 * Returns as soon as the simulation has finished, while the plot may still be analyzed.
+	 * @return future tellability of the current position, completes with null if the simulation failed
+	 */
+	public CompletableFuture<Double> simulate(Fitness<?,?> fit) {
+		try {
+			return fit.submitSolution(this);
 		} catch (JasonException e) {
 			//e.printStackTrace();
 		} catch (NullPointerException e) {
 			//e.printStackTrace();
 		}
+		return CompletableFuture.completedFuture(null);
+	}
 
-		fit = null;
+	/**
+	 * Applies the result of {@linkplain #simulate(Fitness)}, remembering the current position if it is the best so far.
+	 */
+	public void update_tellability(Double value, Fitness<?,?> fit) {
+		if(value == null) {
+			return;
+		}
+		this.tellabilityValue = value;
+
+		if(this.tellabilityValue > this.best_tellability) {
+			// FIXME: Fixed bug where best_personality would be same instance as personality, and change with every move
+			this.best_personality = this.personality.clone();
+			this.best_happenings = this.happenings.clone();
+			this.best_simLength = this.simulation_length.value;
+			this.best_actualLength = this.actual_length;
+			this.best_tellability = this.tellabilityValue;
+
+			this.tellability = fit.tellability;
+			this.updateNotes();
+		}
 	}
 
 	/**
@@ -163,4 +195,31 @@ public class Particle extends CandidateSolution implements Comparable<Particle>{
 	public String to_String() {
 		return this.to_String(this.best_personality, this.best_happenings, this.best_simLength, this.best_actualLength);
 	}
+
+	public void write_state(DataOutput out) throws IOException {
+		Checkpoint.writeSolution(out, this);
+		Checkpoint.writePersonality(out, this.best_personality);
+		Checkpoint.writeHappenings(out, this.best_happenings);
+		Checkpoint.writePersonality(out, this.velocity_personality);
+		Checkpoint.writeHappenings(out, this.velocity_happenings);
+		out.writeDouble(this.best_tellability);
+		Checkpoint.writeInteger(out, this.best_simLength);
+		Checkpoint.writeInteger(out, this.best_actualLength);
+	}
+
+	/**
+	 * Restores a particle from a checkpoint, without evaluating it again.
+	 */
+	public static Particle read_state(DataInput in) throws IOException {
+		Particle particle = new Particle();
+		Checkpoint.readSolution(in, particle);
+		particle.best_personality = Checkpoint.readPersonality(in);
+		particle.best_happenings = Checkpoint.readHappenings(in);
+		particle.velocity_personality = Checkpoint.readPersonality(in);
+		particle.velocity_happenings = Checkpoint.readHappenings(in);
+		particle.best_tellability = in.readDouble();
+		particle.best_simLength = Checkpoint.readInteger(in);
+		particle.best_actualLength = Checkpoint.readInteger(in);
+		return particle;
+	}
 }
@@ -1,12 +1,18 @@
 package inBloom.nia.qso;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import inBloom.PlotEnvironment;
 import inBloom.PlotModel;
 import inBloom.nia.CandidateSolution;
+import inBloom.nia.Checkpoint;
 import inBloom.nia.ChromosomeHappenings;
 import inBloom.nia.ChromosomePersonality;
 import inBloom.nia.Fitness;
@@ -471,9 +477,9 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 	public Quantum new_quantum(ChromosomePersonality pers,ChromosomePersonality velocity_pers,ChromosomeHappenings hap, ChromosomeHappenings velocity_hap, Integer steps) {
 
-		Fitness<EnvType,ModType> fit = new Fitness<>(this.EVO_ENV,this.verbose,this.level);
+		Fitness<EnvType,ModType> fit = this.new_Fitness();
 
-		return new Quantum(this.individual_count, pers, velocity_pers, hap, velocity_hap, steps, fit);
+		return new Quantum(this.individual_count, pers, velocity_pers, hap, velocity_hap, steps, fit, this.random);
 	}
 
 	public QuantumPosition new_quantumPosition(Quantum quant, int state, ChromosomePersonality pers,ChromosomeHappenings hap) {
@@ -483,18 +489,46 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 	public QuantumPosition new_quantumPosition(Quantum quant, int state, ChromosomePersonality pers,ChromosomeHappenings hap, Integer steps) {
 
-		Fitness<EnvType,ModType> fit = new Fitness<>(this.EVO_ENV,this.verbose,this.level);
+		Fitness<EnvType,ModType> fit = this.new_Fitness();
 
 		return new QuantumPosition(pers, quant.get_position(state).get_persVelocity(), hap,quant.get_position(state).get_hapVelocity(), steps, 0, fit);
 	}
 
 	public void add_quantumPosition(Quantum quant, int state, ChromosomePersonality pers,ChromosomeHappenings hap) {
 
-		Fitness<EnvType,ModType> fit = new Fitness<>(this.EVO_ENV,this.verbose,this.level);
+		Fitness<EnvType,ModType> fit = this.new_Fitness();
 
 		quant.add_Position(state, pers, hap, this.determineLength(hap), fit);
 	}
 
+	/**
+	 * Adds the better of two neighbouring positions to a quantum. Both neighbours are simulated, unless a trained
+	 * surrogate is set, in which case only the neighbour it ranks higher is simulated.
+	 */
+	public void add_better_neighbour(Quantum quant, int state, ChromosomePersonality persOne, ChromosomeHappenings hapOne, ChromosomePersonality persTwo, ChromosomeHappenings hapTwo) {
+
+		if(this.surrogate != null && this.screening_factor > 1 && this.surrogate.isTrained()) {
+			int lengthOne = this.determineLength(hapOne);
+			int lengthTwo = this.determineLength(hapTwo);
+
+			if(this.surrogate.predict(persOne, hapOne, lengthOne).score() >= this.surrogate.predict(persTwo, hapTwo, lengthTwo).score()) {
+				quant.add_Position(this.new_quantumPosition(quant, state, persOne, hapOne, lengthOne), state);
+			} else {
+				quant.add_Position(this.new_quantumPosition(quant, state, persTwo, hapTwo, lengthTwo), state);
+			}
+			return;
+		}
+
+		QuantumPosition one = this.new_quantumPosition(quant, state, persOne, hapOne);
+		QuantumPosition two = this.new_quantumPosition(quant, state, persTwo, hapTwo);
+
+		if(one.get_tellabilityValue() > two.get_tellabilityValue()) {
+			quant.add_Position(one, state);
+		} else {
+			quant.add_Position(two, state);
+		}
+	}
+
 
 	@Override
 	protected void initialize_population() {
@@ -555,7 +589,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 			if(!velInitializer.isEmpty()) {
 
-				int velType = velInitializer.get((int)Math.round(Math.random()*velInitializer.size()-0.5));
+				int velType = velInitializer.get((int)Math.round(this.random.nextDouble()*velInitializer.size()-0.5));
 
 				switch(velType) {
 				case 0:
@@ -574,7 +608,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 			ChromosomePersonality personality = new ChromosomePersonality(this.number_agents);
 
-			int persType = persInitializer.get((int)Math.round(Math.random()*persInitializer.size()-0.5));
+			int persType = persInitializer.get((int)Math.round(this.random.nextDouble()*persInitializer.size()-0.5));
 
 			switch(persType) {
 			case 2:
@@ -598,7 +632,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 			ChromosomeHappenings happenings = new ChromosomeHappenings(this.number_agents,this.number_happenings);
 
-			int hapType = hapInitializer.get((int)Math.round(Math.random()*hapInitializer.size()-0.5));
+			int hapType = hapInitializer.get((int)Math.round(this.random.nextDouble()*hapInitializer.size()-0.5));
 
 			switch(hapType) {
 			case 0:
@@ -639,7 +673,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < 5; j++) {
 
-				personality.values[i][j] = this.round(Math.random()*2-1);
+				personality.values[i][j] = this.round(this.random.nextDouble()*2-1);
 			}
 		}
 		return personality;
@@ -658,7 +692,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < 5; j++) {
-				personality.values[i][j] = discretePersValues[(int)Math.round(Math.random()*discretePersValues.length-0.5)];
+				personality.values[i][j] = discretePersValues[(int)Math.round(this.random.nextDouble()*discretePersValues.length-0.5)];
 			}
 		}
 		return personality;
@@ -683,7 +717,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 			}
 
 			for(int j = 0; j < 5; j++) {
-				int position = (int)Math.round(Math.random()*discreteList.size()-0.5);
+				int position = (int)Math.round(this.random.nextDouble()*discreteList.size()-0.5);
 				personality.values[i][j] = discreteList.get(position);
 				discreteList.remove(position);
 			}
@@ -705,7 +739,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < this.number_happenings; j++) {
-				happenings.values[i][j] = (int)Math.round(Math.random()*(this.estimated_max_steps/this.number_happenings+1)-0.5)*this.number_happenings;
+				happenings.values[i][j] = (int)Math.round(this.random.nextDouble()*(this.estimated_max_steps/this.number_happenings+1)-0.5)*this.number_happenings;
 			}
 		}
 		return happenings;
@@ -725,8 +759,8 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < this.number_happenings; j++) {
-				if(Math.random()<1/this.number_agents) {
-					happenings.values[i][j] = (int)Math.round(Math.random()*(this.estimated_max_steps/this.number_happenings)+0.5)*this.number_happenings;
+				if(this.random.nextDouble()<1/this.number_agents) {
+					happenings.values[i][j] = (int)Math.round(this.random.nextDouble()*(this.estimated_max_steps/this.number_happenings)+0.5)*this.number_happenings;
 				}
 			}
 		}
@@ -747,9 +781,9 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		for(int i = 0; i < this.number_agents;i++) {
 
-			int j = (int)Math.round(Math.random()*this.number_agents-0.5);
+			int j = (int)Math.round(this.random.nextDouble()*this.number_agents-0.5);
 
-			happenings.values[i][j] = (int)Math.round(Math.random()*(this.estimated_max_steps/this.number_happenings)+0.5)*this.number_happenings;
+			happenings.values[i][j] = (int)Math.round(this.random.nextDouble()*(this.estimated_max_steps/this.number_happenings)+0.5)*this.number_happenings;
 		}
 		return happenings;
 	}
@@ -762,7 +796,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < 5; j++) {
 
-				pers_velocity.values[i][j] = this.round(Math.random()*0.2-0.1);
+				pers_velocity.values[i][j] = this.round(this.random.nextDouble()*0.2-0.1);
 			}
 		}
 		return pers_velocity;
@@ -776,7 +810,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < this.number_happenings; j++) {
 
-				hap_velocity.values[i][j] = (int)Math.round((Math.random()*2-1)*this.estimated_max_steps/this.number_happenings);
+				hap_velocity.values[i][j] = (int)Math.round((this.random.nextDouble()*2-1)*this.estimated_max_steps/this.number_happenings);
 			}
 		}
 		return hap_velocity;
@@ -790,7 +824,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < 5; j++) {
 
-				pers_velocity.values[i][j] = discretePersVelocity[(int)Math.round(Math.random()*discretePersVelocity.length-0.5)];
+				pers_velocity.values[i][j] = discretePersVelocity[(int)Math.round(this.random.nextDouble()*discretePersVelocity.length-0.5)];
 			}
 		}
 		return pers_velocity;
@@ -804,7 +838,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		for(int i = 0; i < this.number_agents;i++) {
 			for(int j = 0; j < this.number_happenings; j++) {
-				hap_velocity.values[i][j] = discreteHapVelocity[(int)Math.round(Math.random()*discreteHapVelocity.length-0.5)];
+				hap_velocity.values[i][j] = discreteHapVelocity[(int)Math.round(this.random.nextDouble()*discreteHapVelocity.length-0.5)];
 			}
 		}
 		return hap_velocity;
@@ -831,7 +865,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 			while(i<valid_particles) {
 
-				double roulette = Math.random()*total_tellability;
+				double roulette = this.random.nextDouble()*total_tellability;
 				int pos = 0;
 
 				while(roulette > ((Quantum) this.population[pos]).best_tellability()) {
@@ -876,12 +910,12 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 			crossoverList.add(1);
 		}
 
-		int mode = crossoverList.get((int)Math.round(Math.random()*crossoverList.size()-0.5));
+		int mode = crossoverList.get((int)Math.round(this.random.nextDouble()*crossoverList.size()-0.5));
 
 		int amount = 2;
 
 		if(mode == 3) {
-			amount += Math.random()*(this.individual_count-2);
+			amount += this.random.nextDouble()*(this.individual_count-2);
 		}
 
 		List<Integer> positions = this.select(amount);
@@ -921,14 +955,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 	public void simpleCrossover(Quantum recipient, Quantum donor, int state) {
 
-		QuantumPosition one = this.new_quantumPosition(recipient,state,recipient.get_personality(state),donor.best_happenings());
-		QuantumPosition two = this.new_quantumPosition(recipient,state,donor.best_personality(),recipient.get_happenings(state));
-
-		if(one.get_tellabilityValue() > two.get_tellabilityValue()) {
-			recipient.add_Position(one, state);
-		} else {
-			recipient.add_Position(two, state);
-		}
+		this.add_better_neighbour(recipient, state, recipient.get_personality(state), donor.best_happenings(), donor.best_personality(), recipient.get_happenings(state));
 
 	}
 
@@ -954,7 +981,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 			for(int j = 0; j < 5; j++) {
 
-				if(Math.random()<this.crossover_prob) {
+				if(this.random.nextDouble()<this.crossover_prob) {
 					personalityOne.values[i][j] = donor.best_personality(i,j);
 					personalityTwo.values[i][j] = recipient.get_position(state).get_personality(i,j);
 					change = true;
@@ -966,7 +993,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 			for(int j = 0; j < this.number_happenings; j++) {
 
-				if(Math.random()<this.crossover_prob) {
+				if(this.random.nextDouble()<this.crossover_prob) {
 					happeningsOne.values[i][j] = donor.best_happenings(i,j);
 					happeningsTwo.values[i][j] = recipient.get_position(state).get_happenings(i,j);
 					change = true;
@@ -979,14 +1006,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		if(change) {
 
-			QuantumPosition one = this.new_quantumPosition(recipient,state,personalityOne,happeningsOne);
-			QuantumPosition two = this.new_quantumPosition(recipient,state,personalityTwo,happeningsTwo);
-
-			if(one.get_tellabilityValue() > two.get_tellabilityValue()) {
-				recipient.add_Position(one, state);
-			} else {
-				recipient.add_Position(two, state);
-			}
+			this.add_better_neighbour(recipient, state, personalityOne, happeningsOne, personalityTwo, happeningsTwo);
 
 		}else {
 			this.binomialCrossover(recipient, donor, state);
@@ -1046,14 +1066,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		if(change) {
 
-			QuantumPosition one = this.new_quantumPosition(recipient,state,personalityOne,happeningsOne);
-			QuantumPosition two = this.new_quantumPosition(recipient,state,personalityTwo,happeningsTwo);
-
-			if(one.get_tellabilityValue() > two.get_tellabilityValue()) {
-				recipient.add_Position(one, state);
-			} else {
-				recipient.add_Position(two, state);
-			}
+			this.add_better_neighbour(recipient, state, personalityOne, happeningsOne, personalityTwo, happeningsTwo);
 
 		}else {
 			this.xPointCrossover(recipient, donor, state);
@@ -1087,14 +1100,14 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 		}
 
 		// mode is used to determine in which manner we iterate the array
-		int mode = (int)Math.round(Math.random());
+		int mode = (int)Math.round(this.random.nextDouble());
 
 		if(mode == 0) {
 
 			for(int i = 0; i < x; i++) {
 
 				// Get a random x position
-				int xPos = (int)Math.round(Math.random()*(x-i)-0.5);
+				int xPos = (int)Math.round(this.random.nextDouble()*(x-i)-0.5);
 				Integer xCoord = xlist.get(xPos);
 				xlist.remove(xPos);
 
@@ -1105,11 +1118,11 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 					ycopy.addAll(ylist);
 
 					// Get a random y position
-					int yPos = (int)Math.round(Math.random()*(y-j)-0.5);
+					int yPos = (int)Math.round(this.random.nextDouble()*(y-j)-0.5);
 					Integer yCoord = ycopy.get(yPos);
 					ycopy.remove(yPos);
 
-					if(Math.random()<this.crossover_prob) {
+					if(this.random.nextDouble()<this.crossover_prob) {
 						cross = !cross;
 					}
 
@@ -1122,7 +1135,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 			for(int j = 0; j < y; j++){
 
 				// Get a random y position
-				int yPos = (int)Math.round(Math.random()*(y-j)-0.5);
+				int yPos = (int)Math.round(this.random.nextDouble()*(y-j)-0.5);
 				Integer yCoord = ylist.get(yPos);
 				ylist.remove(yPos);
 
@@ -1133,11 +1146,11 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 					xcopy.addAll(xlist);
 
 					// Get a random x position
-					int xPos = (int)Math.round(Math.random()*(x-i)-0.5);
+					int xPos = (int)Math.round(this.random.nextDouble()*(x-i)-0.5);
 					Integer xCoord = xcopy.get(xPos);
 					xcopy.remove(xPos);
 
-					if(Math.random()<this.crossover_prob) {
+					if(this.random.nextDouble()<this.crossover_prob) {
 						cross = !cross;
 					}
 
@@ -1178,7 +1191,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 					sum += ((Quantum) this.population[positions.get(k)]).best_personality(i,j);
 				}
 
-				int pos = positions.get((int)Math.round(Math.random()*positions.size()-0.5));
+				int pos = positions.get((int)Math.round(this.random.nextDouble()*positions.size()-0.5));
 
 				personalityRandom.values[i][j] = ((Quantum) this.population[pos]).best_personality(i,j);
 				personalityAverage.values[i][j] = this.round(sum/positions.size());
@@ -1194,21 +1207,14 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 					sum += ((Quantum) this.population[positions.get(k)]).best_happenings(i,j);
 				}
 
-				int pos = positions.get((int)Math.round(Math.random()*positions.size()-0.5));
+				int pos = positions.get((int)Math.round(this.random.nextDouble()*positions.size()-0.5));
 
 				happeningsRandom.values[i][j] = ((Quantum) this.population[pos]).best_happenings(i,j);
 				happeningsAverage.values[i][j] = Math.round(sum/positions.size());
 			}
 		}
 
-		QuantumPosition one = this.new_quantumPosition((Quantum) this.population[positions.get(0)], state,personalityRandom, happeningsRandom);
-		QuantumPosition two = this.new_quantumPosition((Quantum) this.population[positions.get(0)], state,personalityAverage, happeningsAverage);
-
-		if(one.get_tellabilityValue() > two.get_tellabilityValue()) {
-			((Quantum) this.population[positions.get(0)]).add_Position(one, state);
-		} else {
-			((Quantum) this.population[positions.get(0)]).add_Position(two, state);
-		}
+		this.add_better_neighbour((Quantum) this.population[positions.get(0)], state, personalityRandom, happeningsRandom, personalityAverage, happeningsAverage);
 
 	}
 
@@ -1232,7 +1238,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 			mutationList.add(0);
 		}
 
-		int mode = mutationList.get((int)Math.round(Math.random()*mutationList.size()-0.5));
+		int mode = mutationList.get((int)Math.round(this.random.nextDouble()*mutationList.size()-0.5));
 
 		int amount = 1;
 
@@ -1294,44 +1300,37 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 			// Personality
 			for(int j = 0; j < 5; j++) {
 
-				if(Math.random()<this.mutation_prob) {
+				if(this.random.nextDouble()<this.mutation_prob) {
 
-					positivePersonality.values[i][j] = this.round(Math.random()*2-1);
+					positivePersonality.values[i][j] = this.round(this.random.nextDouble()*2-1);
 					negativePersonality.values[i][j] = recipient.get_position(state).get_personality(i,j);
 					change = true;
 
 				}else {
 					positivePersonality.values[i][j] = recipient.get_position(state).get_personality(i,j);
-					negativePersonality.values[i][j] = this.round(Math.random()*2-1);
+					negativePersonality.values[i][j] = this.round(this.random.nextDouble()*2-1);
 				}
 			}
 
 			// Happenings
 			for(int j = 0; j < this.number_happenings; j++) {
 
-				if(Math.random()<this.mutation_prob) {
+				if(this.random.nextDouble()<this.mutation_prob) {
 
-					positiveHappenings.values[i][j] = (int)Math.round(Math.random()*recipient.get_position(state).get_actualLength()-0.5);
+					positiveHappenings.values[i][j] = (int)Math.round(this.random.nextDouble()*recipient.get_position(state).get_actualLength()-0.5);
 					negativeHappenings.values[i][j] = recipient.get_position(state).get_happenings(i,j);
 					change = true;
 
 				}else {
 					positiveHappenings.values[i][j] = recipient.get_position(state).get_happenings(i,j);
-					negativeHappenings.values[i][j] = (int)Math.round(Math.random()*recipient.get_position(state).get_actualLength()-0.5);
+					negativeHappenings.values[i][j] = (int)Math.round(this.random.nextDouble()*recipient.get_position(state).get_actualLength()-0.5);
 				}
 			}
 		}
 
 		if(change) {
 
-			QuantumPosition positive_resultant = this.new_quantumPosition(recipient,state,positivePersonality,positiveHappenings);
-			QuantumPosition negative_resultant = this.new_quantumPosition(recipient,state,negativePersonality,negativeHappenings);
-
-			if(positive_resultant.get_tellabilityValue() > negative_resultant.get_tellabilityValue()) {
-				recipient.add_Position(positive_resultant, state);
-			} else {
-				recipient.add_Position(negative_resultant, state);
-			}
+			this.add_better_neighbour(recipient, state, positivePersonality, positiveHappenings, negativePersonality, negativeHappenings);
 
 		}else {
 
@@ -1368,7 +1367,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				positivePersonality.values[i][j] = recipient.get_position(state).get_personality(i,j);
 				negativePersonality.values[i][j] = recipient.get_position(state).get_personality(i,j);
 
-				if(Math.random()<this.mutation_prob) {
+				if(this.random.nextDouble()<this.mutation_prob) {
 
 					positivePersonality.values[i][j] *= -1;
 					change = true;
@@ -1382,7 +1381,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 			// Happenings
 			for(int j = 0; j < this.number_happenings; j++) {
 
-				if(Math.random()<this.mutation_prob) {
+				if(this.random.nextDouble()<this.mutation_prob) {
 
 					if(recipient.get_happenings(i,j) > 0) {
 
@@ -1391,7 +1390,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 					}else {
 
-						positiveHappenings.values[i][j] = (int)Math.round(Math.random()*(recipient.get_position(state).get_actualLength()-1)+0.5);
+						positiveHappenings.values[i][j] = (int)Math.round(this.random.nextDouble()*(recipient.get_position(state).get_actualLength()-1)+0.5);
 						negativeHappenings.values[i][j] = recipient.get_position(state).get_happenings(i,j);
 					}
 
@@ -1402,7 +1401,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 					if(recipient.get_happenings(i,j) > 0) {
 
 						positiveHappenings.values[i][j] = recipient.get_position(state).get_happenings(i,j);
-						negativeHappenings.values[i][j] = (int)Math.round(Math.random()*(recipient.get_position(state).get_actualLength()-1)+0.5);
+						negativeHappenings.values[i][j] = (int)Math.round(this.random.nextDouble()*(recipient.get_position(state).get_actualLength()-1)+0.5);
 
 					}else {
 
@@ -1415,14 +1414,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		if(change) {
 
-			QuantumPosition positive_resultant = this.new_quantumPosition(recipient,state,positivePersonality,positiveHappenings);
-			QuantumPosition negative_resultant = this.new_quantumPosition(recipient,state,negativePersonality,negativeHappenings);
-
-			if(positive_resultant.get_tellabilityValue() > negative_resultant.get_tellabilityValue()) {
-				recipient.add_Position(positive_resultant, state);
-			} else {
-				recipient.add_Position(negative_resultant, state);
-			}
+			this.add_better_neighbour(recipient, state, positivePersonality, positiveHappenings, negativePersonality, negativeHappenings);
 
 		}else {
 
@@ -1458,7 +1450,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				positivePersonality.values[i][j] = recipient.get_position(state).get_personality(i,j);
 				negativePersonality.values[i][j] = recipient.get_position(state).get_personality(i,j);
 
-				if(Math.random()<this.mutation_prob) {
+				if(this.random.nextDouble()<this.mutation_prob) {
 
 					change = true;
 
@@ -1468,14 +1460,14 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 					while(i==xPos && j==yPos) {
 
-						if(Math.random()>0.5) {
-							xPos = (int)Math.round(Math.random()*this.number_agents-0.5);
+						if(this.random.nextDouble()>0.5) {
+							xPos = (int)Math.round(this.random.nextDouble()*this.number_agents-0.5);
 						}else {
-							yPos = (int)Math.round(Math.random()*5-0.5);
+							yPos = (int)Math.round(this.random.nextDouble()*5-0.5);
 						}
 					}
 
-					double ratio = Math.random()*2-1;
+					double ratio = this.random.nextDouble()*2-1;
 					double distance = recipient.best_personality(xPos,yPos) - recipient.get_position(state).get_personality(i,j);
 
 					if(ratio > 0) {
@@ -1497,14 +1489,14 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 					while(i==xPos && j==yPos) {
 
-						if(Math.random()>0.5) {
-							xPos = (int)Math.round(Math.random()*this.number_agents-0.5);
+						if(this.random.nextDouble()>0.5) {
+							xPos = (int)Math.round(this.random.nextDouble()*this.number_agents-0.5);
 						}else {
-							yPos = (int)Math.round(Math.random()*5-0.5);
+							yPos = (int)Math.round(this.random.nextDouble()*5-0.5);
 						}
 					}
 
-					double ratio = Math.random()*2-1;
+					double ratio = this.random.nextDouble()*2-1;
 					double distance = recipient.best_personality(xPos,yPos) - recipient.get_position(state).get_personality(i,j);
 
 					if(ratio > 0) {
@@ -1526,7 +1518,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				positiveHappenings.values[i][j] = recipient.get_happenings(i,j);
 				negativeHappenings.values[i][j] = recipient.get_happenings(i,j);
 
-				if(Math.random()<this.mutation_prob) {
+				if(this.random.nextDouble()<this.mutation_prob) {
 
 					change = true;
 
@@ -1536,15 +1528,15 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 					while(i==xPos && j==yPos) {
 
-						if(Math.random()>0.5) {
-							xPos = (int)Math.round(Math.random()*this.number_agents-0.5);
+						if(this.random.nextDouble()>0.5) {
+							xPos = (int)Math.round(this.random.nextDouble()*this.number_agents-0.5);
 						} else {
 							// FIXME: here was an error with 5 used instead of happ. num.
-							yPos = (int)Math.round(Math.random()*this.number_happenings-0.5);
+							yPos = (int)Math.round(this.random.nextDouble()*this.number_happenings-0.5);
 						}
 					}
 
-					double ratio = Math.random()*2-1;
+					double ratio = this.random.nextDouble()*2-1;
 					double distance = recipient.best_happenings(xPos,yPos) - recipient.get_position(state).get_happenings(i,j);
 
 					if(ratio > 0) {
@@ -1566,15 +1558,15 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 					while(i==xPos && j==yPos) {
 
-						if(Math.random()>0.5) {
-							xPos = (int)Math.round(Math.random()*this.number_agents-0.5);
+						if(this.random.nextDouble()>0.5) {
+							xPos = (int)Math.round(this.random.nextDouble()*this.number_agents-0.5);
 						} else {
 							// FIXME: here was an error with 5 used instead of happ. num.
-							yPos = (int)Math.round(Math.random()*this.number_happenings-0.5);
+							yPos = (int)Math.round(this.random.nextDouble()*this.number_happenings-0.5);
 						}
 					}
 
-					double ratio = Math.random()*2-1;
+					double ratio = this.random.nextDouble()*2-1;
 					double distance = recipient.best_happenings(xPos,yPos) - recipient.get_position(state).get_happenings(i,j);
 
 					if(ratio > 0) {
@@ -1593,14 +1585,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		if(change) {
 
-			QuantumPosition positive_resultant = this.new_quantumPosition(recipient,state,positivePersonality,positiveHappenings);
-			QuantumPosition negative_resultant = this.new_quantumPosition(recipient,state,negativePersonality,negativeHappenings);
-
-			if(positive_resultant.get_tellabilityValue() > negative_resultant.get_tellabilityValue()) {
-				recipient.add_Position(positive_resultant, state);
-			} else {
-				recipient.add_Position(negative_resultant, state);
-			}
+			this.add_better_neighbour(recipient, state, positivePersonality, positiveHappenings, negativePersonality, negativeHappenings);
 
 		}else {
 
@@ -1634,11 +1619,11 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				positivePersonality.values[i][j] = recipient.get_position(state).get_personality().values[i][j];
 				negativePersonality.values[i][j] = recipient.get_position(state).get_personality().values[i][j];
 
-				if(Math.random()<this.mutation_prob) {
+				if(this.random.nextDouble()<this.mutation_prob) {
 
 					change = true;
 
-					double ratio = Math.random()*2-1;
+					double ratio = this.random.nextDouble()*2-1;
 					double distance = mutator.best_personality(i,j) - recipient.get_position(state).get_personality(i,j);
 
 					if(ratio > 0) {
@@ -1654,7 +1639,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 				}else {
 
-					double ratio = Math.random()*2-1;
+					double ratio = this.random.nextDouble()*2-1;
 					double distance = mutator.best_personality(i,j) - recipient.get_position(state).get_personality(i,j);
 
 					if(ratio > 0) {
@@ -1675,11 +1660,11 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				positiveHappenings.values[i][j] = recipient.get_happenings().values[i][j];
 				negativeHappenings.values[i][j] = recipient.get_happenings().values[i][j];
 
-				if(Math.random()<this.mutation_prob) {
+				if(this.random.nextDouble()<this.mutation_prob) {
 
 					change = true;
 
-					double ratio = Math.random()*2-1;
+					double ratio = this.random.nextDouble()*2-1;
 					double distance = mutator.best_happenings(i,j) - recipient.get_position(state).get_happenings(i,j);
 
 					if(ratio > 0) {
@@ -1695,7 +1680,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 				}else {
 
-					double ratio = Math.random()*2-1;
+					double ratio = this.random.nextDouble()*2-1;
 					double distance = mutator.best_happenings(i,j) - recipient.get_position(state).get_happenings(i,j);
 
 					if(ratio > 0) {
@@ -1714,14 +1699,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 		if(change) {
 
-			QuantumPosition positive_resultant = this.new_quantumPosition(recipient,state,positivePersonality,positiveHappenings);
-			QuantumPosition negative_resultant = this.new_quantumPosition(recipient,state,negativePersonality,negativeHappenings);
-
-			if(positive_resultant.get_tellabilityValue() > negative_resultant.get_tellabilityValue()) {
-				recipient.add_Position(positive_resultant, state);
-			} else {
-				recipient.add_Position(negative_resultant, state);
-			}
+			this.add_better_neighbour(recipient, state, positivePersonality, positiveHappenings, negativePersonality, negativeHappenings);
 
 		}else {
 
@@ -1733,14 +1711,29 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 
 	public void move_particles() {
 
+		// positions of one quantum share its best values, so each quantum is moved by a single task, which applies
+		// the results in order of the positions once all of them are evaluated
+		List<Supplier<CompletableFuture<?>>> moves = new ArrayList<>();
 		for(int i = 0; i < this.individual_count; i++) {
 
-			for(int state = 0; state < ((Quantum) this.population[i]).amount_positions(); state++) {
-
-				((Quantum) this.population[i]).move(state,new Fitness<EnvType,ModType>(this.EVO_ENV,this.verbose,this.level));
-				this.analyzed_neighbors++;
-			}
+			Quantum quantum = (Quantum) this.population[i];
+			moves.add(() -> {
+				List<Fitness<EnvType,ModType>> fits = new ArrayList<>();
+				List<CompletableFuture<Void>> evaluations = new ArrayList<>();
+				for(int state = 0; state < quantum.amount_positions(); state++) {
+					Fitness<EnvType,ModType> fit = this.new_Fitness();
+					fits.add(fit);
+					evaluations.add(quantum.move(state, fit));
+				}
+				return CompletableFuture.allOf(evaluations.toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+					for(int state = 0; state < fits.size(); state++) {
+						quantum.update_best(state, fits.get(state));
+					}
+				});
+			});
+			this.analyzed_neighbors += quantum.amount_positions();
 		}
+		this.evaluate_all(moves);
 
 		Arrays.sort(this.population);
 
@@ -1842,7 +1835,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				for(int j = 0; j < 5; j++) {
 
 					if(!this.deterministic) {
-						random_factor = Math.random();
+						random_factor = this.random.nextDouble();
 					}
 
 					update_personality[i][j] += random_factor*force*(((Quantum) this.population[informants.get(index)]).best_personality(i, j) - ((Quantum) this.population[recipient]).get_position(state).get_personality(i, j));
@@ -1851,7 +1844,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				for(int j = 0; j < this.number_happenings; j++) {
 
 					if(!this.deterministic) {
-						random_factor = Math.random();
+						random_factor = this.random.nextDouble();
 					}
 
 					update_happenings[i][j] += random_factor*force*(((Quantum) this.population[informants.get(index)]).best_happenings(i, j) - ((Quantum) this.population[recipient]).get_position(state).get_happenings(i, j));
@@ -1909,7 +1902,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				for(int j = 0; j < 5; j++) {
 
 					if(!this.deterministic) {
-						random_factor = Math.random();
+						random_factor = this.random.nextDouble();
 					}
 
 					update_personality[i][j] += random_factor*force*((Quantum) this.population[informants.get(index)]).best_personality(i, j) - ((Quantum) this.population[recipient]).get_position(state).get_personality(i, j);
@@ -1918,7 +1911,7 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 				for(int j = 0; j < this.number_happenings; j++) {
 
 					if(!this.deterministic) {
-						random_factor = Math.random();
+						random_factor = this.random.nextDouble();
 					}
 
 					update_happenings[i][j] += random_factor*force*(((Quantum) this.population[informants.get(index)]).best_happenings(i, j) - ((Quantum) this.population[recipient]).get_position(state).get_happenings(i, j));
@@ -1951,11 +1944,46 @@ public class QSO <EnvType extends PlotEnvironment<ModType>, ModType extends Plot
 	}
 
 	@Override
-	public void to_file(CandidateSolution best, String epilogue) {
+	protected String epilogue() {
 		String qsoEpilogue = "<QSO Epilogue: Found Best / Analyzed Neighbors>\n";
 		qsoEpilogue += String.valueOf(this.found_best) + " " + String.valueOf(this.analyzed_neighbors) + "\n";
 
-		epilogue = qsoEpilogue + epilogue;
-		super.to_file(best, epilogue);
+		return qsoEpilogue;
+	}
+
+	// ***************** Checkpoints *****************
+
+	@Override
+	protected void write_state(DataOutput out) throws IOException {
+		out.writeInt(this.population.length);
+		for (CandidateSolution quantum : this.population) {
+			((Quantum) quantum).write_state(out);
+		}
+
+		Checkpoint.writeMatrix(out, this.max_personality);
+		Checkpoint.writeMatrix(out, this.min_personality);
+		Checkpoint.writeMatrix(out, this.max_happenings);
+		Checkpoint.writeMatrix(out, this.min_happenings);
+		out.writeDouble(this.crossover_prob);
+		out.writeDouble(this.mutation_prob);
+		out.writeInt(this.analyzed_neighbors);
+		out.writeInt(this.found_best);
+	}
+
+	@Override
+	protected void read_state(DataInput in) throws IOException {
+		this.population = new Quantum[in.readInt()];
+		for (int i = 0; i < this.population.length; i++) {
+			this.population[i] = Quantum.read_state(in, this.random);
+		}
+
+		this.max_personality = Checkpoint.readMatrix(in);
+		this.min_personality = Checkpoint.readMatrix(in);
+		this.max_happenings = Checkpoint.readMatrix(in);
+		this.min_happenings = Checkpoint.readMatrix(in);
+		this.crossover_prob = in.readDouble();
+		this.mutation_prob = in.readDouble();
+		this.analyzed_neighbors = in.readInt();
+		this.found_best = in.readInt();
 	}
 }
@@ -1,9 +1,15 @@
 package inBloom.nia.qso;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 import inBloom.nia.CandidateSolution;
+import inBloom.nia.Checkpoint;
 import inBloom.nia.ChromosomeHappenings;
 import inBloom.nia.ChromosomeLength;
 import inBloom.nia.ChromosomePersonality;
@@ -19,9 +25,12 @@ public class Quantum extends CandidateSolution implements Comparable<Quantum> {
 	private List<QuantumPosition> positions = new ArrayList<>();
 
 	private double threshold;
+	// source of randomness of the owning algorithm, used to collapse superpositions
+	private Random random;
 
 
-	public Quantum(int individual_count, ChromosomePersonality personality, ChromosomePersonality velocity_personality, ChromosomeHappenings happenings, ChromosomeHappenings velocity_happenings, Integer simLength, Fitness<?,?> fit){
+	public Quantum(int individual_count, ChromosomePersonality personality, ChromosomePersonality velocity_personality, ChromosomeHappenings happenings, ChromosomeHappenings velocity_happenings, Integer simLength, Fitness<?,?> fit, Random random){
+		this.random = random;
 		this.best_personality = personality;
 		this.best_happenings = happenings;
 		this.best_simLength = simLength;
@@ -35,6 +44,14 @@ public class Quantum extends CandidateSolution implements Comparable<Quantum> {
 		this.positions.add(pos);
 	}
 
+	/**
+	 * Used to restore a quantum from a checkpoint, see {@linkplain #read_state(DataInput, Random)}.
+	 */
+	private Quantum(Random random) {
+		super();
+		this.random = random;
+	}
+
 	public boolean superPosition() {
 		return this.positions.size()>0;
 	}
@@ -130,7 +147,7 @@ public class Quantum extends CandidateSolution implements Comparable<Quantum> {
 
 		if(this.superPosition()) {
 
-			double roulette = Math.random()*(1-2*this.threshold);
+			double roulette = this.random.nextDouble()*(1-2*this.threshold);
 
 			while(roulette > this.positions.get(state).get_lifespan()) {
 
@@ -146,10 +163,20 @@ public class Quantum extends CandidateSolution implements Comparable<Quantum> {
 		return this.positions.get(state);
 	}
 
-	public void move(int state, Fitness<?,?> fit) {
+	/**
+	 * Moves a position and starts its simulation. Once the returned future completed, the result needs to be
+	 * applied by {@linkplain #update_best(int, Fitness)}.
+	 * @return future that completes once the position is evaluated
+	 */
+	public CompletableFuture<Void> move(int state, Fitness<?,?> fit) {
 		this.positions.get(state).move();
-		this.positions.get(state).update_tellability(fit);
+		return this.positions.get(state).update_tellability(fit);
+	}
 
+	/**
+	 * Remembers an evaluated position if it is the best one this quantum has seen so far.
+	 */
+	public void update_best(int state, Fitness<?,?> fit) {
 		if(this.positions.get(state).get_tellabilityValue() > this.best_tellability) {
 			this.best_tellability = this.positions.get(state).get_tellabilityValue();
 			// FIXME: Fixed bug where best_personality would be same instance as personality, and change with every move
@@ -259,9 +286,49 @@ public class Quantum extends CandidateSolution implements Comparable<Quantum> {
 		return false;
 	}
 
+	@Override
+	public List<CandidateSolution> get_solutions() {
+		return new ArrayList<>(this.positions);
+	}
 
 	@Override
 	public String to_String() {
 		return this.to_String(this.best_personality, this.best_happenings, this.best_simLength, this.best_actualLength);
 	}
+
+	public void write_state(DataOutput out) throws IOException {
+		Checkpoint.writeSolution(out, this);
+		Checkpoint.writePersonality(out, this.best_personality);
+		Checkpoint.writeHappenings(out, this.best_happenings);
+		out.writeDouble(this.best_tellability);
+		Checkpoint.writeInteger(out, this.best_simLength);
+		Checkpoint.writeInteger(out, this.best_actualLength);
+		out.writeDouble(this.threshold);
+
+		out.writeInt(this.positions.size());
+		for (QuantumPosition position : this.positions) {
+			position.write_state(out);
+		}
+	}
+
+	/**
+	 * Restores a quantum from a checkpoint, without evaluating its positions again.
+	 * @param random source of randomness of the owning algorithm
+	 */
+	public static Quantum read_state(DataInput in, Random random) throws IOException {
+		Quantum quantum = new Quantum(random);
+		Checkpoint.readSolution(in, quantum);
+		quantum.best_personality = Checkpoint.readPersonality(in);
+		quantum.best_happenings = Checkpoint.readHappenings(in);
+		quantum.best_tellability = in.readDouble();
+		quantum.best_simLength = Checkpoint.readInteger(in);
+		quantum.best_actualLength = Checkpoint.readInteger(in);
+		quantum.threshold = in.readDouble();
+
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			quantum.positions.add(QuantumPosition.read_state(in));
+		}
+		return quantum;
+	}
 }
@@ -1,8 +1,14 @@
 package inBloom.nia.qso;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
 import jason.JasonException;
 
 import inBloom.nia.CandidateSolution;
+import inBloom.nia.Checkpoint;
 import inBloom.nia.ChromosomeHappenings;
 import inBloom.nia.ChromosomePersonality;
 import inBloom.nia.Fitness;
@@ -21,10 +27,17 @@ public class QuantumPosition extends CandidateSolution implements Comparable<Qua
 		this.velocity_happenings = velocity_happenings;
 		this.lifespan = lifespan;
 
-		this.update_tellability(fit);
+		this.update_tellability(fit).join();
 	}
 
 
+	/**
+	 * Used to restore a position from a checkpoint, see {@linkplain #read_state(DataInput)}.
+	 */
+	private QuantumPosition() {
+		super();
+	}
+
 	// Get-Methods
 	public ChromosomePersonality get_persVelocity() {
 		return this.velocity_personality;
@@ -60,6 +73,7 @@ public class QuantumPosition extends CandidateSolution implements Comparable<Qua
 	 *  Move the particle
 	 */
 	public void move() {
+		this.renew_id();
 		Integer length = 0;
 
 		for(int i = 0; i < this.personality.values.length; i++) {
@@ -94,20 +108,22 @@ public class QuantumPosition extends CandidateSolution implements Comparable<Qua
 	}
 
 	/**
-	 * Start simulation
+	 * Start simulation. Returns as soon as the simulation has finished, the result is saved once the plot is analyzed.
+	 * @return future that completes once the result is saved
 	 */
-	public void update_tellability(Fitness<?,?> fit) {
+	public CompletableFuture<Void> update_tellability(Fitness<?,?> fit) {
 		try {
-			this.tellabilityValue = fit.evaluateSolution(this);
-			this.tellability = fit.tellability;
-			this.updateNotes();
+			return fit.submitSolution(this).thenAccept(value -> {
+				this.tellabilityValue = value;
+				this.tellability = fit.tellability;
+				this.updateNotes();
+			});
 		} catch (JasonException e) {
 			//e.printStackTrace();
 		} catch (NullPointerException e) {
 			//e.printStackTrace();
 		}
-
-		fit = null;
+		return CompletableFuture.completedFuture(null);
 	}
 
 	/**
@@ -128,4 +144,22 @@ public class QuantumPosition extends CandidateSolution implements Comparable<Qua
 		return this.to_String(this.personality, this.happenings, this.simulation_length.value, this.actual_length);
 	}
 
+	public void write_state(DataOutput out) throws IOException {
+		Checkpoint.writeSolution(out, this);
+		Checkpoint.writePersonality(out, this.velocity_personality);
+		Checkpoint.writeHappenings(out, this.velocity_happenings);
+		out.writeDouble(this.lifespan);
+	}
+
+	/**
+	 * Restores a position from a checkpoint, without evaluating it again.
+	 */
+	public static QuantumPosition read_state(DataInput in) throws IOException {
+		QuantumPosition position = new QuantumPosition();
+		Checkpoint.readSolution(in, position);
+		position.velocity_personality = Checkpoint.readPersonality(in);
+		position.velocity_happenings = Checkpoint.readHappenings(in);
+		position.lifespan = in.readDouble();
+		return position;
+	}
 }
@@ -1,7 +1,16 @@
 package inBloom.nia.random;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 import inBloom.PlotEnvironment;
 import inBloom.PlotModel;
+import inBloom.nia.CandidateSolution;
 import inBloom.nia.ChromosomeHappenings;
 import inBloom.nia.ChromosomeLength;
 import inBloom.nia.ChromosomePersonality;
@@ -81,10 +90,15 @@ public class RandomSearch <EnvType extends PlotEnvironment<ModType>, ModType ext
 			// Save current time
 			start_time = System.currentTimeMillis();
 
-			// Generate and evaluate initial particles
-			this.initialize_population();
-			this.evaluate_population();
-			this.to_file(this.bestSolution, "");
+			this.open_store();
+
+			if (!this.resume_checkpoint()) {
+				// Generate and evaluate initial particles
+				this.initialize_population();
+				this.evaluate_population();
+				this.record_generation(this.bestSolution);
+				this.checkpoint(this.bestSolution);
+			}
 
 			// Repeat until termination (no improvements found or time criterion
 			// -if set- is met):
@@ -98,9 +112,14 @@ public class RandomSearch <EnvType extends PlotEnvironment<ModType>, ModType ext
 				this.evaluate_population();
 				this.iterationNum += 1;
 
-				this.to_file(this.bestSolution, "");
+				this.record_generation(this.bestSolution);
+				this.checkpoint(this.bestSolution);
 			}
 
+			this.shutdown_evaluation();
+			this.to_file(this.bestSolution, "");
+			this.close_store();
+
 			// Print Statistics
 			if (this.verbose) {
 				this.final_stats();
@@ -136,9 +155,16 @@ public class RandomSearch <EnvType extends PlotEnvironment<ModType>, ModType ext
 				}
 			}
 
-			Fitness<EnvType,ModType> fit = new Fitness<>(this.EVO_ENV, this.verbose, this.level);
+			Fitness<EnvType,ModType> fit = this.new_Fitness();
 			candidates[index] = new Individual(personality, happenings, length.value, fit);
 		}
+
+		List<Supplier<CompletableFuture<?>>> evaluations = new ArrayList<>();
+		for (Individual candidate : candidates) {
+			evaluations.add(candidate::evaluateAsync);
+		}
+		this.evaluate_all(evaluations);
+
 		return candidates;
 	}
 
@@ -164,4 +190,23 @@ public class RandomSearch <EnvType extends PlotEnvironment<ModType>, ModType ext
 
 	}
 
+	// ***************** Checkpoints *****************
+
+	@Override
+	protected void write_state(DataOutput out) throws IOException {
+		out.writeInt(this.population.length);
+		for (CandidateSolution individual : this.population) {
+			((Individual) individual).write_state(out);
+		}
+		this.bestSolution.write_state(out);
+	}
+
+	@Override
+	protected void read_state(DataInput in) throws IOException {
+		this.population = new Individual[in.readInt()];
+		for (int i = 0; i < this.population.length; i++) {
+			this.population[i] = Individual.read_state(in);
+		}
+		this.bestSolution = Individual.read_state(in);
+	}
 }
@@ -20,6 +20,7 @@ import inBloom.nia.ChromosomeHappenings;
 import inBloom.nia.ChromosomePersonality;
 import inBloom.nia.Fitness;
 import inBloom.nia.NIEnvironment;
+import inBloom.nia.ResultStore;
 import inBloom.nia.ga.Individual;
 import inBloom.stories.little_red_hen.FarmNIEnvironment;
 
@@ -152,6 +153,42 @@ public class FileInterpreter<EnvType extends PlotEnvironment<ModType>, ModType e
 		}
 	}
 
+	/**
+	 * Reads the performance of a run and its best candidate from a {@linkplain ResultStore}, and simulates the best
+	 * candidate again.
+	 */
+	public void readStore() {
+		File file = new File(this.filepath+this.filename);
+		try {
+			ResultStore store = new ResultStore(file);
+
+			for(ResultStore.Generation generation : store.getGenerations()) {
+				this.population_best.add(generation.best);
+				this.population_average.add(generation.average);
+				if(generation.averageLength >= 0) {
+					this.average_length.add(generation.averageLength);
+				}
+			}
+
+			ResultStore.Generation last = store.getLastGeneration();
+			CandidateSolution best = last == null ? null : store.getCandidate(last.bestId);
+			store.close();
+
+			if(best != null) {
+				this.number_agents = best.get_personality().values.length;
+				this.number_happenings = best.get_happenings().values[0].length;
+				this.simulation_length = best.get_simLength().value;
+				this.setActual_length(best.get_actualLength());
+
+				// get best individual
+				this.setBest_individual(new Individual(best.get_personality(),best.get_happenings(),this.simulation_length,this.fit));
+				this.best_individual.get_tellabilityValue();
+			}
+		}catch(IOException e){
+			e.printStackTrace();
+		}
+	}
+
 	public void get_chart() {
 
 		// Initialize Dataset
@@ -188,7 +225,11 @@ public class FileInterpreter<EnvType extends PlotEnvironment<ModType>, ModType e
 
 		FileInterpreter<?,?> fi = new FileInterpreter<>(new FarmNIEnvironment(), path, name, true);
 
-		fi.readFile();
+		if(name.endsWith(".store")) {
+			fi.readStore();
+		} else {
+			fi.readFile();
+		}
 
 		fi.get_chart();
 	}
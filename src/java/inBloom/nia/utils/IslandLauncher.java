@@ -0,0 +1,125 @@
+package inBloom.nia.utils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import inBloom.PlotLauncher;
+import inBloom.nia.NIEnvironment;
+import inBloom.nia.ga.GeneticAlgorithm;
+import inBloom.nia.ga.LoopbackMigrationTransport;
+import inBloom.stories.little_red_hen.FarmNIEnvironment;
+
+/**
+ * Runs an island model GA: several GA populations evolve in separate JVMs and exchange their best individuals
+ * along a ring, see {@linkplain GeneticAlgorithm#setMigration}.
+ * <p>
+ * Started without arguments, one island process is spawned per core. An island itself is started with the arguments
+ * {@code <island id> <island count> <base port>}.
+ */
+public class IslandLauncher {
+	public static final Class<?> NI_ENV_CLASS = FarmNIEnvironment.class;
+	// number of islands, each island runs in its own JVM
+	public static final int ISLAND_NUM = Runtime.getRuntime().availableProcessors();
+	// island i listens for immigrants on BASE_PORT + i
+	public static final int BASE_PORT = 47100;
+	// number of generations between migrations
+	public static final int MIGRATION_INTERVAL = 5;
+	// number of individuals sent to the next island per migration
+	public static final int MIGRATION_SIZE = 2;
+	// seed for reproducible runs, island i uses SEED + i, null for nondeterministic runs
+	public static final Long SEED = null;
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 3) {
+			launchIslands();
+		} else {
+			runIsland(Integer.valueOf(args[0]), Integer.valueOf(args[1]), Integer.valueOf(args[2]));
+		}
+	}
+
+	private static void launchIslands() throws Exception {
+		System.out.println("************ Starting " + ISLAND_NUM + " GA islands ************");
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+		List<Process> islands = new ArrayList<>();
+		for (int i = 0; i < ISLAND_NUM; i++) {
+			ProcessBuilder builder = new ProcessBuilder(java,
+														"-cp", System.getProperty("java.class.path"),
+														IslandLauncher.class.getName(),
+														String.valueOf(i),
+														String.valueOf(ISLAND_NUM),
+														String.valueOf(BASE_PORT));
+			builder.inheritIO();
+			islands.add(builder.start());
+		}
+
+		for (Process island : islands) {
+			island.waitFor();
+		}
+		System.out.println("************ Finished all GA islands ************");
+	}
+
+	private static void runIsland(int island, int islandCount, int basePort) throws Exception {
+		// islands share the working directory, so each one needs its own project file
+		PlotLauncher.DEAULT_FILE_NAME = "launcher-island" + island + ".mas2j";
+		new File(PlotLauncher.DEAULT_FILE_NAME).deleteOnExit();
+
+		// init location
+		NIEnvironment<?,?> niEnvironment = (NIEnvironment<?,?>) NI_ENV_CLASS.getDeclaredConstructor().newInstance();
+		// simulation length at initialization
+		int init_stepnumber = 30;
+		// number individuals
+		int individual_count = 20;
+		// selection size
+		int selection_size = 10;
+		// maximum time in seconds (no time limit: time < 0 or leave it out as default value is -1)
+		int time = 3600;
+		// number of iterations without improvement till shutdown
+		int max_repetitions = 10;
+
+		// path and name of file
+		String path = "C:\\Users\\Leon\\Desktop\\InBloomNIA\\";
+		String filename = "GENisland" + island + "_of" + islandCount + ".log";
+
+		LoopbackMigrationTransport migration = new LoopbackMigrationTransport(island, islandCount, basePort);
+
+		GeneticAlgorithm<?,?> ga = niEnvironment.get_GA(new String[0], init_stepnumber, individual_count, selection_size);
+
+		ga.setLevel(Level.OFF);
+		ga.setFileName(path+filename);
+		ga.setExit(false);
+
+		// randomPersonalityInitializer, discretePersonalityInitializer, steadydiscretePersonalityInitializer
+		ga.setPersInit(true, true, true);
+		// randomHappeningsInitializer, probabilisticHappeningsInitializer, steadyHappeningsInitializer
+		ga.setHapInit(true, true, true);
+		// randomSelector, rouletteWheelSelector
+		ga.setSelection(false,true);
+		// simpleCrossover,binomialCrossover,xPointCrossover,voteCrossover
+		ga.setCrossover(true, true, true, false);
+		// randomMutator,toggleMutator,orientedMutator,guidedMutator
+		ga.setMutation(true, true, true, true);
+		// true -> SteadyReplacer, false -> partiallyRandomReplacer
+		ga.setReplaceMode(true);
+
+		// Termination Criteria
+		// Runtime in seconds (-1 to deactivate)
+		ga.setMaxRuntime(time);
+		// Number of times the main loop is repeated without adding a new (relevant) candidate to gen_pool
+		ga.setTermination(max_repetitions);
+		// islands already use all cores, so each one simulates sequentially
+		ga.setParallelism(1);
+		if (SEED != null) {
+			ga.setSeed(SEED + island);
+		}
+		ga.setMigration(migration, MIGRATION_INTERVAL, MIGRATION_SIZE);
+
+		ga.run();
+
+		migration.close();
+		System.out.println("************ Finished island " + island + " ************");
+		System.exit(0);
+	}
+}
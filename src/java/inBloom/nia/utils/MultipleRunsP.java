@@ -1,5 +1,8 @@
 package inBloom.nia.utils;
 
+import java.io.File;
+
+import inBloom.nia.FitnessCache;
 import inBloom.nia.NIEnvironment;
 import inBloom.nia.pso.PSO;
 import inBloom.stories.little_red_hen.FarmNIEnvironment;
@@ -7,9 +10,12 @@ import inBloom.stories.little_red_hen.FarmNIEnvironment;
 public class MultipleRunsP {
 	public static final int RUN_NUM = 10;
 	public static final Class<?> NI_ENV_CLASS = FarmNIEnvironment.class;
+	// number of evaluation results kept in memory, all results are also stored in a file shared by the runs
+	public static final int CACHE_SIZE = 10000;
 	
 	public static void main(String[]args) throws Exception {
 		long timestamp = System.currentTimeMillis();
+		FitnessCache cache = new FitnessCache(CACHE_SIZE, new File("fitness_" + NI_ENV_CLASS.getSimpleName() + ".cache"));
 		
 		System.out.println("************ Executing " + RUN_NUM + " PSO runs ************");
 		for(int i = 0; i < RUN_NUM; i++) {
@@ -63,11 +69,13 @@ public class MultipleRunsP {
 			pso.setTermination(max_repetitions);
 			
 			pso.setExit(false);
+			pso.setFitnessCache(cache);
 			
 			pso.run();
 			System.out.println("************ Finished run ************");
 		}
 		System.out.println("************ Finished all PSO runs ************");
+		cache.close();
 		System.exit(0);
 	}
 }
@@ -1,7 +1,9 @@
 package inBloom.nia.utils;
 
+import java.io.File;
 import java.util.logging.Level;
 
+import inBloom.nia.FitnessCache;
 import inBloom.nia.NIEnvironment;
 import inBloom.nia.qso.QSO;
 import inBloom.stories.little_red_hen.FarmNIEnvironment;
@@ -9,9 +11,12 @@ import inBloom.stories.little_red_hen.FarmNIEnvironment;
 public class MultipleRunsQ {
 	public static final int RUN_NUM = 10;
 	public static final Class<?> NI_ENV_CLASS = FarmNIEnvironment.class;
+	// number of evaluation results kept in memory, all results are also stored in a file shared by the runs
+	public static final int CACHE_SIZE = 10000;
 	
 	public static void main(String[] args) throws Exception { 
 		long timestamp = System.currentTimeMillis();
+		FitnessCache cache = new FitnessCache(CACHE_SIZE, new File("fitness_" + NI_ENV_CLASS.getSimpleName() + ".cache"));
 		
 		System.out.println("************ Executing " + RUN_NUM + " QSO runs ************");
 		for(int i = 0; i < RUN_NUM; i++) {
@@ -73,11 +78,13 @@ public class MultipleRunsQ {
 			qso.setTermination(max_repetitions);
 			
 			qso.setExit(false);
+			qso.setFitnessCache(cache);
 			
 			qso.run();
 			System.out.println("************ Finished run ************");
 		}
 		System.out.println("************ Finished all QSO runs ************");
+		cache.close();
 		System.exit(0);
 	}
 }
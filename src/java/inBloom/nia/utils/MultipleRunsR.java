@@ -1,5 +1,8 @@
 package inBloom.nia.utils;
 
+import java.io.File;
+
+import inBloom.nia.FitnessCache;
 import inBloom.nia.NIEnvironment;
 import inBloom.nia.random.RandomSearch;
 import inBloom.stories.little_red_hen.FarmNIEnvironment;
@@ -7,9 +10,12 @@ import inBloom.stories.little_red_hen.FarmNIEnvironment;
 public class MultipleRunsR {
 	public static final int RUN_NUM = 10;
 	public static final Class<?> NI_ENV_CLASS = FarmNIEnvironment.class;
+	// number of evaluation results kept in memory, all results are also stored in a file shared by the runs
+	public static final int CACHE_SIZE = 10000;
 
 	public static void main(String[] args) throws Exception {
 		long timestamp = System.currentTimeMillis();
+		FitnessCache cache = new FitnessCache(CACHE_SIZE, new File("fitness_" + NI_ENV_CLASS.getSimpleName() + ".cache"));
 
 		System.out.println("************ Executing " + RUN_NUM + " RAN runs ************");
 		for(int i = 0; i < RUN_NUM; i+=1) {
@@ -33,6 +39,7 @@ public class MultipleRunsR {
 
 			ran.setFileName(path+filename);
 			ran.setExit(false);
+			ran.setFitnessCache(cache);
 
 			// Termination Criteria
 			// Runtime in seconds (-1 to deactivate)
@@ -46,6 +53,7 @@ public class MultipleRunsR {
 			System.out.println("************ Finished run ************");
 		}
 		System.out.println("************ Finished all RAN runs ************");
+		cache.close();
 		System.exit(0);
 	}
 }
@@ -3,6 +3,7 @@ package inBloom.nia.utils;
 import java.util.logging.Level;
 
 import inBloom.nia.NIEnvironment;
+import inBloom.nia.Surrogate;
 import inBloom.nia.ga.GeneticAlgorithm;
 import inBloom.nia.pso.PSO;
 import inBloom.nia.qso.QSO;
@@ -36,6 +37,22 @@ public class NILauncher {
 		int time = 3600;
 		// number of iterations without improvement till shutdown
 		int max_repetitions = 10;
+		// number of threads that analyze plots while the next ones are simulated, 0 analyzes on the simulating thread
+		int analysis_threads = 0;
+		// true -> GA and PSO evaluate steady-state instead of waiting for the slowest simulation of each generation
+		boolean asynchronous = false;
+		// true -> GA stops simulations that can't beat the worst individual of the population anymore
+		boolean early_termination = false;
+		// number of candidates GA and QSO generate per simulated candidate, pre-screened by a surrogate, 1 simulates all
+		int screening = 1;
+		// number of separate JVMs simulations are run in, 0 runs them inside this JVM
+		int worker_processes = 0;
+		// number of candidates simulated concurrently, simulations inside this JVM always run one at a time
+		int parallelism = worker_processes > 0 ? worker_processes : 1;
+		// seed for reproducible runs, null for nondeterministic runs
+		Long seed = null;
+		// true -> continue an interrupted run from its last checkpoint, files need to have the same name as before
+		boolean resume = false;
 
 		// path and name of file
 		String path = "C:\\Users\\Leon\\Desktop\\InBloomNIA\\";
@@ -84,6 +101,19 @@ public class NILauncher {
 				ga.setMaxRuntime(time);
 				// Number of times the main loop is repeated without adding a new (relevant) candidate to gen_pool
 				ga.setTermination(max_repetitions);
+				// Number of simulations that are evaluated concurrently in worker processes
+				ga.setParallelism(parallelism);
+				ga.setAnalysisThreads(analysis_threads);
+				ga.setAsynchronous(asynchronous);
+				ga.setEarlyTermination(early_termination);
+				if(screening > 1) {
+					ga.setSurrogate(new Surrogate(), screening);
+				}
+				ga.setWorkerProcesses(worker_processes);
+				if(seed != null) {
+					ga.setSeed(seed);
+				}
+				ga.setResume(resume);
 
 				ga.run();
 
@@ -124,6 +154,15 @@ public class NILauncher {
 				pso.setMaxRuntime(time);
 				// Number of times the main loop is repeated without adding a new (relevant) candidate to gen_pool
 				pso.setTermination(max_repetitions);
+				// Number of simulations that are evaluated concurrently in worker processes
+				pso.setParallelism(parallelism);
+				pso.setAnalysisThreads(analysis_threads);
+				pso.setAsynchronous(asynchronous);
+				pso.setWorkerProcesses(worker_processes);
+				if(seed != null) {
+					pso.setSeed(seed);
+				}
+				pso.setResume(resume);
 
 				pso.run();
 
@@ -160,6 +199,17 @@ public class NILauncher {
 				qso.setMaxRuntime(time);
 				// Number of times the main loop is repeated without adding a new (relevant) candidate to gen_pool
 				qso.setTermination(max_repetitions);
+				// Number of simulations that are evaluated concurrently in worker processes
+				qso.setParallelism(parallelism);
+				qso.setAnalysisThreads(analysis_threads);
+				if(screening > 1) {
+					qso.setSurrogate(new Surrogate(), screening);
+				}
+				qso.setWorkerProcesses(worker_processes);
+				if(seed != null) {
+					qso.setSeed(seed);
+				}
+				qso.setResume(resume);
 
 				qso.run();
 
@@ -176,6 +226,14 @@ public class NILauncher {
 				ran.setMaxRuntime(time);
 				// Number of times the main loop is repeated without adding a new (relevant) candidate to gen_pool
 				ran.setTermination(max_repetitions);
+				// Number of simulations that are evaluated concurrently in worker processes
+				ran.setParallelism(parallelism);
+				ran.setAnalysisThreads(analysis_threads);
+				ran.setWorkerProcesses(worker_processes);
+				if(seed != null) {
+					ran.setSeed(seed);
+				}
+				ran.setResume(resume);
 
 				ran.run();
 
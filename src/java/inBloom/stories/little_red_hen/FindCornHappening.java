@@ -23,6 +23,7 @@ public class FindCornHappening extends Happening<FarmModel> {
 		this.causalProperty = "farmingProgress";
 		this.patient = null;  		// patient can be inferred from agent responsible for a change in farmingProgress
 		this.step = -1;
+		this.setDependencies(this.causalProperty);
 	}
 
 	/**
@@ -37,6 +38,8 @@ public class FindCornHappening extends Happening<FarmModel> {
 		this.causalProperty = "farmingProgress";
 		this.patient = patient.name;
 		this.step = step;
+		this.setEarliestStep(step + 1);
+		this.setDependencies(this.causalProperty);
 	}
 	
 	@Override
@@ -101,7 +101,7 @@ public class IslandEnvironment extends PlotEnvironment<IslandModel> {
 			for(Character agent: this.getModel().getCharacters()) {
 				this.getModel().increaseHunger(agent);
 				this.getModel().increaseFatigue(agent);
-				if(agent.isSick) {
+				if(agent.isSick.get()) {
 					this.getModel().increasePoison(agent);
 				}
 			}
@@ -16,6 +16,7 @@ import inBloom.storyworld.HappeningDirector;
 import inBloom.storyworld.Item;
 import inBloom.storyworld.Location;
 import inBloom.storyworld.ModelState;
+import inBloom.storyworld.TrackedState;
 
 /**
  * @author Julia Wippermann
@@ -38,7 +39,7 @@ public class IslandModel extends PlotModel<IslandEnvironment> {
 	// Each agent has a poison value
 	public HashMap<Character, Integer> poison;
 	@ModelState
-	public boolean isOnCruise;
+	public TrackedState<Boolean> isOnCruise = new TrackedState<>(false);
 
 	/**
 	 * LOCATIONS
@@ -92,7 +93,7 @@ public class IslandModel extends PlotModel<IslandEnvironment> {
 		this.poison = new HashMap<>();
 		this.changeAllValues(this.poison, 0);
 
-		this.isOnCruise = false;
+		this.isOnCruise.set(false);
 
 		this.addLocation(this.civilizedWorld);
 		this.addLocation(this.ship);
@@ -107,7 +108,7 @@ public class IslandModel extends PlotModel<IslandEnvironment> {
 
 		ActionReport result = new ActionReport();
 
-		this.isOnCruise = true;
+		this.isOnCruise.set(true);
 		logger.info(agent.name + " went on a cruise.");
 
 		agent.goTo(this.ship);
@@ -278,7 +279,7 @@ public class IslandModel extends PlotModel<IslandEnvironment> {
 		ActionReport result = new ActionReport();
 
 		// if agent was sick, then now he isn't anymore
-		if (agent.location == this.island && agent.isSick && agent.has("healingPlant")) {
+		if (agent.location == this.island && agent.isSick.get() && agent.has("healingPlant")) {
 
 			// Remove Item
 			agent.removeFromInventory("healingPlant");
@@ -91,6 +91,7 @@ public class IslandNIEnvironment extends NIEnvironment<IslandEnvironment, Island
 				agent.name,
 				null
 				);
+			foodPoisoning.setEarliestStep(step + 1);
 			return foodPoisoning;
 		
 		case(1):
@@ -105,6 +106,7 @@ public class IslandNIEnvironment extends NIEnvironment<IslandEnvironment, Island
 					agent.name,
 					null
 			);
+			foodStolen.setEarliestStep(step + 1);
 			return foodStolen;
 		
 		case(2):
@@ -119,6 +121,7 @@ public class IslandNIEnvironment extends NIEnvironment<IslandEnvironment, Island
 					agent.name,
 					null
 			);		
+			homesick.setEarliestStep(step + 1);
 			return homesick;
 
 		case(3):
@@ -133,6 +136,7 @@ public class IslandNIEnvironment extends NIEnvironment<IslandEnvironment, Island
 					agent.name,
 					null
 			);
+			friendIsEaten.setEarliestStep(step + 1);
 			return friendIsEaten;
 			
 		case(4):
@@ -148,6 +152,7 @@ public class IslandNIEnvironment extends NIEnvironment<IslandEnvironment, Island
 				agent.name,
 				null
 				);
+			hutDestroyed.setEarliestStep(step + 1);
 			return hutDestroyed;
 
 		case(5):
@@ -162,6 +167,7 @@ public class IslandNIEnvironment extends NIEnvironment<IslandEnvironment, Island
 					agent.name,
 					null
 			);		
+			rain.setEarliestStep(step + 1);
 			return rain;
 			
 		case(6):
@@ -176,6 +182,7 @@ public class IslandNIEnvironment extends NIEnvironment<IslandEnvironment, Island
 					agent.name,
 					null
 			);		
+			fire.setEarliestStep(step + 1);
 			return fire;
 		
 		case(7):
@@ -190,6 +197,7 @@ public class IslandNIEnvironment extends NIEnvironment<IslandEnvironment, Island
 					agent.name,
 					null
 			);		
+			plantDisease.setEarliestStep(step + 1);
 			return plantDisease;
 			
 		case(8):
@@ -204,6 +212,7 @@ public class IslandNIEnvironment extends NIEnvironment<IslandEnvironment, Island
 					agent.name,
 					null
 			);
+			shipRescue.setEarliestStep(step + 1);
 			return shipRescue;			
 		}
 		
@@ -51,7 +51,7 @@ public class ThesisLauncher extends PlotLauncher<ThesisEnvironment, ThesisModel>
         		new Predicate<ThesisModel>() {
     				@Override
     				public boolean test(ThesisModel model) {
-    					if (model.isDrunk) {
+    					if (model.isDrunk.get()) {
     						return true;
     					}
     					return false;
@@ -61,13 +61,14 @@ public class ThesisLauncher extends PlotLauncher<ThesisEnvironment, ThesisModel>
         		new Consumer<ThesisModel>() {
     				@Override
     				public void accept(ThesisModel model) {
-    					model.hasFriend = true;
+    					model.hasFriend.set(true);
     				}
         		},
         		"jeremy",
         		"isDrunk",
         		"friend(barbara)"
         	);
+        findFriendHap.setDependencies("isDrunk");
 
         ScheduledHappeningDirector hapDir = new ScheduledHappeningDirector();
         hapDir.scheduleHappening(findFriendHap);
@@ -9,14 +9,15 @@ import inBloom.helper.PerceptAnnotation;
 import inBloom.storyworld.Character;
 import inBloom.storyworld.HappeningDirector;
 import inBloom.storyworld.ModelState;
+import inBloom.storyworld.TrackedState;
 
 public class ThesisModel extends PlotModel<ThesisEnvironment> {
 
 	@ModelState
-	public boolean isDrunk = false;
+	public TrackedState<Boolean> isDrunk = new TrackedState<>(false);
 
 	@ModelState
-	public boolean hasFriend = false;
+	public TrackedState<Boolean> hasFriend = new TrackedState<>(false);
 
 
 	public ThesisModel(List<LauncherAgent> agentList, HappeningDirector hapDir) {
@@ -24,7 +25,7 @@ public class ThesisModel extends PlotModel<ThesisEnvironment> {
 	}
 
 	public ActionReport getDrink(Character agent) {
-		this.isDrunk = true;
+		this.isDrunk.set(true);
 
 		ActionReport res = new ActionReport(true);
 		res.addPerception(agent.name, PerceptAnnotation.fromEmotion("joy")); // positive outcome for prim. unit success
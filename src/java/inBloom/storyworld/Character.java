@@ -38,7 +38,7 @@ public class Character extends Existent {
     public PlotAwareAg plotAgentPendant;
 
     @ModelState
-    public boolean isSick = false;
+    public TrackedState<Boolean> isSick = new TrackedState<>(false);
     
 	public Character() {
 	}
@@ -231,7 +231,7 @@ public class Character extends Existent {
 		ActionReport result = new ActionReport();
 		
 		logger.info(this.name + " was poisoned :o");
-		this.isSick = true;
+		this.isSick.set(true);
 		result.success = true;
 		
 		return result;
@@ -241,7 +241,7 @@ public class Character extends Existent {
 		ActionReport result = new ActionReport();
 		
 		logger.info(this.name + " is healed.");
-		this.isSick = false;
+		this.isSick.set(false);
 		result.success = true;
 		
 		return result;
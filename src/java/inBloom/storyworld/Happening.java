@@ -1,6 +1,9 @@
 package inBloom.storyworld;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
@@ -16,6 +19,8 @@ public class Happening<T extends PlotModel<?>> extends Event {
 	protected Predicate<T> trigger = null;
 	protected Consumer<T> effect = null;
 	protected String causalProperty = "";
+	protected int earliestStep = 0;
+	protected Set<String> dependencies = null;
 
 	/**
 	 * Constructor to be used for in-place creation of happenings, using anonymous functions. Example:
@@ -100,6 +105,42 @@ public class Happening<T extends PlotModel<?>> extends Event {
 		return this.getClass().getSimpleName() + ": " + this.patient + " << " + this.percept;
 	}
 
+	/**
+	 * @return the first step in which this happening can be triggered, it won't be tested before
+	 */
+	public int getEarliestStep() {
+		return this.earliestStep;
+	}
+
+	/**
+	 * Declares that the trigger of this happening can't be true before step, so that happening directors don't need to
+	 * test it until then. Needs to be set before the happening is scheduled.
+	 * @param step
+	 */
+	public void setEarliestStep(int step) {
+		this.earliestStep = step;
+	}
+
+	/**
+	 * @return names of the {@linkplain ModelState} fields the trigger depends on, or null if it needs to be tested in
+	 * each step
+	 */
+	public Set<String> getDependencies() {
+		return this.dependencies;
+	}
+
+	/**
+	 * Declares the {@linkplain ModelState} fields whose values the trigger of this happening depends on. Happening
+	 * directors test the trigger once when its earliest step is reached, and afterwards only in steps after one of
+	 * these fields changed. Use only for fields whose changes are detected by the model, i.e. that are reassigned or
+	 * {@linkplain TrackedState tracked}, not mutated in place. Declaring no fields means the trigger only depends on the
+	 * step. Needs to be set before the happening is scheduled.
+	 * @param properties
+	 */
+	public void setDependencies(String... properties) {
+		this.dependencies = new HashSet<>(Arrays.asList(properties));
+	}
+
 	public String getCausalProperty() {
 		return this.causalProperty;
 	}
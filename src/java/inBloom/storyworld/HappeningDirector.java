@@ -14,6 +14,15 @@ public interface HappeningDirector {
 	 */
 	public List<Happening<?>> getTriggeredHappenings(int step);
 	public List<Happening<?>> getAllHappenings();
+
+	/**
+	 * Informs the director that the value of a {@linkplain ModelState} field changed, so that happenings depending on it
+	 * can be tested again. Directors that test all their happenings in each step can ignore this.
+	 * @param property name of the changed field
+	 */
+	public default void noteStateChange(String property) {
+	}
+
 	public void setModel(PlotModel<?> model);
 	public HappeningDirector clone();
 }
\ No newline at end of file
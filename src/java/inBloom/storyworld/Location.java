@@ -13,6 +13,8 @@ import inBloom.helper.PerceptAnnotation;
 
 public class Location extends Existent {
 	static protected Logger logger = Logger.getLogger(Location.class.getName());
+	/** matches a character's perception of its own position, see {@link #createLocationPercept(Character, Boolean)} */
+	private static final Literal OWN_POSITION_PATTERN = Literal.parseLiteral("at(X)");
 
 	@ModelState
 	private List<Character> characters = null;
@@ -62,7 +64,7 @@ public class Location extends Existent {
 		character.location = this;
 
 		// update agent's position perception for self
-		this.model.environment.removePerceptsByUnif(character.name, Literal.parseLiteral("at(X)"));
+		this.model.environment.removePerceptsByUnif(character.name, OWN_POSITION_PATTERN);
 		this.model.environment.addPercept(character.name, this.createLocationPercept(character, false));
 
 		// character perceives free items at this location
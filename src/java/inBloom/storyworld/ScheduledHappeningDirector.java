@@ -1,25 +1,55 @@
 package inBloom.storyworld;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import inBloom.PlotModel;
 
+/**
+ * Executes happenings that were scheduled in advance, as soon as their triggers are true. Happenings are only tested
+ * once their {@linkplain Happening#getEarliestStep() earliest step} is reached. Afterwards, happenings that declare
+ * {@linkplain Happening#getDependencies() dependencies} are only tested again in steps after one of them changed, all
+ * other happenings are tested in each step.
+ */
 public class ScheduledHappeningDirector implements HappeningDirector, Cloneable{
 
 	protected static Logger logger = Logger.getLogger(ScheduledHappeningDirector.class.getName());
 
-	private List<Happening<?>> scheduledHappenings;    // contains happenings that are scheduled but were not yet executed this round
 	private List<Happening<?>> allHappenings;			// contains happenings that are scheduled (independent of current cycle's state)
+	private Map<Happening<?>, Integer> scheduleOrder;	// position of happenings in allHappenings, triggered happenings are returned in this order
+	private int scheduleCount = 0;
+
+	// happenings that are scheduled but were not yet executed this round, in one of:
+	private PriorityQueue<Happening<?>> pendingHappenings;		// earliest step not yet reached, ordered by earliest step
+	private Set<Happening<?>> activeHappenings;					// tested in each step
+	private Map<String, List<Happening<?>>> dependentHappenings;	// tested when one of their dependencies changed
+	private List<Happening<?>> activatedHappenings;				// have dependencies, reached earliest step but were not yet tested
+
+	private Set<String> changedProperties;
 	private PlotModel<?> model;
 
 	public ScheduledHappeningDirector() {
 		this.allHappenings = new LinkedList<>();
-		this.scheduledHappenings = new LinkedList<>();
+		this.scheduleOrder = new IdentityHashMap<>();
+		this.pendingHappenings = new PriorityQueue<>(
+				Comparator.comparingInt((Happening<?> h) -> h.getEarliestStep()).thenComparing(this.scheduleOrder::get));
+		this.activeHappenings = new LinkedHashSet<>();
+		this.dependentHappenings = new HashMap<>();
+		this.activatedHappenings = new ArrayList<>();
+		this.changedProperties = ConcurrentHashMap.newKeySet();
 	}
 
+	@Override
 	public List<Happening<?>> getAllHappenings() {
 		return this.allHappenings;
 	}
@@ -30,28 +60,73 @@ public class ScheduledHappeningDirector implements HappeningDirector, Cloneable{
 	@Override
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public List<Happening<?>> getTriggeredHappenings(int step) {
-		List<Happening<?>> triggeredHapps = new LinkedList<>();
+		while (!this.pendingHappenings.isEmpty() && this.pendingHappenings.peek().getEarliestStep() <= step) {
+			Happening<?> h = this.pendingHappenings.poll();
+			if (h.getDependencies() == null) {
+				this.activeHappenings.add(h);
+			} else {
+				this.activatedHappenings.add(h);
+				for (String property : h.getDependencies()) {
+					this.dependentHappenings.computeIfAbsent(property, k -> new ArrayList<>()).add(h);
+				}
+			}
+		}
 
-		for (Iterator<Happening<?>> iterator = this.scheduledHappenings.iterator(); iterator.hasNext();) {
-		    Happening h = iterator.next();
+		Set<Happening<?>> candidates = new LinkedHashSet<>(this.activeHappenings);
+		candidates.addAll(this.activatedHappenings);
+		this.activatedHappenings.clear();
+		for (String property : this.changedProperties) {
+			this.changedProperties.remove(property);
+			candidates.addAll(this.dependentHappenings.getOrDefault(property, new ArrayList<>()));
+		}
+
+		List<Happening<?>> orderedCandidates = new ArrayList<>(candidates);
+		orderedCandidates.sort(Comparator.comparing(this.scheduleOrder::get));
+
+		List<Happening<?>> triggeredHapps = new LinkedList<>();
+		for (Happening h : orderedCandidates) {
 			if (h.triggered(this.model)) {
 				triggeredHapps.add(h);
-		        iterator.remove();
-		    }
+				this.unschedule(h);
+			}
 		}
 		return triggeredHapps;
 	}
 
+	@Override
+	public void noteStateChange(String property) {
+		this.changedProperties.add(property);
+	}
+
 	@SuppressWarnings({ "rawtypes" })
 	public void scheduleHappening(Happening h) {
 		this.allHappenings.add(h);
-		this.scheduledHappenings.add(h);
+		this.scheduleOrder.put(h, this.scheduleCount++);
+		this.pendingHappenings.add(h);
 	}
 
 	@SuppressWarnings("rawtypes")
 	public void removeHappening(Happening h) {
+		this.unschedule(h);
 		this.allHappenings.remove(h);
-		this.scheduledHappenings.remove(h);
+		this.scheduleOrder.remove(h);
+	}
+
+	private void unschedule(Happening<?> h) {
+		this.pendingHappenings.remove(h);
+		this.activeHappenings.remove(h);
+		this.activatedHappenings.remove(h);
+		if (h.getDependencies() != null) {
+			for (String property : h.getDependencies()) {
+				List<Happening<?>> dependents = this.dependentHappenings.get(property);
+				if (dependents != null) {
+					dependents.remove(h);
+					if (dependents.isEmpty()) {
+						this.dependentHappenings.remove(property);
+					}
+				}
+			}
+		}
 	}
 
 	@Override
@@ -62,11 +137,16 @@ public class ScheduledHappeningDirector implements HappeningDirector, Cloneable{
 	/**
 	 * Resets the director after execution of one cycle, so that all happenings that were scheduled for execution
 	 * are rescheduled for next run. This is necessary because during cycle execution, happenings that got triggered
-	 * are removed from {@link #scheduledHappenings}.
+	 * are unscheduled.
 	 */
-	@SuppressWarnings("unchecked")
 	public void reset() {
-		this.scheduledHappenings = (LinkedList<Happening<?>>) ((LinkedList<Happening<?>>) this.allHappenings).clone();
+		this.pendingHappenings.clear();
+		this.activeHappenings.clear();
+		this.dependentHappenings.clear();
+		this.activatedHappenings.clear();
+		this.changedProperties.clear();
+
+		this.pendingHappenings.addAll(this.allHappenings);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -75,6 +155,8 @@ public class ScheduledHappeningDirector implements HappeningDirector, Cloneable{
 		ScheduledHappeningDirector clone = new ScheduledHappeningDirector();
 		clone.model = this.model;
 		clone.allHappenings = (LinkedList<Happening<?>>) ((LinkedList<Happening<?>>) this.allHappenings).clone();
+		clone.scheduleOrder.putAll(this.scheduleOrder);
+		clone.scheduleCount = this.scheduleCount;
 
 		clone.reset();
 		return clone;
@@ -0,0 +1,59 @@
+package inBloom.storyworld;
+
+import java.util.Objects;
+
+import inBloom.PlotModel;
+
+/**
+ * Container for a {@linkplain ModelState} field, that reports its changes to the {@linkplain PlotModel} at the time they
+ * are written. The model records the action or happening that is currently executed as cause of the change, so tracked
+ * fields don't need to be compared against their old values after each action, e.g:<br>
+ * <code>@ModelState public TrackedState&lt;Boolean&gt; isDrunk = new TrackedState&lt;&gt;(false);</code><br>
+ * Fields of this type are bound to their model by {@linkplain PlotModel#setUpFieldTracking(Object)}. Changing the
+ * contents of a mutable value, e.g. adding to a tracked list, is not detected, only calls to {@link #set(Object)} are.
+ *
+ * @param <T> type of the tracked value
+ */
+public class TrackedState<T> {
+
+	private T value;
+	private PlotModel<?> model = null;
+	private String property = null;
+
+	public TrackedState(T value) {
+		this.value = value;
+	}
+
+	public T get() {
+		return this.value;
+	}
+
+	/**
+	 * Sets the value and, if it changed, reports the change to the model this state is tracked by.
+	 * @param value
+	 */
+	public void set(T value) {
+		if (Objects.equals(this.value, value)) {
+			return;
+		}
+		this.value = value;
+		if (this.model != null) {
+			this.model.noteStateChange(this.property);
+		}
+	}
+
+	/**
+	 * Binds this state to the model that tracks it, called by {@linkplain PlotModel#setUpFieldTracking(Object)}.
+	 * @param model
+	 * @param property name of the field that holds this state, used as key for causality detection
+	 */
+	public void track(PlotModel<?> model, String property) {
+		this.model = model;
+		this.property = property;
+	}
+
+	@Override
+	public String toString() {
+		return String.valueOf(this.value);
+	}
+}
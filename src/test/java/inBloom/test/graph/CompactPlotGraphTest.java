@@ -0,0 +1,46 @@
+package inBloom.test.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import inBloom.graph.CompactPlotGraph;
+import inBloom.graph.Edge;
+import inBloom.graph.PlotDirectedSparseGraph;
+import inBloom.graph.Vertex;
+import inBloom.graph.isomorphism.FunctionalUnits;
+
+public class CompactPlotGraphTest {
+
+	@Test
+	public void testSnapshot() {
+		PlotDirectedSparseGraph graph = new PlotDirectedSparseGraph();
+		graph.addRoot("jeremy");
+		Vertex v1 = graph.addEvent("jeremy", "hungry", 1, Vertex.Type.PERCEPT, Edge.Type.TEMPORAL);
+		Vertex v2 = graph.addEvent("jeremy", "eat", 2, Vertex.Type.INTENTION, Edge.Type.TEMPORAL);
+		Vertex v3 = graph.addEvent("jeremy", "full", 3, Vertex.Type.PERCEPT, Edge.Type.TEMPORAL);
+		graph.addEdge(FunctionalUnits.makeMotivation(), v1, v2);
+		graph.addEdge(FunctionalUnits.makeTermination(), v3, v1);
+
+		CompactPlotGraph compact = new CompactPlotGraph(graph);
+
+		// roots and axis labels are left out, ids follow plot order
+		assertEquals(3, compact.getVertexCount());
+		assertSame(v1, compact.getVertex(0));
+		assertEquals(2, compact.getVertexId(v3));
+		assertEquals(-1, compact.getVertexId(graph.getRoots().get(0)));
+		assertEquals("jeremy", compact.getAgent(1));
+
+		// edge from root is left out, temporal edges between plot vertices are kept
+		assertEquals(2, compact.getOutEnd(0) - compact.getOutStart(0));
+		assertEquals(1, compact.getInEnd(0) - compact.getInStart(0));
+		assertEquals(Arrays.asList(Edge.Type.TEMPORAL, Edge.Type.MOTIVATION),
+					 compact.getEdgeTypes(0, 1).stream().sorted().collect(Collectors.toList()));
+		assertEquals(2, compact.getInSource(compact.getInStart(0)));
+		assertEquals(Edge.Type.TERMINATION, compact.getInType(compact.getInStart(0)));
+	}
+}
@@ -1,13 +1,19 @@
 package inBloom.test.graph;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 
+import inBloom.graph.Edge;
 import inBloom.graph.PlotDirectedSparseGraph;
 import inBloom.graph.Vertex;
 import inBloom.graph.isomorphism.FunctionalUnits;
+import inBloom.helper.VertexOrderComparator;
 
 public class PlotDirectedSparseGraphTest {
 
@@ -49,4 +55,37 @@ public class PlotDirectedSparseGraphTest {
 		assertFalse(graph2.equals(graph1));
 	}
 
+	@Test
+	public void testIncrementalOrder() {
+		PlotDirectedSparseGraph graph = new PlotDirectedSparseGraph();
+		graph.addRoot("jeremy");
+		graph.addRoot("robinson");
+		Vertex v1 = graph.addEvent("jeremy", "hungry", 1, Vertex.Type.PERCEPT, Edge.Type.TEMPORAL);
+		assertEquals(0, graph.getVertexId(v1));
+
+		// vertices added after ordering was accessed are inserted at their position
+		Vertex v2 = graph.addEvent("robinson", "tired", 1, Vertex.Type.PERCEPT, Edge.Type.TEMPORAL);
+		Vertex v3 = graph.addEvent("jeremy", "eat", 1, Vertex.Type.INTENTION, Edge.Type.TEMPORAL);
+		Vertex v4 = graph.addEvent("robinson", "sleep", 2, Vertex.Type.INTENTION, Edge.Type.TEMPORAL);
+		Vertex v5 = graph.addEvent("jeremy", "full", 2, Vertex.Type.PERCEPT, Edge.Type.TEMPORAL);
+		graph.addEdge(FunctionalUnits.makeMotivation(), v1, v3);
+
+		assertEquals(5, graph.getPlotVertexCount());
+		assertEquals(2, graph.getVertexId(v3));
+		assertEquals(-1, graph.getVertexId(graph.getRoots().get(0)));
+
+		List<Vertex> sorted = new ArrayList<>(graph.getOrderedVertexList());
+		sorted.sort(new VertexOrderComparator(graph));
+		assertEquals(sorted, graph.getOrderedVertexList());
+		for (Vertex v : new Vertex[] {v1, v2, v3, v4, v5}) {
+			assertEquals(v, graph.getVertex(graph.getVertexId(v)));
+		}
+
+		// removing a vertex leads to new ids
+		graph.removeVertexAndPatchGraph(v1, graph.getRoots().get(0));
+		assertEquals(4, graph.getPlotVertexCount());
+		assertEquals(-1, graph.getVertexId(v1));
+		assertEquals(v3, graph.getVertex(graph.getVertexId(v3)));
+		assertTrue(graph.getVertexId(v3) < graph.getVertexId(v4));
+	}
 }
@@ -56,4 +56,18 @@ public class PerceptAnnotationTest extends TestCase {
 		assertEquals(ASSyntax.parseTerm("cause(find_ring)"), l.get(1));		//test via term
 		assertEquals(Literal.parseLiteral("emotion(joy)"), l.get(0));		//test via literal
 	}
+
+	public void testToTermsMatchesParsedString() throws ParseException {
+		PerceptAnnotation pa = new PerceptAnnotation("joy");
+		pa.addAnnotation("success", "true");
+		pa.addCrossCharAnnotation("eat(bread)", 42);
+		pa.setCause("found(wheat)[source(self)]");
+
+		Literal percept = ASSyntax.createLiteral("eat", ASSyntax.createAtom("bread"));
+		percept.addAnnots(pa.toTerms());
+		assertEquals(ASSyntax.parseLiteral("eat(bread)" + pa.toString()), percept);
+
+		// terms are copies, so annotating a second percept doesn't affect the first
+		assertNotSame(pa.toTerms().get(0), pa.toTerms().get(0));
+	}
 }
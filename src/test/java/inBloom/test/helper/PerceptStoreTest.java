@@ -0,0 +1,57 @@
+package inBloom.test.helper;
+
+import jason.asSyntax.Literal;
+
+import inBloom.helper.PerceptStore;
+
+import junit.framework.TestCase;
+
+public class PerceptStoreTest extends TestCase {
+
+	public void testRemoveByUnif() {
+		PerceptStore store = new PerceptStore();
+		store.add(Literal.parseLiteral("at(farm)"));
+		store.add(Literal.parseLiteral("at(wheat, farm)"));
+		store.add(Literal.parseLiteral("has(bread)"));
+
+		assertEquals(1, store.removeByUnif(Literal.parseLiteral("at(X)")));
+		assertFalse(store.contains(Literal.parseLiteral("at(farm)")));
+		assertTrue(store.contains(Literal.parseLiteral("at(wheat, farm)")));
+		assertEquals(2, store.getAll().size());
+	}
+
+	public void testDelta() {
+		PerceptStore store = new PerceptStore();
+		store.add(Literal.parseLiteral("at(farm)"));
+		store.add(Literal.parseLiteral("has(bread)"));
+
+		PerceptStore.Delta delta = store.takeDelta();
+		assertEquals(2, delta.getAdded().size());
+		assertTrue(delta.getRemoved().isEmpty());
+		assertNull(store.takeDelta());
+
+		// moving only reports what changed, adding and removing in between cancels out
+		store.removeByUnif(Literal.parseLiteral("at(X)"));
+		store.add(Literal.parseLiteral("at(plain)"));
+		store.add(Literal.parseLiteral("see(wheat)"));
+		store.remove(Literal.parseLiteral("see(wheat)"));
+
+		delta = store.takeDelta();
+		assertEquals(1, delta.getAdded().size());
+		assertEquals(Literal.parseLiteral("at(plain)"), delta.getAdded().get(0));
+		assertEquals(1, delta.getRemoved().size());
+		assertEquals(Literal.parseLiteral("at(farm)"), delta.getRemoved().get(0));
+	}
+
+	public void testDeltaIgnoresAnnotationChanges() {
+		PerceptStore store = new PerceptStore();
+		store.add(Literal.parseLiteral("see(wheat)[crossChar(1)]"));
+		store.takeDelta();
+
+		store.remove(Literal.parseLiteral("see(wheat)[crossChar(1)]"));
+		store.add(Literal.parseLiteral("see(wheat)[crossChar(2)]"));
+
+		assertTrue(store.takeDelta().isEmpty());
+		assertEquals(1, store.getAll().size());
+	}
+}
@@ -0,0 +1,55 @@
+package inBloom.test.helper;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import inBloom.helper.RepetitionDetector;
+import junit.framework.TestCase;
+
+public class RepetitionDetectorTest extends TestCase {
+
+	private static RepetitionDetector detect(List<String> events) {
+		RepetitionDetector detector = new RepetitionDetector();
+		for (String event : events) {
+			detector.append(event);
+		}
+		return detector;
+	}
+
+	public void testTrailingRepetition() {
+		// finds and counts repeating of a simple pattern
+		RepetitionDetector detector = detect(ImmutableList.of("a", "a", "a"));
+		assertEquals(3, detector.getRepetitions());
+		assertEquals(ImmutableList.of("a"), detector.getPattern());
+
+		// only considers patterns that finish with the last event
+		detector = detect(ImmutableList.of("a", "b", "c", "a", "a", "z", "b", "c", "b", "c", "b", "c"));
+		assertEquals(3, detector.getRepetitions());
+		assertEquals(2, detector.getPatternLength());
+		assertEquals(ImmutableList.of("b", "c"), detector.getPattern());
+
+		// no trailing repetition
+		detector = detect(ImmutableList.of("a", "a", "b"));
+		assertEquals(0, detector.getRepetitions());
+		assertTrue(detector.getPattern().isEmpty());
+	}
+
+	public void testIncrementalUpdate() {
+		RepetitionDetector detector = detect(ImmutableList.of("x", "a", "b", "a", "b"));
+		assertEquals(2, detector.getRepetitions());
+
+		detector.append("a");
+		assertEquals(2, detector.getRepetitions());
+		detector.append("b");
+		assertEquals(3, detector.getRepetitions());
+		detector.append("c");
+		assertEquals(0, detector.getRepetitions());
+
+		detector.clear();
+		assertEquals(0, detector.size());
+		detector.append("c");
+		detector.append("c");
+		assertEquals(2, detector.getRepetitions());
+	}
+}
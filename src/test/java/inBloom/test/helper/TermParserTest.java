@@ -10,6 +10,7 @@ import jason.asSyntax.Literal;
 import jason.util.Pair;
 
 import inBloom.ERcycle.AdaptPersonality.OCEANConstraints;
+import inBloom.graph.Vertex;
 import inBloom.helper.TermParser;
 
 import junit.framework.TestCase;
@@ -125,4 +126,23 @@ public class TermParserTest extends TestCase {
 		l2 = "housework[f1(t2)]";
 		assertEquals("farmwork[f1(t2)]", TermParser.mergeAnnotations(l1, l2));
 	}
+
+	public void testGetAnnotation() {
+		String label = "found(wheat)[cause(+is_dropped(bread)),emotion(hope),source(percept)]";
+		assertEquals("+is_dropped(bread)", TermParser.getAnnotation(label, "cause"));
+		assertEquals("percept", TermParser.getAnnotation(label, "source"));
+		assertEquals("", TermParser.getAnnotation(label, "motivation"));
+		assertEquals("", TermParser.getAnnotation("found(wheat)", "source"));
+
+		Vertex v = new Vertex("!eat(bread)[source(self)]", Vertex.Type.INTENTION, 1, null);
+		assertEquals("eat", v.getFunctor());
+		assertEquals("self", v.getSource());
+		assertEquals("eat(bread)", v.getIntention());
+
+		// parsed parts are reset with the label
+		v.setLabel("!share(bread)[source(robinson)]");
+		assertEquals("share", v.getFunctor());
+		assertEquals("robinson", v.getSource());
+		assertEquals("!share(bread)", v.getWithoutAnnotation());
+	}
 }
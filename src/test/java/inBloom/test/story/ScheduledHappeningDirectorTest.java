@@ -0,0 +1,82 @@
+package inBloom.test.story;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import inBloom.PlotModel;
+import inBloom.storyworld.Happening;
+import inBloom.storyworld.ScheduledHappeningDirector;
+
+import junit.framework.TestCase;
+
+public class ScheduledHappeningDirectorTest extends TestCase {
+
+	private static Happening<PlotModel<?>> countingHappening(AtomicInteger tests, boolean[] condition) {
+		return new Happening<>(
+				model -> {
+					tests.incrementAndGet();
+					return condition[0];
+				},
+				model -> {},
+				"jeremy",
+				"",
+				"happened"
+		);
+	}
+
+	public void testNotTestedBeforeEarliestStep() {
+		AtomicInteger tests = new AtomicInteger();
+		Happening<PlotModel<?>> h = countingHappening(tests, new boolean[] {true});
+		h.setEarliestStep(3);
+
+		ScheduledHappeningDirector hapDir = new ScheduledHappeningDirector();
+		hapDir.scheduleHappening(h);
+
+		assertTrue(hapDir.getTriggeredHappenings(1).isEmpty());
+		assertTrue(hapDir.getTriggeredHappenings(2).isEmpty());
+		assertEquals(0, tests.get());
+		assertEquals(1, hapDir.getTriggeredHappenings(3).size());
+		assertTrue(hapDir.getTriggeredHappenings(4).isEmpty());
+		assertEquals(1, tests.get());
+	}
+
+	public void testDependentTestedOnlyAfterChange() {
+		AtomicInteger tests = new AtomicInteger();
+		boolean[] condition = {false};
+		Happening<PlotModel<?>> h = countingHappening(tests, condition);
+		h.setDependencies("isDrunk");
+
+		ScheduledHappeningDirector hapDir = new ScheduledHappeningDirector();
+		hapDir.scheduleHappening(h);
+
+		// tested once when activated
+		assertTrue(hapDir.getTriggeredHappenings(1).isEmpty());
+		assertTrue(hapDir.getTriggeredHappenings(2).isEmpty());
+		hapDir.noteStateChange("hasFriend");
+		assertTrue(hapDir.getTriggeredHappenings(3).isEmpty());
+		assertEquals(1, tests.get());
+
+		condition[0] = true;
+		hapDir.noteStateChange("isDrunk");
+		assertEquals(1, hapDir.getTriggeredHappenings(4).size());
+		assertEquals(2, tests.get());
+	}
+
+	public void testScheduleOrderAndReset() {
+		AtomicInteger tests = new AtomicInteger();
+		Happening<PlotModel<?>> late = countingHappening(tests, new boolean[] {true});
+		late.setEarliestStep(2);
+		Happening<PlotModel<?>> early = countingHappening(tests, new boolean[] {true});
+		early.setEarliestStep(1);
+
+		ScheduledHappeningDirector hapDir = new ScheduledHappeningDirector();
+		hapDir.scheduleHappening(late);
+		hapDir.scheduleHappening(early);
+
+		assertEquals(2, hapDir.getTriggeredHappenings(5).size());
+		assertSame(late, hapDir.clone().getTriggeredHappenings(5).get(0));
+
+		hapDir.reset();
+		assertSame(early, hapDir.getTriggeredHappenings(1).get(0));
+		assertSame(late, hapDir.getTriggeredHappenings(2).get(0));
+	}
+}
@@ -54,8 +54,8 @@ public abstract class AbstractPlotTest {
 			@Override
 			public void onPauseRepeat() {
 				synchronized(simulationMonitor) {
-					fullGraph = PlotGraphController.getPlotListener().getGraph();
-					GraphAnalyzer analyzer = new GraphAnalyzer(fullGraph, null);
+					fullGraph = runner.getUserEnvironment().getPlotRecorder().getGraph();
+					GraphAnalyzer analyzer = new GraphAnalyzer(fullGraph, null, runner);
 					analysis = analyzer.runSynchronously(analyzedGraph);
 
 					if (VISUALIZE) {